@@ -0,0 +1,135 @@
+package com.example.javaspringboottask.global.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 인증 요청 한 건당 JWT 검증 비용 비교.
+ * application.yml 과 같은 10분 만료 액세스 토큰을 기준으로 측정한다.
+ * *Before 는 변경 전 JwtProvider 의 호출 순서(validToken -> tokenExpired -> resolveClaims, getUsername 등)를
+ * LegacyJwtParsing 으로 그대로 재현하며, 파싱할 때마다 키와 파서를 새로 만든다.
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtProviderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+    private static final long EXPIRY_MILLIS = 600000L; // 10분
+
+    private JwtProvider jwtProvider;
+    private LegacyJwtParsing legacy;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(new ObjectMapper());
+        ReflectionTestUtils.setField(jwtKeyRing, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtKeyRing, "location", "");
+        jwtKeyRing.init();
+
+        jwtProvider = new JwtProvider(jwtKeyRing);
+        ReflectionTestUtils.setField(jwtProvider, "expiryMillis", EXPIRY_MILLIS);
+        jwtProvider.init();
+        legacy = new LegacyJwtParsing(SECRET);
+
+        Date now = new Date();
+        token = Jwts.builder()
+                .subject("john_doe123")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRY_MILLIS))
+                .claim(JwtProvider.ISSUED_AT_MILLIS_CLAIM, now.getTime())
+                .claim("uid", 1L)
+                .claim("role", "USER")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * 기존 필터 경로: validToken(만료 확인 파싱 1회) 후 getUsername(파싱 1회), 파싱마다 키와 파서 생성
+     */
+    @Benchmark
+    public void filterBefore(Blackhole blackhole) {
+        blackhole.consume(legacy.validToken(token));
+        blackhole.consume(legacy.getUsername(token));
+    }
+
+    /**
+     * 변경된 필터 경로: verify 한 번으로 얻은 VerifiedToken 재사용
+     */
+    @Benchmark
+    public void filterAfter(Blackhole blackhole) {
+        VerifiedToken verifiedToken = jwtProvider.verify(token);
+        blackhole.consume(verifiedToken.getSubject());
+    }
+
+    /**
+     * 기존 로그아웃(블랙리스트 추가) 경로: validToken(파싱 1회) 후 getExpirationFromToken(파싱 1회)
+     */
+    @Benchmark
+    public void logoutBefore(Blackhole blackhole) {
+        blackhole.consume(legacy.validToken(token));
+        blackhole.consume(legacy.getExpirationFromToken(token) - System.currentTimeMillis());
+    }
+
+    /**
+     * 변경된 로그아웃 경로: VerifiedToken 하나로 TTL 계산
+     */
+    @Benchmark
+    public void logoutAfter(Blackhole blackhole) {
+        blackhole.consume(jwtProvider.verify(token).remainingMillis(System.currentTimeMillis()));
+    }
+
+    /**
+     * 변경 전 JwtProvider 의 검증 메서드 복사본 (로그와 예외 처리 제외)
+     */
+    static class LegacyJwtParsing {
+
+        private final String secret;
+
+        LegacyJwtParsing(String secret) {
+            this.secret = secret;
+        }
+
+        boolean validToken(String token) {
+            return !this.tokenExpired(token);
+        }
+
+        String getUsername(String token) {
+            return this.getClaims(token).getSubject();
+        }
+
+        long getExpirationFromToken(String token) {
+            return this.getClaims(token).getExpiration().getTime();
+        }
+
+        private boolean tokenExpired(String token) {
+            final Date expiration = this.resolveClaims(token, Claims::getExpiration);
+            return expiration.before(new Date());
+        }
+
+        private <T> T resolveClaims(String token, Function<Claims, T> claimsResolver) {
+            return claimsResolver.apply(this.getClaims(token));
+        }
+
+        // 호출마다 시크릿으로 키를 만들고 파서를 새로 빌드
+        private Claims getClaims(String token) {
+            return Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        }
+    }
+}
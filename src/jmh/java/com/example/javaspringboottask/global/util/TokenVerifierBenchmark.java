@@ -0,0 +1,69 @@
+package com.example.javaspringboottask.global.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * jjwt 검증 경로와 native(Hs256TokenVerifier) 검증 경로 비교.
+ * 발급하는 액세스 토큰과 같은 클레임(iatm 포함)으로 측정한다.
+ * 실행: ./gradlew jmh -Pjmh.includes=TokenVerifierBenchmark, 할당량은 -Pjmh.profilers=gc 를 더해 함께 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenVerifierBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+    private static final long EXPIRY_MILLIS = 600000L; // 10분
+
+    private JwtProvider jjwtProvider;
+    private JwtProvider nativeProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(new ObjectMapper());
+        ReflectionTestUtils.setField(jwtKeyRing, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtKeyRing, "location", "");
+        jwtKeyRing.init();
+
+        jjwtProvider = createProvider(jwtKeyRing, "jjwt");
+        nativeProvider = createProvider(jwtKeyRing, "native");
+
+        JwtSigningKey signingKey = jwtKeyRing.getSigningKey();
+        Date now = new Date();
+        token = Jwts.builder()
+                .header().keyId(signingKey.getKid()).and()
+                .subject("john_doe123")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRY_MILLIS))
+                .claim(JwtProvider.ISSUED_AT_MILLIS_CLAIM, now.getTime())
+                .claim("uid", 1L)
+                .claim("role", "USER")
+                .signWith(signingKey.getSecretKey(), signingKey.getSignatureAlgorithm())
+                .compact();
+    }
+
+    private JwtProvider createProvider(JwtKeyRing jwtKeyRing, String verifier) {
+        JwtProvider provider = new JwtProvider(jwtKeyRing);
+        ReflectionTestUtils.setField(provider, "expiryMillis", EXPIRY_MILLIS);
+        ReflectionTestUtils.setField(provider, "verifier", verifier);
+        provider.init();
+        return provider;
+    }
+
+    @Benchmark
+    public VerifiedToken jjwt() {
+        return jjwtProvider.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken nativeHs256() {
+        return nativeProvider.verify(token);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.javaspringboottask.user.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 100만 명에서 username 한 건 조회 지연 비교 (유니크 인덱스 유무).
+ * 로그인, 회원가입, DB 기반 인증 주체 조회가 모두 이 조회를 사용한다.
+ * <p>
+ * 애플리케이션과 같은 DATABASE_URL, DATABASE_USERNAME, DATABASE_PASSWORD 의 MySQL 을 사용하며,
+ * 처음 실행할 때 user 테이블과 같은 모양의 벤치마크 전용 테이블 두 개를 만들고 채운다 (이후 실행은 재사용).
+ * 실행: ./gradlew jmh -Pjmh.includes=UsernameLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UsernameLookupBenchmark {
+
+    private static final int USER_COUNT = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    /**
+     * indexed: uk_user_username 유니크 인덱스 있음, scan: 인덱스 없음 (변경 전 user 테이블)
+     */
+    @Param({"indexed", "scan"})
+    private String table;
+
+    private Connection connection;
+    private PreparedStatement lookup;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getenv("DATABASE_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("DATABASE_URL 환경 변수가 필요합니다.");
+        }
+        connection = DriverManager.getConnection(url,
+                System.getenv("DATABASE_USERNAME"), System.getenv("DATABASE_PASSWORD"));
+
+        String tableName = "bench_user_" + table;
+        this.createTable(tableName, "indexed".equals(table));
+        lookup = connection.prepareStatement(
+                "SELECT id, username, password, nickname, role FROM " + tableName + " WHERE username = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * 존재하는 사용자 조회 (로그인, 인증 주체 조회)
+     */
+    @Benchmark
+    public void findExisting(Blackhole blackhole) throws SQLException {
+        this.find(usernameOf(ThreadLocalRandom.current().nextInt(USER_COUNT)), blackhole);
+    }
+
+    /**
+     * 없는 사용자 조회 (회원가입 중복 확인, 잘못된 로그인)
+     */
+    @Benchmark
+    public void findMissing(Blackhole blackhole) throws SQLException {
+        this.find("missing" + ThreadLocalRandom.current().nextInt(USER_COUNT), blackhole);
+    }
+
+    private void find(String username, Blackhole blackhole) throws SQLException {
+        lookup.setString(1, username);
+        try (ResultSet resultSet = lookup.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+                blackhole.consume(resultSet.getString(3));
+            }
+        }
+    }
+
+    // 테이블이 없거나 덜 채워졌으면 다시 만든다
+    private void createTable(String tableName, boolean indexed) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                    + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "username VARCHAR(255) NOT NULL, "
+                    + "password VARCHAR(255) NOT NULL, "
+                    + "nickname VARCHAR(255) NOT NULL, "
+                    + "role VARCHAR(255)"
+                    + (indexed ? ", CONSTRAINT uk_" + tableName + "_username UNIQUE (username)" : "")
+                    + ")");
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + tableName)) {
+                resultSet.next();
+                if (resultSet.getLong(1) == USER_COUNT) {
+                    return;
+                }
+            }
+            statement.execute("TRUNCATE TABLE " + tableName);
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + tableName + " (username, password, nickname, role) VALUES (?, ?, ?, 'USER')")) {
+            // BCrypt 해시와 같은 길이의 고정 값
+            String password = "$2a$10$" + "x".repeat(53);
+            for (int i = 0; i < USER_COUNT; i++) {
+                insert.setString(1, usernameOf(i));
+                insert.setString(2, password);
+                insert.setString(3, "nickname" + i);
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static String usernameOf(int index) {
+        return "user" + index + "@example.com";
+    }
+}
@@ -5,12 +5,14 @@ import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @OpenAPIDefinition(
         info = @Info(title = "My API", version = "1.0", description = "User management API")
 )
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class JavaSpringbootTaskApplication {
 
     public static void main(String[] args) {
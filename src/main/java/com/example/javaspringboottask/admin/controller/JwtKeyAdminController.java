@@ -0,0 +1,69 @@
+package com.example.javaspringboottask.admin.controller;
+
+import com.example.javaspringboottask.admin.dto.JwtKeyResponseDto;
+import com.example.javaspringboottask.global.util.JwtKeyRing;
+import com.example.javaspringboottask.global.util.JwtSigningKey;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+@Tag(
+        name = "JWT 키 관리 API",
+        description = "JWT 서명 키 링 조회 및 재로딩 API (관리자 전용)"
+)
+@RestController
+@RequestMapping("/admin/jwt/keys")
+@RequiredArgsConstructor
+public class JwtKeyAdminController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @Operation(summary = "키 목록 조회", description = "현재 노드에 로딩된 kid 목록과 서명 키 여부를 반환합니다. 시크릿 값은 반환하지 않습니다.")
+    @GetMapping
+    public ResponseEntity<List<JwtKeyResponseDto>> getKeys() {
+        return ResponseEntity.ok(this.toResponse());
+    }
+
+    @Operation(
+            summary = "키 링 재로딩",
+            description = "jwt.key-ring.location 파일을 즉시 다시 읽어 서명 키를 교체합니다. " +
+                    "다른 노드는 jwt.key-ring.reload-interval-millis 주기로 같은 파일을 다시 읽습니다."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "재로딩 성공"),
+            @ApiResponse(responseCode = "400", description = "키 링 파일이 없거나 형식이 잘못됨 (기존 키 유지)"),
+    })
+    @PostMapping("/reload")
+    public ResponseEntity<List<JwtKeyResponseDto>> reload() {
+        try {
+            jwtKeyRing.reload();
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.ok(this.toResponse());
+    }
+
+    private List<JwtKeyResponseDto> toResponse() {
+        String signingKid = jwtKeyRing.getSigningKey().getKid();
+        return jwtKeyRing.getKeys().stream()
+                .sorted(Comparator.comparing(JwtSigningKey::getKid))
+                .map(key -> new JwtKeyResponseDto(
+                        key.getKid(),
+                        key.getKid().equals(signingKid),
+                        key.getNotAfter() == JwtSigningKey.NO_EXPIRY ? null : Instant.ofEpochMilli(key.getNotAfter())))
+                .toList();
+    }
+}
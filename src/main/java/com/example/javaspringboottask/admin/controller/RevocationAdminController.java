@@ -0,0 +1,50 @@
+package com.example.javaspringboottask.admin.controller;
+
+import com.example.javaspringboottask.admin.dto.BulkRevocationRequestDto;
+import com.example.javaspringboottask.admin.service.BulkRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Tag(
+        name = "토큰 일괄 폐기 API",
+        description = "여러 사용자의 세션과 토큰을 한 번에 폐기하는 API (관리자 전용)"
+)
+@RestController
+@RequestMapping("/admin/revocations")
+@RequiredArgsConstructor
+public class RevocationAdminController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final BulkRevocationService bulkRevocationService;
+
+    @Operation(
+            summary = "사용자 토큰 일괄 폐기",
+            description = "사용자 ID 또는 이름 목록으로 대상을 찾아 모든 세션을 삭제하고 지금까지 발급된 토큰을 폐기합니다. " +
+                    "진행 상황은 한 줄에 하나씩 JSON(NDJSON)으로 스트리밍합니다 (RESOLVED -> PROGRESS... -> COMPLETED 또는 FAILED)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "폐기 시작, 진행 상황 스트리밍"),
+            @ApiResponse(responseCode = "400", description = "사용자 ID 와 이름이 모두 비어있거나 목록이 너무 김"),
+    })
+    @PostMapping
+    public ResponseEntity<StreamingResponseBody> revoke(@Valid @RequestBody BulkRevocationRequestDto request) {
+        // 대상 조회는 응답을 시작하기 전에 처리해 잘못된 요청은 일반 오류 응답으로 거절
+        BulkRevocationService.Targets targets = bulkRevocationService.resolve(request);
+        StreamingResponseBody body = out -> bulkRevocationService.revoke(targets, out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+}
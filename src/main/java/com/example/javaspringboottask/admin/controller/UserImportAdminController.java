@@ -0,0 +1,68 @@
+package com.example.javaspringboottask.admin.controller;
+
+import com.example.javaspringboottask.admin.service.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Tag(
+        name = "사용자 일괄 등록 API",
+        description = "기존 시스템의 사용자 파일을 한 번에 등록하는 API (관리자 전용)"
+)
+@RestController
+@RequestMapping("/admin/users/import")
+@RequiredArgsConstructor
+public class UserImportAdminController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UserImportService userImportService;
+
+    @Operation(
+            summary = "사용자 일괄 등록 (CSV)",
+            description = "username,nickname,password 헤더를 가진 UTF-8 CSV 본문을 읽으며 등록합니다. " +
+                    "비밀번호는 평문 또는 BCrypt 해시를 받습니다. 진행 상황은 한 줄에 하나씩 JSON(NDJSON)으로 스트리밍합니다 " +
+                    "(PROGRESS... -> COMPLETED 또는 FAILED)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "등록 시작, 진행 상황 스트리밍"),
+    })
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> importCsv(HttpServletRequest request) throws IOException {
+        return this.stream(request.getInputStream(), UserImportService.Format.CSV);
+    }
+
+    @Operation(
+            summary = "사용자 일괄 등록 (JSON)",
+            description = "{username, nickname, password} 객체의 JSON 배열 본문을 읽으며 등록합니다. " +
+                    "비밀번호는 평문 또는 BCrypt 해시를 받습니다. 진행 상황은 한 줄에 하나씩 JSON(NDJSON)으로 스트리밍합니다."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "등록 시작, 진행 상황 스트리밍"),
+    })
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importJson(HttpServletRequest request) throws IOException {
+        return this.stream(request.getInputStream(), UserImportService.Format.JSON);
+    }
+
+    // 본문은 메모리에 올리지 않고 응답 스트림을 쓰는 동안 이어서 읽는다
+    private ResponseEntity<StreamingResponseBody> stream(InputStream in, UserImportService.Format format) {
+        StreamingResponseBody body = out -> userImportService.importUsers(in, format, out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+}
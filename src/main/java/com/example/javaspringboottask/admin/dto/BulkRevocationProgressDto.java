@@ -0,0 +1,42 @@
+package com.example.javaspringboottask.admin.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 일괄 폐기 진행 상황. 응답 스트림에 한 줄(NDJSON)씩 쓴다.
+ */
+@Getter
+@RequiredArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRevocationProgressDto {
+
+    public enum Status {
+        RESOLVED, // 대상 사용자 조회 완료
+        PROGRESS, // 묶음 하나 폐기 완료
+        COMPLETED, // 전체 폐기 완료
+        FAILED // 폐기 중단 (processed 까지만 폐기됨)
+    }
+
+    @Schema(description = "진행 단계", example = "PROGRESS")
+    private final Status status;
+
+    @Schema(description = "폐기 대상 사용자 수", example = "50000")
+    private final int total;
+
+    @Schema(description = "지금까지 폐기한 사용자 수", example = "12000")
+    private final int processed;
+
+    @Schema(description = "찾지 못한 사용자 ID 또는 이름 (RESOLVED 에만 포함)", example = "[\"42\", \"unknown_user\"]")
+    private final List<String> notFound;
+
+    @Schema(description = "시작 후 경과 시간 (밀리초)", example = "850")
+    private final long elapsedMillis;
+
+    @Schema(description = "실패 사유 (FAILED 에만 포함)")
+    private final String message;
+}
@@ -0,0 +1,21 @@
+package com.example.javaspringboottask.admin.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class BulkRevocationRequestDto {
+
+    @Schema(description = "폐기할 사용자 ID 목록", example = "[1, 2, 3]")
+    @Size(max = 100000)
+    private final List<Long> userIds;
+
+    @Schema(description = "폐기할 사용자 이름 목록", example = "[\"john_doe\", \"jane_doe\"]")
+    @Size(max = 100000)
+    private final List<String> usernames;
+}
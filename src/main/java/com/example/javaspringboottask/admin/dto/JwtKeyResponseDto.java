@@ -0,0 +1,21 @@
+package com.example.javaspringboottask.admin.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+@Getter
+@RequiredArgsConstructor
+public class JwtKeyResponseDto {
+
+    @Schema(description = "JWT 헤더의 kid", example = "2024-06")
+    private final String kid;
+
+    @Schema(description = "현재 서명에 사용하는 키인지 여부", example = "true")
+    private final boolean signing;
+
+    @Schema(description = "검증에 사용할 수 있는 마지막 시각 (없으면 기한 없음)", example = "2024-06-08T00:00:00Z")
+    private final Instant notAfter;
+}
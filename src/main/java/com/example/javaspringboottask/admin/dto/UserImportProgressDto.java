@@ -0,0 +1,45 @@
+package com.example.javaspringboottask.admin.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 사용자 일괄 등록 진행 상황. 응답 스트림에 한 줄(NDJSON)씩 쓴다.
+ */
+@Getter
+@RequiredArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportProgressDto {
+
+    public enum Status {
+        PROGRESS, // 묶음 하나 등록 완료
+        COMPLETED, // 파일 전체 등록 완료
+        FAILED // 등록 중단 (imported 까지만 등록됨)
+    }
+
+    @Schema(description = "진행 단계", example = "PROGRESS")
+    private final Status status;
+
+    @Schema(description = "지금까지 읽은 사용자 수", example = "12000")
+    private final int read;
+
+    @Schema(description = "지금까지 등록한 사용자 수", example = "11990")
+    private final int imported;
+
+    @Schema(description = "지금까지 건너뛴 사용자 수 (유효성 검사 실패, 중복)", example = "10")
+    private final int rejected;
+
+    @Schema(description = "이번 묶음에서 건너뛴 행과 사유 (최대 admin.user-import.max-errors-per-line 개)",
+            example = "[\"line 42: 중복된 username 입니다\"]")
+    private final List<String> errors;
+
+    @Schema(description = "시작 후 경과 시간 (밀리초)", example = "850")
+    private final long elapsedMillis;
+
+    @Schema(description = "실패 사유 (FAILED 에만 포함)")
+    private final String message;
+}
@@ -0,0 +1,30 @@
+package com.example.javaspringboottask.admin.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.validator.constraints.Length;
+
+/**
+ * 일괄 등록 파일의 사용자 한 명. CSV 는 username,nickname,password 헤더를 가진 한 줄, JSON 은 배열의 객체 하나.
+ * 비밀번호는 평문(회원가입과 같은 규칙 적용) 또는 기존 시스템의 BCrypt 해시($2a$, $2b$, $2y$)를 받는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserImportRowDto {
+
+    @Schema(description = "사용자 이름 (5~20자)", example = "john_doe123")
+    @Length(min = 5, max = 20)
+    @NotBlank
+    private final String username;
+
+    @Schema(description = "닉네임 (5~20자)", example = "cool_nick")
+    @Length(min = 5, max = 20)
+    @NotBlank
+    private final String nickname;
+
+    @Schema(description = "비밀번호 평문 또는 BCrypt 해시", example = "Password123!")
+    @NotBlank
+    private final String password;
+}
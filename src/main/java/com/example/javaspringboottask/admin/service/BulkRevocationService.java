@@ -0,0 +1,140 @@
+package com.example.javaspringboottask.admin.service;
+
+import com.example.javaspringboottask.admin.dto.BulkRevocationProgressDto;
+import com.example.javaspringboottask.admin.dto.BulkRevocationRequestDto;
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import com.example.javaspringboottask.refresh.service.RevocationEpochService;
+import com.example.javaspringboottask.user.repository.UserIdProjection;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 관리자용 사용자 토큰 일괄 폐기.
+ * 대상은 chunk-size 개씩 IN 조회로 찾고, 폐기도 같은 크기의 묶음마다 Redis 파이프라인 하나로 보낸다.
+ * 사용자마다 조회와 폐기를 왕복하지 않으므로 수만 명도 수 초 안에 처리된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkRevocationService {
+
+    private final UserRepository userRepository;
+    private final RevocationEpochService revocationEpochService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${admin.revocation.chunk-size:1000}")
+    private int chunkSize; // IN 조회와 Redis 파이프라인 한 번에 담을 사용자 수
+
+    /**
+     * 폐기 대상 조회 결과
+     *
+     * @param userIds  찾은 사용자 ID (중복 제거)
+     * @param notFound 찾지 못한 사용자 ID 또는 이름
+     */
+    public record Targets(List<Long> userIds, List<String> notFound) {
+    }
+
+    /**
+     * 요청한 사용자 ID 와 이름을 묶음 단위 IN 조회로 찾는다. 스트리밍을 시작하기 전에 호출해 잘못된 요청은 바로 거절한다.
+     *
+     * @param request 폐기 요청
+     * @return 폐기 대상
+     */
+    public Targets resolve(BulkRevocationRequestDto request) {
+        List<Long> requestedIds = request.getUserIds() == null ? List.of() : request.getUserIds();
+        List<String> requestedNames = request.getUsernames() == null ? List.of() : request.getUsernames();
+        if (requestedIds.isEmpty() && requestedNames.isEmpty()) {
+            throw new CustomResponseStatusException(ErrorCode.VALIDATION_ERROR);
+        }
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        List<String> notFound = new ArrayList<>();
+
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(requestedIds));
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            Set<Long> found = new HashSet<>();
+            for (UserIdProjection user : userRepository.findAllByIdIn(chunk)) {
+                found.add(user.getId());
+            }
+            for (Long id : chunk) {
+                if (found.contains(id)) {
+                    userIds.add(id);
+                } else {
+                    notFound.add(String.valueOf(id));
+                }
+            }
+        }
+
+        List<String> distinctNames = List.copyOf(new LinkedHashSet<>(requestedNames));
+        for (int from = 0; from < distinctNames.size(); from += chunkSize) {
+            List<String> chunk = distinctNames.subList(from, Math.min(from + chunkSize, distinctNames.size()));
+            Set<String> found = new HashSet<>();
+            for (UserIdProjection user : userRepository.findAllByUsernameIn(chunk)) {
+                found.add(user.getUsername());
+                userIds.add(user.getId());
+            }
+            for (String username : chunk) {
+                if (!found.contains(username)) {
+                    notFound.add(username);
+                }
+            }
+        }
+        return new Targets(List.copyOf(userIds), notFound);
+    }
+
+    /**
+     * 대상 사용자를 chunk-size 단위로 폐기하고, 단계마다 진행 상황을 NDJSON 한 줄로 쓴다.
+     * 응답이 이미 시작되었으므로 중간에 실패하면 예외 대신 FAILED 줄을 쓰고 멈춘다.
+     *
+     * @param targets 폐기 대상
+     * @param out     응답 스트림
+     */
+    public void revoke(Targets targets, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        List<Long> userIds = targets.userIds();
+        int total = userIds.size();
+        this.write(out, new BulkRevocationProgressDto(BulkRevocationProgressDto.Status.RESOLVED,
+            total, 0, targets.notFound(), 0, null));
+
+        int processed = 0;
+        try {
+            for (int from = 0; from < total; from += chunkSize) {
+                List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, total));
+                processed += revocationEpochService.revokeAll(chunk);
+                this.write(out, new BulkRevocationProgressDto(BulkRevocationProgressDto.Status.PROGRESS,
+                    total, processed, null, System.currentTimeMillis() - started, null));
+            }
+        } catch (RuntimeException e) {
+            log.error("사용자 일괄 폐기 실패 처리된 사용자 수 : {} / {}", processed, total, e);
+            this.write(out, new BulkRevocationProgressDto(BulkRevocationProgressDto.Status.FAILED,
+                total, processed, null, System.currentTimeMillis() - started, e.getMessage()));
+            return;
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("사용자 일괄 폐기 완료 사용자 수 : {}, 소요 시간(ms) : {}", processed, elapsed);
+        this.write(out, new BulkRevocationProgressDto(BulkRevocationProgressDto.Status.COMPLETED,
+            total, processed, null, elapsed, null));
+    }
+
+    // 진행 상황 한 줄을 쓰고 바로 내보냄
+    private void write(OutputStream out, BulkRevocationProgressDto progress) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(progress));
+        out.write('\n');
+        out.flush();
+    }
+}
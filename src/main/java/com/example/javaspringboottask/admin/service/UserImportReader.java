@@ -0,0 +1,176 @@
+package com.example.javaspringboottask.admin.service;
+
+import com.example.javaspringboottask.admin.dto.UserImportRowDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일괄 등록 파일을 한 명씩 읽는다. 파일 전체를 메모리에 올리지 않는다.
+ */
+abstract class UserImportReader {
+
+    /**
+     * 읽은 사용자 한 명
+     *
+     * @param line CSV 행 번호 또는 JSON 배열 순번 (1부터)
+     * @param user 사용자, 형식이 잘못된 행이면 null
+     * @param error 형식 오류 사유
+     */
+    record Row(long line, UserImportRowDto user, String error) {
+    }
+
+    /**
+     * @return 다음 사용자, 파일 끝이면 null
+     * @throws IOException 읽기 실패 또는 파일 구조 자체가 잘못된 경우 (이후 행을 읽을 수 없음)
+     */
+    abstract Row next() throws IOException;
+
+    /**
+     * username,nickname,password 헤더(순서 무관)를 가진 UTF-8 CSV. 큰따옴표로 감싼 값과 "" 이스케이프를 지원하며 값 안의 줄바꿈은 지원하지 않는다.
+     */
+    static UserImportReader csv(InputStream in) throws IOException {
+        return new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * {"username", "nickname", "password"} 객체의 JSON 배열
+     */
+    static UserImportReader json(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return new JsonReader(objectMapper.getFactory().createParser(in), objectMapper);
+    }
+
+    private static final class CsvReader extends UserImportReader {
+
+        private final BufferedReader reader;
+        private final int usernameIndex;
+        private final int nicknameIndex;
+        private final int passwordIndex;
+        private long line = 1;
+
+        private CsvReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException("CSV 헤더가 없습니다.");
+            }
+            if (header.startsWith("\uFEFF")) {
+                header = header.substring(1);
+            }
+            List<String> columns = split(header);
+            this.usernameIndex = indexOf(columns, "username");
+            this.nicknameIndex = indexOf(columns, "nickname");
+            this.passwordIndex = indexOf(columns, "password");
+        }
+
+        @Override
+        Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+
+            List<String> values = split(text);
+            int required = Math.max(usernameIndex, Math.max(nicknameIndex, passwordIndex));
+            if (values == null || values.size() <= required) {
+                return new Row(line, null, "CSV 형식이 올바르지 않습니다");
+            }
+            return new Row(line, new UserImportRowDto(values.get(usernameIndex), values.get(nicknameIndex),
+                    values.get(passwordIndex)), null);
+        }
+
+        private static int indexOf(List<String> columns, String name) throws IOException {
+            int index = columns == null ? -1 : columns.indexOf(name);
+            if (index < 0) {
+                throw new IOException("CSV 헤더에 " + name + " 열이 없습니다.");
+            }
+            return index;
+        }
+
+        // 한 줄을 값 목록으로 나눔. 따옴표가 닫히지 않았으면 null
+        private static List<String> split(String text) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString().trim());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            values.add(value.toString().trim());
+            return values;
+        }
+    }
+
+    private static final class JsonReader extends UserImportReader {
+
+        private final JsonParser parser;
+        private final ObjectMapper objectMapper;
+        private long index;
+
+        private JsonReader(JsonParser parser, ObjectMapper objectMapper) throws IOException {
+            this.parser = parser;
+            this.objectMapper = objectMapper;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("JSON 배열이 아닙니다.");
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            index++;
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return new Row(index, null, "사용자 객체가 아닙니다");
+            }
+            // 객체 하나를 트리로 읽으므로 값이 잘못되어도 다음 객체부터 이어서 읽을 수 있다
+            JsonNode node = objectMapper.readTree(parser);
+            JsonNode username = node.get("username");
+            JsonNode nickname = node.get("nickname");
+            JsonNode password = node.get("password");
+            if (!isText(username) || !isText(nickname) || !isText(password)) {
+                return new Row(index, null, "username, nickname, password 는 문자열이어야 합니다");
+            }
+            return new Row(index, new UserImportRowDto(username.asText(), nickname.asText(), password.asText()), null);
+        }
+
+        private static boolean isText(JsonNode node) {
+            return node != null && node.isTextual();
+        }
+    }
+}
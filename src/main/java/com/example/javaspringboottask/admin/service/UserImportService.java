@@ -0,0 +1,328 @@
+package com.example.javaspringboottask.admin.service;
+
+import com.example.javaspringboottask.admin.dto.UserImportProgressDto;
+import com.example.javaspringboottask.admin.dto.UserImportRowDto;
+import com.example.javaspringboottask.global.auth.BoundedPasswordEncoder;
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import com.example.javaspringboottask.global.valid.PasswordValidator;
+import com.example.javaspringboottask.user.entity.User;
+import com.example.javaspringboottask.user.repository.UserIdProjection;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import com.example.javaspringboottask.user.service.UsernameBloomFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * 관리자용 사용자 일괄 등록 (기존 시스템 계정 이전).
+ * 파일을 한 명씩 읽어 chunk-size 명씩 처리한다. 묶음마다 검증과 중복 확인(username 필터 + IN 조회 1회)을 하고,
+ * 평문 비밀번호는 로그인과 같은 해싱 스레드(BoundedPasswordEncoder)에 후순위로 맡겨 같은 cost 로 해싱한 뒤,
+ * 트랜잭션 하나에서 jdbc batch_size 단위로 persist/flush/clear 한다.
+ * 해싱 대기열이 절반 넘게 차 있으면 로그인과 회원가입의 자리를 남기도록 물러났다가 다시 맡긴다.
+ * User id 는 애플리케이션에서 정하므로(TimeSortedId) INSERT 가 JDBC 배치로 묶인다.
+ * 기존 시스템의 BCrypt 해시는 다시 해싱하지 않고 그대로 저장한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final UserRepository userRepository;
+    private final UsernameBloomFilter usernameBloomFilter;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${admin.user-import.chunk-size:1000}")
+    private int chunkSize; // 검증, 중복 확인, 해싱, 트랜잭션 하나에 담을 사용자 수
+
+    @Value("${admin.user-import.hash-max-wait-millis:60000}")
+    private long hashMaxWaitMillis; // 해싱 대기열이 계속 차 있을 때 한 명의 해싱을 맡기기 위해 기다리는 최대 시간
+
+    @Value("${admin.user-import.max-errors-per-line:100}")
+    private int maxErrorsPerLine; // 진행 상황 한 줄에 담을 건너뛴 행 수
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:30}")
+    private int batchSize; // flush/clear 단위 (JDBC 배치 크기와 같게)
+
+    private static final long HASH_INITIAL_BACKOFF_MILLIS = 10;
+    private static final long HASH_MAX_BACKOFF_MILLIS = 500;
+
+    private final PasswordValidator passwordValidator = new PasswordValidator();
+
+    /**
+     * 파일 형식
+     */
+    public enum Format {
+        CSV, JSON
+    }
+
+    /**
+     * 파일을 끝까지 읽어 등록하고, 묶음마다 진행 상황을 NDJSON 한 줄로 쓴다.
+     * 이미 등록된 묶음은 되돌리지 않으므로, 중간에 실패하면 FAILED 줄을 쓰고 멈춘다 (같은 파일을 다시 보내면 등록된 사용자는 중복으로 건너뜀).
+     *
+     * @param in     요청 본문
+     * @param format 파일 형식
+     * @param out    응답 스트림
+     */
+    public void importUsers(InputStream in, Format format, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        int read = 0;
+        int imported = 0;
+        int rejected = 0;
+        try {
+            UserImportReader reader = format == Format.CSV
+                    ? UserImportReader.csv(in)
+                    : UserImportReader.json(in, objectMapper);
+            List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+            boolean end = false;
+            while (!end) {
+                UserImportReader.Row row = reader.next();
+                if (row != null) {
+                    chunk.add(row);
+                } else {
+                    end = true;
+                }
+                if (chunk.size() == chunkSize || (end && !chunk.isEmpty())) {
+                    List<String> errors = new ArrayList<>();
+                    int saved = this.importChunk(chunk, errors);
+                    read += chunk.size();
+                    imported += saved;
+                    rejected += chunk.size() - saved;
+                    chunk.clear();
+                    this.write(out, new UserImportProgressDto(UserImportProgressDto.Status.PROGRESS, read, imported,
+                            rejected, errors.isEmpty() ? null : errors, System.currentTimeMillis() - started, null));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("사용자 일괄 등록 실패 읽은 사용자 수 : {}, 등록한 사용자 수 : {}", read, imported, e);
+            this.write(out, new UserImportProgressDto(UserImportProgressDto.Status.FAILED, read, imported, rejected,
+                    null, System.currentTimeMillis() - started, e.getMessage()));
+            return;
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("사용자 일괄 등록 완료 읽은 사용자 수 : {}, 등록한 사용자 수 : {}, 소요 시간(ms) : {}", read, imported, elapsed);
+        this.write(out, new UserImportProgressDto(UserImportProgressDto.Status.COMPLETED, read, imported, rejected,
+                null, elapsed, null));
+    }
+
+    /**
+     * 묶음 하나를 검증, 중복 확인, 해싱 후 저장
+     *
+     * @param chunk  읽은 행
+     * @param errors 건너뛴 행과 사유를 담을 목록
+     * @return 저장한 사용자 수
+     */
+    int importChunk(List<UserImportReader.Row> chunk, List<String> errors) {
+        // 형식과 값 검증, 파일 안의 중복 제거 (먼저 나온 행을 사용)
+        Map<String, UserImportReader.Row> valid = new LinkedHashMap<>();
+        for (UserImportReader.Row row : chunk) {
+            String error = row.error() != null ? row.error() : this.validate(row.user());
+            if (error == null && valid.putIfAbsent(row.user().getUsername(), row) != null) {
+                error = ErrorCode.DUPLICATE_USERNAME.getMessage();
+            }
+            if (error != null) {
+                this.addError(errors, row, error);
+            }
+        }
+
+        // 필터가 있을 수 있다고 답한 username 만 한 번의 IN 조회로 확인
+        List<String> candidates = valid.keySet().stream().filter(usernameBloomFilter::mightContain).toList();
+        if (!candidates.isEmpty()) {
+            Set<String> existing = new HashSet<>();
+            for (UserIdProjection user : userRepository.findAllByUsernameIn(candidates)) {
+                existing.add(user.getUsername());
+            }
+            valid.values().removeIf(row -> {
+                if (existing.contains(row.user().getUsername())) {
+                    this.addError(errors, row, ErrorCode.DUPLICATE_USERNAME.getMessage());
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        // 평문 비밀번호만 해싱 스레드에 맡김 (대기열이 차 있으면 물러났다가 다시 맡김)
+        List<CompletableFuture<User>> hashing = new ArrayList<>(valid.size());
+        for (UserImportReader.Row row : valid.values()) {
+            UserImportRowDto user = row.user();
+            if (BCRYPT_HASH.matcher(user.getPassword()).matches()) {
+                hashing.add(CompletableFuture.completedFuture(
+                        new User(user.getUsername(), user.getNickname(), user.getPassword())));
+            } else {
+                hashing.add(this.encodeWithBackoff(user.getPassword())
+                        .thenApply(hash -> new User(user.getUsername(), user.getNickname(), hash)));
+            }
+        }
+        List<User> users = hashing.stream().map(CompletableFuture::join).toList();
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            this.persist(users);
+            return users.size();
+        } catch (PersistenceException | DataIntegrityViolationException e) {
+            if (findConstraintViolation(e) == null) {
+                throw e;
+            }
+            // 확인 이후 같은 username 으로 가입한 사용자가 있으면 묶음 전체가 롤백되므로 한 명씩 다시 저장
+            log.warn("사용자 일괄 등록 묶음 저장 실패, 한 명씩 다시 저장 사용자 수 : {}", users.size());
+            return this.persistOneByOne(users, errors);
+        }
+    }
+
+    /**
+     * 후순위 해싱을 맡기고, 대기열이 차 있어 거절되면 간격을 두 배씩 늘려 가며 다시 맡긴다.
+     *
+     * @throws CustomResponseStatusException hash-max-wait-millis 동안 맡기지 못한 경우 (PASSWORD_HASHING_BUSY)
+     */
+    private CompletableFuture<String> encodeWithBackoff(String rawPassword) {
+        long deadline = System.currentTimeMillis() + hashMaxWaitMillis;
+        long backoff = HASH_INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            CompletableFuture<String> future = passwordEncoder.encodeInBackground(rawPassword);
+            if (!this.isRejected(future)) {
+                return future;
+            }
+            if (System.currentTimeMillis() + backoff > deadline) {
+                log.warn("사용자 일괄 등록 해싱 대기열이 {}ms 동안 차 있어 중단", hashMaxWaitMillis);
+                throw new CustomResponseStatusException(ErrorCode.PASSWORD_HASHING_BUSY);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomResponseStatusException(ErrorCode.PASSWORD_HASHING_BUSY);
+            }
+            backoff = Math.min(backoff * 2, HASH_MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    // 맡기자마자 거절되었는지 확인 (해싱 중 실패는 join 에서 그대로 던짐)
+    private boolean isRejected(CompletableFuture<String> future) {
+        if (!future.isCompletedExceptionally()) {
+            return false;
+        }
+        try {
+            future.join();
+            return false;
+        } catch (CompletionException e) {
+            return e.getCause() instanceof RejectedExecutionException;
+        }
+    }
+
+    // 트랜잭션 하나에서 batchSize 명마다 flush/clear. 2차 캐시에는 넣지 않는다 (이전 직후 조회되지 않는 사용자로 캐시를 밀어내지 않도록).
+    private void persist(List<User> users) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            for (int i = 0; i < users.size(); i++) {
+                entityManager.persist(users.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private int persistOneByOne(List<User> users, List<String> errors) {
+        int saved = 0;
+        for (User user : users) {
+            try {
+                this.persist(List.of(new User(user.getUsername(), user.getNickname(), user.getPassword())));
+                saved++;
+            } catch (PersistenceException | DataIntegrityViolationException e) {
+                ConstraintViolationException violation = findConstraintViolation(e);
+                if (violation == null) {
+                    throw e;
+                }
+                ErrorCode errorCode = isDuplicateUsername(violation)
+                        ? ErrorCode.DUPLICATE_USERNAME
+                        : ErrorCode.CONSTRAINT_VIOLATION;
+                if (errors.size() < maxErrorsPerLine) {
+                    errors.add(user.getUsername() + ": " + errorCode.getMessage());
+                }
+            }
+        }
+        return saved;
+    }
+
+    // 공유 EntityManager 의 flush 에서 난 제약 위반은 Spring 예외로 변환되지 않으므로(리포지토리를 거치지 않음) 원인을 따라가 찾는다.
+    // 커밋 시점의 위반은 트랜잭션 매니저가 DataIntegrityViolationException 으로 감싸 던진다.
+    private static ConstraintViolationException findConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation;
+            }
+        }
+        return null;
+    }
+
+    // 위반한 제약이 username 유니크 제약인지 확인 (UserService 회원가입과 같은 기준)
+    private static boolean isDuplicateUsername(ConstraintViolationException violation) {
+        return violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(User.USERNAME_UNIQUE_CONSTRAINT);
+    }
+
+    // 회원가입과 같은 규칙으로 검증. 기존 시스템의 BCrypt 해시는 비밀번호 규칙을 확인할 수 없으므로 그대로 받는다.
+    private String validate(UserImportRowDto user) {
+        Set<ConstraintViolation<UserImportRowDto>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<UserImportRowDto> violation = violations.iterator().next();
+            return violation.getPropertyPath() + " " + violation.getMessage();
+        }
+        if (!BCRYPT_HASH.matcher(user.getPassword()).matches() && !passwordValidator.isValid(user.getPassword(), null)) {
+            return "password 비밀번호는 최소 8글자, 최대 20글자, 영문, 숫자, 특수문자를 포함해야 합니다.";
+        }
+        return null;
+    }
+
+    private void addError(List<String> errors, UserImportReader.Row row, String error) {
+        if (errors.size() < maxErrorsPerLine) {
+            errors.add("line " + row.line() + ": " + error);
+        }
+    }
+
+    // 진행 상황 한 줄을 쓰고 바로 내보냄
+    private void write(OutputStream out, UserImportProgressDto progress) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(progress));
+        out.write('\n');
+        out.flush();
+    }
+}
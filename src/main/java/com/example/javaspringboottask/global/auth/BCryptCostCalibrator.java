@@ -0,0 +1,140 @@
+package com.example.javaspringboottask.global.auth;
+
+import at.favre.lib.crypto.bcrypt.BCryptParser;
+import at.favre.lib.crypto.bcrypt.IllegalBCryptFormatException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 시작 시 현재 하드웨어에서 BCrypt 해시 한 번이 latency-budget-millis 안에 끝나는 가장 큰 cost 를 정한다.
+ * 실제로 사용하는 Spring Security BCrypt 로 min-cost 의 시간을 재고, cost 가 1 오를 때마다 시간이 2배가 되는 것으로 예상한 뒤
+ * 고른 cost 를 한 번 더 재서 확인한다. 예산을 넘어도 min-cost 보다 낮추지 않는다.
+ * <p>
+ * 로그인 시 PasswordRehashService 는 저장된 해시의 cost 가 목표 cost 와 다르면 올리거나 낮춰 다시 해싱한다
+ * (로그인 시간은 저장된 cost 로 정해지므로 더 크거나 작은 인스턴스로 옮기면 기존 해시도 따라간다).
+ * 고정 cost 를 설정하면 모든 노드의 목표가 같으므로 그 값과 다르면 다시 해싱한다. 보정한 cost 는 노드마다 측정 오차로 1 정도 다를 수 있으므로
+ * rehash-tolerance 만큼의 차이는 그대로 두어(그리고 min-cost 보다 낮은 해시는 항상 다시 해싱) 노드를 오가며 로그인해도 cost 가 오르내리지 않게 한다.
+ * 성능이 크게 다른 인스턴스를 섞어 운영하면 cost 를 고정한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password123!";
+    private static final int SAMPLES = 3;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${password.hashing.bcrypt.cost:0}")
+    private int fixedCost; // 0 이면 보정, 그 외에는 이 cost 를 그대로 사용
+
+    @Value("${password.hashing.bcrypt.latency-budget-millis:100}")
+    private long latencyBudgetMillis; // 해시 한 번의 목표 시간
+
+    @Value("${password.hashing.bcrypt.min-cost:10}")
+    private int minCost;
+
+    @Value("${password.hashing.bcrypt.max-cost:16}")
+    private int maxCost;
+
+    @Value("${password.hashing.bcrypt.rehash-tolerance:1}")
+    private int rehashTolerance; // 보정할 때 목표 cost 와 이만큼까지 다른 해시는 다시 해싱하지 않음 (고정 cost 에는 적용하지 않음)
+
+    private int cost;
+
+    @PostConstruct
+    public void init() {
+        this.cost = fixedCost > 0 ? fixedCost : this.calibrate();
+        Gauge.builder("password.hashing.bcrypt.cost", this, BCryptCostCalibrator::getCost)
+                .description("새 비밀번호 해시에 사용하는 BCrypt cost")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 새 해시에 사용할 cost
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * 저장된 해시를 목표 cost 로 다시 해싱해야 하는지 확인. 목표보다 낮으면 올리고 높으면 낮춘다.
+     * 고정 cost 면 그 값과 다른 해시, 보정한 cost 면 min-cost 보다 낮거나 목표와 rehash-tolerance 보다 많이 다른 해시를 다시 해싱한다.
+     *
+     * @param encodedPassword 저장된 해시
+     * @return 다시 해싱할 BCrypt 해시면 true
+     */
+    public boolean needsRehash(String encodedPassword) {
+        int storedCost = costOf(encodedPassword);
+        if (storedCost <= 0) {
+            return false;
+        }
+        if (fixedCost > 0) {
+            return storedCost != fixedCost;
+        }
+        return storedCost < minCost || Math.abs(storedCost - cost) > rehashTolerance;
+    }
+
+    /**
+     * @param encodedPassword 저장된 해시
+     * @return BCrypt 해시의 cost, BCrypt 해시가 아니면 -1
+     */
+    public static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return -1;
+        }
+        try {
+            return BCryptParser.DEFAULT.parse(encodedPassword.getBytes(StandardCharsets.UTF_8)).cost;
+        } catch (IllegalBCryptFormatException | IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private int calibrate() {
+        // 첫 해시는 JIT 전이라 느리므로 버린다
+        this.measure(minCost, 1);
+        long baseNanos = this.measure(minCost, SAMPLES);
+        long budgetNanos = latencyBudgetMillis * 1_000_000;
+
+        int chosen = minCost;
+        long estimatedNanos = baseNanos;
+        while (chosen < maxCost && estimatedNanos * 2 <= budgetNanos) {
+            chosen++;
+            estimatedNanos *= 2;
+        }
+        long measuredNanos = chosen == minCost ? baseNanos : this.measure(chosen, 1);
+        while (chosen > minCost && measuredNanos > budgetNanos) {
+            chosen--;
+            measuredNanos = this.measure(chosen, 1);
+        }
+
+        if (measuredNanos > budgetNanos) {
+            log.warn("BCrypt cost {} 의 해시 시간 {}ms 가 목표 {}ms 를 넘지만 최소 cost 를 사용",
+                    chosen, measuredNanos / 1_000_000, latencyBudgetMillis);
+        } else {
+            log.info("BCrypt cost 보정 완료 cost : {}, 해시 시간(ms) : {}, 목표(ms) : {}",
+                    chosen, measuredNanos / 1_000_000, latencyBudgetMillis);
+        }
+        return chosen;
+    }
+
+    // samples 번 해싱한 시간 중 가장 짧은 시간 (다른 작업의 간섭 제외)
+    private long measure(int cost, int samples) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < samples; i++) {
+            long started = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(cost));
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.javaspringboottask.global.auth;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt 해싱과 검증을 CPU 코어 수만큼의 전용 스레드에서 실행하는 PasswordEncoder.
+ * 요청 스레드는 결과를 기다리기만 하므로 동시에 BCrypt 를 계산하는 수가 코어 수로 제한되고, 로그인이 몰려도 다른 요청의 CPU 를 빼앗지 않는다.
+ * <p>
+ * 대기열(queue-capacity)이 가득 차거나 max-wait-millis 안에 차례가 오지 않으면 바로 503(PASSWORD_HASHING_BUSY)으로 거절한다.
+ * 따라서 결과를 기다리는 요청 스레드도 스레드 수 + 대기열 크기를 넘지 않는다.
+ * 대기열 길이, 대기 시간, 해싱 시간은 password.hashing.* 지표로 내보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final BCryptCostCalibrator bCryptCostCalibrator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${password.hashing.threads:0}")
+    private int threads; // 해싱 스레드 수, 0 이면 CPU 코어 수
+
+    @Value("${password.hashing.queue-capacity:0}")
+    private int queueCapacity; // 대기열 크기, 0 이면 스레드 수 * 4
+
+    @Value("${password.hashing.max-wait-millis:2000}")
+    private long maxWaitMillis; // 대기열과 해싱을 합쳐 요청 스레드가 기다리는 최대 시간
+
+    private ThreadPoolExecutor executor;
+    private Timer waitTimer;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 4;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("차례를 기다리는 비밀번호 해싱, 검증 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("실행 중인 비밀번호 해싱, 검증 작업 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("작업이 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing.duration")
+                .description("BCrypt 계산 시간")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration")
+                .description("BCrypt 계산 시간")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("대기열이 가득 차거나 대기 시간을 넘겨 거절한 작업 수")
+                .register(meterRegistry);
+        log.info("비밀번호 해싱 스레드 수 : {}, 대기열 크기 : {}", poolSize, capacity);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return this.execute(() -> bCryptPasswordEncoder.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return this.execute(() -> bCryptPasswordEncoder.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * 저장된 해시의 cost 가 목표 cost 와 다르면 올리거나 낮춰 다시 해싱한다 (보정한 cost 는 rehash-tolerance 만큼의 차이를 허용).
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bCryptCostCalibrator.needsRehash(encodedPassword);
+    }
+
+    /**
+     * 결과를 기다리지 않는 후순위 해싱 (로그인 후 재해싱, 사용자 일괄 등록). 로그인과 회원가입의 자리를 남기도록 대기열이 절반 넘게 차 있으면 거절한다.
+     *
+     * @param rawPassword 평문 비밀번호
+     * @return 새 해시 future, 거절되면 RejectedExecutionException 으로 실패한 future
+     */
+    public CompletableFuture<String> encodeInBackground(CharSequence rawPassword) {
+        if (executor.getQueue().remainingCapacity() < executor.getQueue().size()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("비밀번호 해싱 대기열이 절반 넘게 참"));
+        }
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return encodeTimer.record(() -> bCryptPasswordEncoder.encode(rawPassword));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 해싱 스레드에서 실행하고 결과를 기다림
+     *
+     * @throws CustomResponseStatusException 대기열이 가득 찼거나 max-wait-millis 를 넘긴 경우 (PASSWORD_HASHING_BUSY)
+     */
+    private <T> T execute(Supplier<T> work, Timer durationTimer) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.record(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new CustomResponseStatusException(ErrorCode.PASSWORD_HASHING_BUSY);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            this.cancel(future);
+            rejectedCounter.increment();
+            throw new CustomResponseStatusException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (InterruptedException e) {
+            this.cancel(future);
+            Thread.currentThread().interrupt();
+            throw new CustomResponseStatusException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 아직 대기 중이면 취소하고 대기열에서 빼 자리를 돌려준다 (이미 계산 중이면 끝까지 실행되고 결과는 버린다)
+    private void cancel(Future<?> future) {
+        future.cancel(false);
+        if (future instanceof Runnable task) {
+            executor.remove(task);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.javaspringboottask.global.auth;
+
+import com.example.javaspringboottask.user.entity.User;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * username -> 인증 주체(UserDetailsImpl) 노드 로컬 캐시. 인증된 요청마다 DB 를 조회하지 않도록 한다.
+ * <p>
+ * 최대 개수와 TTL 로 제한하며, 비밀번호는 담지 않는다 (비밀번호가 필요한 로그인은 항상 DB 에서 읽는다).
+ * 권한 변경 등으로 사용자 정보가 바뀌면 invalidate 로 이 노드에서 지우고 Redis 채널로 다른 노드에도 알린다.
+ * 이벤트를 받은 노드는 Hibernate 2차 캐시의 User 항목을 먼저 지운 뒤 인증 주체를 지운다 (2차 캐시는 노드 로컬이므로 다른 노드의 수정은 알 수 없음).
+ * 이벤트를 놓친 노드도 TTL 이 지나면 다시 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCache {
+
+    public static final String INVALIDATION_CHANNEL = "user:invalidated"; // 사용자 정보 변경 이벤트 채널 (메시지: {userId}:{username})
+
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.principal-cache.maximum-size:100000}")
+    private long maximumSize; // 최대 사용자 수
+
+    @Value("${jwt.principal-cache.ttl-millis:300000}")
+    private long ttlMillis; // 저장 후 유지 시간, 변경 이벤트를 놓쳤을 때 오래된 정보가 남는 최대 시간
+
+    @Value("${jwt.token-store.type:redis}")
+    private String tokenStoreType; // redis 일 때만 다른 노드에 변경 이벤트 발행
+
+    private Cache<String, UserDetailsImpl> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMillis))
+            .recordStats()
+            .build();
+        // cache.gets(hit/miss), cache.evictions, cache.size 등 노드별 통계
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    /**
+     * 캐시된 인증 주체를 반환하고, 없으면 DB 에서 한 번 읽어 비밀번호를 뺀 뒤 저장.
+     * 같은 username 을 동시에 요청해도 DB 는 한 번만 조회한다.
+     *
+     * @param username 사용자 이름
+     * @return 비밀번호 없는 인증 주체
+     * @throws UsernameNotFoundException 사용자가 없는 경우 (캐시하지 않음)
+     */
+    public UserDetailsImpl get(String username) {
+        return cache.get(username, this::load);
+    }
+
+    /**
+     * 방금 DB 에서 읽은 인증 주체를 저장 (로그인 직후 첫 요청의 DB 조회 생략). 비밀번호는 빼고 저장한다.
+     *
+     * @param principal 인증 주체
+     */
+    public void put(UserDetailsImpl principal) {
+        cache.put(principal.getUsername(), principal.withoutPassword());
+    }
+
+    /**
+     * 사용자 정보가 바뀌었을 때 호출. 이 노드에서 바로 지우고 다른 노드에 변경 이벤트를 발행한다.
+     * 발행에 실패해도 다른 노드는 TTL 이 지나면 다시 읽으므로 예외를 던지지 않는다.
+     *
+     * @param userId   변경된 사용자 ID
+     * @param username 변경된 사용자 이름
+     */
+    public void invalidate(Long userId, String username) {
+        cache.invalidate(username);
+        if (!"redis".equals(tokenStoreType)) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, userId + ":" + username);
+        } catch (RuntimeException e) {
+            log.warn("사용자 정보 변경 이벤트 발행 실패, 다른 노드는 TTL 이후 반영 username : {}", username, e);
+        }
+    }
+
+    /**
+     * 다른 노드의 변경 이벤트를 이 노드의 인증 주체 캐시와 2차 캐시에 반영
+     *
+     * @param message 변경 이벤트 ({userId}:{username})
+     */
+    public void applyInvalidationEvent(String message) {
+        int separator = message.indexOf(':');
+        try {
+            long userId = Long.parseLong(message.substring(0, separator));
+            // 2차 캐시를 먼저 지워야 그 사이의 get 이 오래된 2차 캐시 항목으로 인증 주체를 다시 채우지 않는다
+            entityManagerFactory.getCache().evict(User.class, userId);
+            cache.invalidate(message.substring(separator + 1));
+        } catch (RuntimeException e) {
+            log.warn("처리할 수 없는 사용자 정보 변경 이벤트 : {}", message);
+        }
+    }
+
+    /**
+     * 이 노드의 인증 주체 캐시와 User 2차 캐시를 모두 비움 (변경 이벤트를 놓쳤을 수 있을 때)
+     */
+    public void clearLocally() {
+        entityManagerFactory.getCache().evict(User.class);
+        cache.invalidateAll();
+    }
+
+    private UserDetailsImpl load(String username) {
+        return userRepository.findByUsername(username)
+            .map(user -> new UserDetailsImpl(user).withoutPassword())
+            .orElseThrow(() -> new UsernameNotFoundException("username 에 해당하는 사용자가 존재하지 않습니다."));
+    }
+}
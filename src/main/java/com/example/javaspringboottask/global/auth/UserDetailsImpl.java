@@ -2,8 +2,6 @@ package com.example.javaspringboottask.global.auth;
 
 import com.example.javaspringboottask.user.entity.User;
 import com.example.javaspringboottask.user.entity.type.Role;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,31 +11,66 @@ import java.util.Collection;
 
 
 
-@Getter
-@RequiredArgsConstructor
 public class UserDetailsImpl implements UserDetails {
 
-    private final User user;
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final Role role;
+
+    public UserDetailsImpl(User user) {
+        this(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+
+    private UserDetailsImpl(Long userId, String username, String password, Role role) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+
+    /**
+     * 검증된 토큰 클레임만으로 인증 주체를 생성. DB 를 조회하지 않으므로 비밀번호는 담지 않는다.
+     *
+     * @param userId   토큰의 uid 클레임
+     * @param username 토큰의 subject
+     * @param role     토큰의 role 클레임
+     * @return 비밀번호 없는 UserDetailsImpl
+     */
+    public static UserDetailsImpl fromClaims(Long userId, String username, Role role) {
+        return new UserDetailsImpl(userId, username, null, role);
+    }
+
+    /**
+     * 비밀번호를 뺀 복사본. 비밀번호 검증이 끝난 뒤 캐시나 인증 정보에 보관할 때 사용한다.
+     *
+     * @return 비밀번호 없는 UserDetailsImpl
+     */
+    public UserDetailsImpl withoutPassword() {
+        return password == null ? this : new UserDetailsImpl(userId, username, null, role);
+    }
 
     public Long getUserId() {
-        return user.getId();
+        return userId;
+    }
+
+    public Role getRole() {
+        return role;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Role role = this.user.getRole();
-
         return new ArrayList<>(role.getAuthorities());
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -0,0 +1,63 @@
+package com.example.javaspringboottask.global.auth;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 다른 노드에서 발생한 사용자 정보 변경 이벤트를 받아 인증 주체 캐시와 2차 캐시에서 지우는 리스너.
+ * 구독이 끊긴 동안의 이벤트는 받을 수 없으므로 구독 상태가 바뀌면 캐시를 모두 비운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "redis", matchIfMissing = true)
+public class UserDetailsInvalidationListener implements MessageListener, SubscriptionListener {
+
+    private final UserDetailsCache userDetailsCache;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this,
+                new ChannelTopic(UserDetailsCache.INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 변경된 사용자를 캐시에서 제거
+     *
+     * @param message 변경 이벤트 ({userId}:{username})
+     * @param pattern 구독 패턴 (사용하지 않음)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        userDetailsCache.applyInvalidationEvent(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 최초 구독과 재연결 후 재구독 시 호출. 구독이 없던 동안 놓친 이벤트가 있을 수 있으므로 캐시를 비운다.
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.info("사용자 정보 변경 채널 구독, 인증 주체 캐시 초기화");
+        userDetailsCache.clearLocally();
+    }
+
+    /**
+     * 구독이 끊기면 이후 이벤트를 받을 수 없으므로 캐시를 비운다.
+     */
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        log.warn("사용자 정보 변경 채널 구독 해제, 인증 주체 캐시 초기화");
+        userDetailsCache.clearLocally();
+    }
+}
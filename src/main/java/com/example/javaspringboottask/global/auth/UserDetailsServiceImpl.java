@@ -2,6 +2,7 @@ package com.example.javaspringboottask.global.auth;
 
 import com.example.javaspringboottask.user.entity.User;
 import com.example.javaspringboottask.user.repository.UserRepository;
+import com.example.javaspringboottask.user.service.UsernameBloomFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,12 +14,32 @@ import org.springframework.stereotype.Service;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final UsernameBloomFilter usernameBloomFilter;
 
+    /**
+     * 비밀번호 검증용 사용자 조회. 비밀번호가 필요하므로 캐시를 사용하지 않고 항상 DB 에서 읽는다.
+     * username 필터가 없다고 답하면 DB 를 조회하지 않는다 (DaoAuthenticationProvider 가 없는 사용자도 더미 비밀번호 검증을 수행함).
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        if (!usernameBloomFilter.mightContain(email)) {
+            throw new UsernameNotFoundException("username 에 해당하는 사용자가 존재하지 않습니다.");
+        }
         User user = userRepository.findByUsername(email)
                 .orElseThrow(() -> new UsernameNotFoundException("username 에 해당하는 사용자가 존재하지 않습니다."));
 
         return new UserDetailsImpl(user);
     }
+
+    /**
+     * 인증된 요청의 인증 주체 조회. 비밀번호 없이 캐시에서 응답하고, 없을 때만 DB 를 조회한다.
+     *
+     * @param username 사용자 이름
+     * @return 비밀번호 없는 인증 주체
+     * @throws UsernameNotFoundException 사용자가 없는 경우
+     */
+    public UserDetailsImpl loadPrincipal(String username) throws UsernameNotFoundException {
+        return userDetailsCache.get(username);
+    }
 }
@@ -1,34 +1,212 @@
 package com.example.javaspringboottask.global.config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.HashSet;
 
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RedisProperties.class)
 public class RedisConfig {
 
-    @Value("${spring.data.redis.host}")
-    private String host;
+    private static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final RedisProperties redisProperties; // spring.data.redis.* 설정
 
-    @Value("${spring.data.redis.port}")
-    private int port;
+    /**
+     * 여러 요청이 하나의 네이티브 연결을 공유할지 여부 (Lettuce 는 스레드 안전한 다중화 연결)
+     * true 면 풀은 트랜잭션, 블로킹 명령처럼 전용 연결이 필요한 경우에만 사용된다.
+     */
+    @Value("${redis.share-native-connection:true}")
+    private boolean shareNativeConnection;
 
     /**
      * Redis 서버와 애플리케이션 간 연결을 설정하고 관리, LettuceConnectionFactory 사용
+     * spring.data.redis 의 url, host, port, username, password, database, client-name, ssl.enabled,
+     * sentinel, cluster(lettuce.cluster.refresh 포함), timeout, connect-timeout, lettuce.pool 설정을 반영한다.
+     * sentinel 이 있으면 sentinel, cluster 가 있으면 cluster, 둘 다 없으면 단일 서버(url 이 있으면 url 우선)로 연결한다.
+     * ssl.bundle 은 지원하지 않으므로 설정되어 있으면 시작하지 않는다.
+     * LettuceConnectionFactory 는 ReactiveRedisConnectionFactory 도 구현하므로 리액티브 템플릿에서도 같은 팩토리를 사용한다.
      *
      * @return 연결 팩토리를 생성
+     * @throws IllegalStateException spring.data.redis.ssl.bundle 이 설정된 경우
      */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        //LettuceConnectionFactory 는 Lettuce 클라이언트를 사용하여 연결 팩토리를 생성해주는 역할
-        //호스트와 포트 정보를 사용하여 Redis 서버와의 연결 설정을 해줌.
-        return new LettuceConnectionFactory(host, port);
+    public LettuceConnectionFactory redisConnectionFactory() {
+        if (StringUtils.hasText(redisProperties.getSsl().getBundle())) {
+            throw new IllegalStateException("spring.data.redis.ssl.bundle 은 지원하지 않습니다. ssl.enabled 또는 rediss:// url 을 사용하세요.");
+        }
+
+        Duration commandTimeout = redisProperties.getTimeout() != null
+                ? redisProperties.getTimeout() : DEFAULT_COMMAND_TIMEOUT;
+        Duration connectTimeout = redisProperties.getConnectTimeout() != null
+                ? redisProperties.getConnectTimeout() : DEFAULT_CONNECT_TIMEOUT;
+
+        // 연결 시간 제한과 명령 시간 제한. 응답이 늦으면 요청 스레드를 무한정 붙잡지 않고 RedisCommandTimeoutException 으로 끝낸다.
+        SocketOptions socketOptions = SocketOptions.builder().connectTimeout(connectTimeout).build();
+        TimeoutOptions timeoutOptions = TimeoutOptions.enabled(commandTimeout);
+        ClientOptions clientOptions = redisProperties.getCluster() != null
+                ? ClusterClientOptions.builder()
+                        .socketOptions(socketOptions)
+                        .timeoutOptions(timeoutOptions)
+                        .topologyRefreshOptions(this.topologyRefreshOptions())
+                        .build()
+                : ClientOptions.builder()
+                        .socketOptions(socketOptions)
+                        .timeoutOptions(timeoutOptions)
+                        .build();
+
+        LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder clientConfig =
+                LettucePoolingClientConfiguration.builder()
+                        .poolConfig(this.poolConfig(redisProperties.getLettuce().getPool()))
+                        .commandTimeout(commandTimeout)
+                        .clientOptions(clientOptions);
+        if (redisProperties.getClientName() != null) {
+            clientConfig.clientName(redisProperties.getClientName());
+        }
+        if (this.isSsl()) {
+            clientConfig.useSsl();
+        }
+
+        LettuceConnectionFactory connectionFactory =
+                new LettuceConnectionFactory(this.serverConfig(), clientConfig.build());
+        connectionFactory.setShareNativeConnection(shareNativeConnection);
+        return connectionFactory;
+    }
+
+    /**
+     * 접속 대상 설정. sentinel, cluster, 단일 서버 순으로 확인한다.
+     * 인증 정보는 url 에 있으면 url 의 값을, 없으면 username, password 를 사용한다.
+     *
+     * @return sentinel, cluster 또는 단일 서버 설정
+     */
+    private RedisConfiguration serverConfig() {
+        RedisURI uri = this.uri();
+        String username = uri != null && uri.getUsername() != null ? uri.getUsername() : redisProperties.getUsername();
+        RedisPassword password = uri != null && uri.getPassword() != null
+                ? RedisPassword.of(uri.getPassword())
+                : RedisPassword.of(redisProperties.getPassword());
+
+        RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
+        if (sentinel != null) {
+            RedisSentinelConfiguration config =
+                    new RedisSentinelConfiguration(sentinel.getMaster(), new HashSet<>(sentinel.getNodes()));
+            config.setDatabase(uri != null ? uri.getDatabase() : redisProperties.getDatabase());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setSentinelUsername(sentinel.getUsername());
+            config.setSentinelPassword(RedisPassword.of(sentinel.getPassword()));
+            return config;
+        }
+
+        RedisProperties.Cluster cluster = redisProperties.getCluster();
+        if (cluster != null) {
+            RedisClusterConfiguration config = new RedisClusterConfiguration(cluster.getNodes());
+            if (cluster.getMaxRedirects() != null) {
+                config.setMaxRedirects(cluster.getMaxRedirects());
+            }
+            config.setUsername(username);
+            config.setPassword(password);
+            return config;
+        }
+
+        //호스트와 포트, 인증 정보를 사용하여 Redis 서버와의 연결 설정을 해줌.
+        RedisStandaloneConfiguration config = uri != null
+                ? new RedisStandaloneConfiguration(uri.getHost(), uri.getPort())
+                : new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        config.setDatabase(uri != null ? uri.getDatabase() : redisProperties.getDatabase());
+        config.setUsername(username);
+        config.setPassword(password);
+        return config;
+    }
+
+    /**
+     * spring.data.redis.url 을 해석 (redis://[[username:]password@]host[:port][/database], rediss:// 는 SSL)
+     *
+     * @return url 이 없으면 null
+     */
+    private RedisURI uri() {
+        return StringUtils.hasText(redisProperties.getUrl()) ? RedisURI.create(redisProperties.getUrl()) : null;
+    }
+
+    /**
+     * ssl.enabled 이거나 url 이 rediss:// 이면 SSL 로 연결
+     *
+     * @return SSL 사용 여부
+     */
+    private boolean isSsl() {
+        if (redisProperties.getSsl().isEnabled()) {
+            return true;
+        }
+        RedisURI uri = this.uri();
+        return uri != null && uri.isSsl();
+    }
+
+    /**
+     * spring.data.redis.lettuce.cluster.refresh 설정으로 클러스터 토폴로지 갱신 방식 구성
+     *
+     * @return 토폴로지 갱신 설정
+     */
+    private ClusterTopologyRefreshOptions topologyRefreshOptions() {
+        RedisProperties.Lettuce.Cluster.Refresh refresh = redisProperties.getLettuce().getCluster().getRefresh();
+        ClusterTopologyRefreshOptions.Builder builder = ClusterTopologyRefreshOptions.builder()
+                .dynamicRefreshSources(refresh.isDynamicRefreshSources());
+        if (refresh.getPeriod() != null) {
+            builder.enablePeriodicRefresh(refresh.getPeriod());
+        }
+        if (refresh.isAdaptive()) {
+            builder.enableAllAdaptiveRefreshTriggers();
+        }
+        return builder.build();
+    }
+
+    /**
+     * spring.data.redis.lettuce.pool 설정으로 연결 풀 구성
+     *
+     * @param pool 풀 설정
+     * @return commons-pool2 풀 설정
+     */
+    private GenericObjectPoolConfig<?> poolConfig(RedisProperties.Pool pool) {
+        GenericObjectPoolConfig<?> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(pool.getMaxActive());
+        config.setMaxIdle(pool.getMaxIdle());
+        config.setMinIdle(pool.getMinIdle());
+        if (pool.getMaxWait() != null) {
+            config.setMaxWait(pool.getMaxWait());
+        }
+        if (pool.getTimeBetweenEvictionRuns() != null) {
+            config.setTimeBetweenEvictionRuns(pool.getTimeBetweenEvictionRuns());
+        }
+        return config;
     }
 
     /**
@@ -47,6 +225,10 @@ public class RedisConfig {
         // Redis에 저장할 Value를 String 형태로 직렬화
         template.setValueSerializer(new StringRedisSerializer());
 
+        // 세션 해시(RT:{userId})의 field, value 도 String 형태로 직렬화
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new StringRedisSerializer());
+
         // Redis 연결 팩토리 설정
         template.setConnectionFactory(redisConnectionFactory());
 
@@ -71,6 +253,27 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * 요청 스레드를 막지 않고 Redis 명령을 보내기 위한 리액티브 template (key, value 모두 String)
+     * 블랙리스트 확인처럼 다른 작업과 겹쳐 실행할 수 있는 조회에 사용
+     *
+     * @return 설정된 template 리턴
+     */
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate() {
+        return new ReactiveStringRedisTemplate(redisConnectionFactory());
+    }
 
-
+    /**
+     * Redis pub/sub 메시지를 받아 등록된 리스너에 전달하는 컨테이너
+     * 연결이 끊기면 컨테이너가 다시 구독을 시도한다.
+     *
+     * @return 설정된 container 리턴
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
 }
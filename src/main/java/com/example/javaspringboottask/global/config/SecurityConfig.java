@@ -1,5 +1,7 @@
 package com.example.javaspringboottask.global.config;
 
+import com.example.javaspringboottask.global.auth.BCryptCostCalibrator;
+import com.example.javaspringboottask.global.auth.BoundedPasswordEncoder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,12 +23,15 @@ public class SecurityConfig {
 
     /**
      * 비밀번호 암호화를 위한 BCryptPasswordEncoder를 빈으로 등록한다.
+     * cost 는 시작 시 현재 하드웨어에 맞게 보정한 값을 사용한다.
+     * 요청 처리에서는 이 인코더를 직접 쓰지 않고 BoundedPasswordEncoder 를 거친다.
      *
+     * @param bCryptCostCalibrator 보정한 BCrypt cost
      * @return BCryptPasswordEncoder 객체
      */
     @Bean
-    BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    BCryptPasswordEncoder bCryptPasswordEncoder(BCryptCostCalibrator bCryptCostCalibrator) {
+        return new BCryptPasswordEncoder(bCryptCostCalibrator.getCost());
     }
 
     /**
@@ -44,15 +49,16 @@ public class SecurityConfig {
 
     /**
      * 사용자 인증을 담당하는 AuthenticationProvider를 빈으로 등록. DaoAuthenticationProvider를 사용하여 데이터베이스 기반 인증을
-     * 수행한다.
+     * 수행한다. 비밀번호 검증은 요청 스레드가 아닌 비밀번호 해싱 전용 스레드에서 실행한다.
      *
+     * @param boundedPasswordEncoder 비밀번호 해싱 전용 스레드에서 BCrypt 를 실행하는 인코더
      * @return AuthenticationProvider 객체
      */
     @Bean
-    AuthenticationProvider authenticationProvider() {
+    AuthenticationProvider authenticationProvider(BoundedPasswordEncoder boundedPasswordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService); // 사용자 정보 서비스 설정
-        provider.setPasswordEncoder(bCryptPasswordEncoder()); // 비밀번호 암호화 설정
+        provider.setPasswordEncoder(boundedPasswordEncoder); // 비밀번호 암호화 설정
         return provider;
     }
 }
@@ -82,7 +82,7 @@ public class WebConfig {
                         .requestMatchers(HttpMethod.POST, "/logout").permitAll()
                         .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll() // 정적 리소스 허용
                         .dispatcherTypeMatchers(DispatcherType.FORWARD, DispatcherType.INCLUDE,
-                                DispatcherType.ERROR).permitAll() // 특정 요청 유형 허용
+                                DispatcherType.ERROR, DispatcherType.ASYNC).permitAll() // 특정 요청 유형 허용 (ASYNC: 최초 요청에서 인가된 스트리밍 응답 완료)
                         .requestMatchers(securityProperties.getAdminAuthList().toArray(new String[0]))
                         .hasRole(Role.ADMIN.getName().toUpperCase()) // 관리자 권한이 필요한 요청 경로 설정
                         .requestMatchers(securityProperties.getUserAuthList().toArray(new String[0]))
@@ -0,0 +1,18 @@
+package com.example.javaspringboottask.global.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 식별자를 애플리케이션에서 만든 시간순 64비트 id 로 채운다 ({@link TimeSortedIdGenerator}).
+ * IDENTITY 와 달리 INSERT 전에 id 가 정해지므로 hibernate.jdbc.batch_size 로 INSERT 를 묶을 수 있다.
+ */
+@IdGeneratorType(TimeSortedIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimeSortedId {
+}
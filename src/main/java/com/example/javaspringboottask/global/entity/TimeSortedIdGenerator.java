@@ -0,0 +1,62 @@
+package com.example.javaspringboottask.global.entity;
+
+import com.example.javaspringboottask.global.util.TimeSortedIds;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Member;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.EnumSet;
+
+/**
+ * {@link TimeSortedId} 식별자 생성기. Hibernate 가 엔티티마다 만들며, 노드 id 는 설정 time_sorted_id.node_id
+ * (spring.jpa.properties) 에서 읽는다. 설정이 없으면 호스트 이름과 프로세스 id 로 정하지만 노드끼리 겹칠 수 있으므로 운영에서는 설정해야 한다.
+ */
+@Slf4j
+public class TimeSortedIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String NODE_ID_SETTING = "time_sorted_id.node_id";
+
+    private final TimeSortedIds ids;
+
+    public TimeSortedIdGenerator(TimeSortedId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object configured = context.getServiceRegistry().getService(ConfigurationService.class)
+                .getSettings().get(NODE_ID_SETTING);
+        this.ids = new TimeSortedIds(nodeId(configured));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return ids.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private static long nodeId(Object configured) {
+        if (configured != null && !configured.toString().isBlank()) {
+            return Long.parseLong(configured.toString().trim());
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        String instance = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        long nodeId = (instance.hashCode() & 0x7fffffff) % (TimeSortedIds.MAX_NODE_ID + 1);
+        log.warn("{} 설정이 없어 노드 id 를 {} 로 정함 ({}), 여러 노드에서 실행하면 노드마다 다른 값을 설정해야 함",
+                NODE_ID_SETTING, nodeId, instance);
+        return nodeId;
+    }
+}
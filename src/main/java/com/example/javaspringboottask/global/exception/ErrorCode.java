@@ -15,16 +15,21 @@ public enum ErrorCode {
     VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "유효성 검사 실패"),
     CONSTRAINT_VIOLATION(HttpStatus.CONFLICT, "제약 조건 위반"),
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "내부 서버 오류가 발생하였습니다."),
+    REDIS_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "일시적으로 인증 저장소를 사용할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+    TOKEN_STORE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "토큰 저장소가 가득 찼습니다. 잠시 후 다시 시도해 주세요."),
+    PASSWORD_HASHING_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."),
 
     /**
      * not found
      */
     NOT_FOUND_USER(HttpStatus.NOT_FOUND, "User를 찾을 수 없습니다"),
+    NOT_FOUND_SESSION(HttpStatus.NOT_FOUND, "세션을 찾을 수 없습니다"),
 
     /**
      * user
      */
     DUPLICATE_USERNAME(HttpStatus.BAD_REQUEST, "중복된 username 입니다"),
+    INVALID_CREDENTIALS(HttpStatus.BAD_REQUEST, "username 또는 비밀번호가 올바르지 않습니다."),
     /**
      * unAuthorized
      */
@@ -35,7 +40,8 @@ public enum ErrorCode {
      * Jwt error
      */
     UNAUTHORIZED_TOKEN(HttpStatus.UNAUTHORIZED, "토큰이 비어있거나 만료되었거나 지원하지않습니다."),
-    BLACKLIST_TOKEN(HttpStatus.UNAUTHORIZED, "블랙리스트된 토큰입니다.");
+    BLACKLIST_TOKEN(HttpStatus.UNAUTHORIZED, "블랙리스트된 토큰입니다."),
+    REVOKED_TOKEN(HttpStatus.UNAUTHORIZED, "폐기된 토큰입니다. 다시 로그인해 주세요.");
 
     private final HttpStatus httpStatus;
     private final String message;
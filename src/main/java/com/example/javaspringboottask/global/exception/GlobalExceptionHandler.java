@@ -1,6 +1,7 @@
 package com.example.javaspringboottask.global.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -10,16 +11,24 @@ import org.springframework.web.server.ResponseStatusException;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
 
 
     // CustomResponseStatusException에 대한 처리
+    // 서버 과부하(429, 5xx)는 클라이언트가 잠시 후 다시 시도하도록 실제 상태 코드와 Retry-After 로 응답
     @ExceptionHandler(CustomResponseStatusException.class)
     public ResponseEntity<ErrorResponse> handleCustomResponseStatusException(CustomResponseStatusException ex) {
+        HttpStatus status = ex.getErrorCode().getHttpStatus();
         ErrorResponse errorResponse = new ErrorResponse(
-                ex.getErrorCode().getHttpStatus().value(),
+                status.value(),
                 ex.getErrorCode().name(),
                 ex.getErrorCode().getMessage()
         );
+        if (status == HttpStatus.TOO_MANY_REQUESTS || status.is5xxServerError()) {
+            return ResponseEntity.status(status)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(errorResponse);
+        }
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
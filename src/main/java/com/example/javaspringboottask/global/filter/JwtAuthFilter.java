@@ -1,23 +1,28 @@
 package com.example.javaspringboottask.global.filter;
 
+import com.example.javaspringboottask.global.auth.UserDetailsImpl;
+import com.example.javaspringboottask.global.auth.UserDetailsServiceImpl;
 import com.example.javaspringboottask.global.config.SecurityProperties;
 import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
 import com.example.javaspringboottask.global.exception.ErrorCode;
 import com.example.javaspringboottask.global.util.AuthenticationScheme;
 import com.example.javaspringboottask.global.util.JwtProvider;
+import com.example.javaspringboottask.global.util.VerifiedToken;
 import com.example.javaspringboottask.refresh.service.RefreshTokenService;
+import com.example.javaspringboottask.refresh.service.RevocationEpochService;
+import com.example.javaspringboottask.user.entity.type.Role;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.AntPathMatcher;
@@ -27,17 +32,27 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider; // JWT 토큰 생성 및 검증 유틸리티
-    private final UserDetailsService userDetailsService; // 사용자 정보를 로드하는 서비스
+    private final UserDetailsServiceImpl userDetailsService; // 사용자 정보를 로드하는 서비스 (인증 주체 캐시 사용)
     private final RefreshTokenService refreshTokenService; // 리프레시 토큰, Redis 관련 서비스
+    private final RevocationEpochService revocationEpochService; // 사용자별 토큰 폐기 시각
     private final SecurityProperties securityProperties; // 화이트리스트 및 HTTP Method 관련 설정
     private final AntPathMatcher pathMatcher = new AntPathMatcher(); // 경로 패턴 매칭 유틸리티
 
+    /**
+     * true 면 토큰의 uid, role 클레임으로 인증 주체를 만들고 DB 를 조회하지 않는다.
+     * 권한 변경은 기존 액세스 토큰이 만료된 뒤에 반영된다.
+     */
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     /**
      * 요청이 필터 체인을 통과하기 전에 실행되는 메서드. 화이트리스트 및 HTTP Method 패턴을 확인한 후, 인증 과정을 수행.
      *
@@ -102,19 +117,29 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             // 요청 헤더에서 토큰 추출
             String token = this.getTokenFromRequest(request);
 
-            // 토큰이 유효하지 않으면 인증 처리하지 않음
-            if (token == null || !jwtProvider.validToken(token)) {
+            // 서명 검증과 클레임 파싱은 요청당 한 번만 수행
+            VerifiedToken verifiedToken = token == null ? null : jwtProvider.verify(token);
+
+            // 토큰이 유효하지 않거나 리프레시 토큰이면 인증 처리하지 않음
+            if (verifiedToken == null || verifiedToken.isRefreshToken()) {
                 throw new BadCredentialsException("토큰이 유효하지 않음");
             }
 
-            // 블랙리스트 토큰 검증 (예외 발생 시 catch 후 응답 처리)
-            if (refreshTokenService.isTokenBlacklisted(token)) {
-                throw new CustomResponseStatusException(ErrorCode.BLACKLIST_TOKEN);
+            // 사용자 전체 토큰 폐기 여부 확인 (로컬 복제본만 사용, Redis 호출 없음)
+            if (revocationEpochService.isRevoked(verifiedToken)) {
+                throw new CustomResponseStatusException(ErrorCode.REVOKED_TOKEN);
             }
 
+            // 블랙리스트 확인을 비동기로 시작하고, Redis 응답을 기다리는 동안 사용자 정보를 조회
+            CompletableFuture<Boolean> blacklisted = refreshTokenService.isTokenBlacklistedAsync(verifiedToken);
+
             // 유효한 토큰인 경우 사용자 정보를 가져와 인증 객체 생성
-            String username = jwtProvider.getUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = this.loadUserDetails(verifiedToken);
+
+            // 블랙리스트 토큰 검증 (예외 발생 시 catch 후 응답 처리)
+            if (this.awaitBlacklisted(blacklisted)) {
+                throw new CustomResponseStatusException(ErrorCode.BLACKLIST_TOKEN);
+            }
 
             // SecurityContext에 인증 객체 저장
             this.setAuthentication(request, userDetails);
@@ -123,6 +148,44 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * 비동기 블랙리스트 확인 결과를 기다림. Redis 명령 시간 제한이 지나면 future 가 예외로 끝나므로 무한정 기다리지 않는다.
+     *
+     * @param blacklisted 블랙리스트 확인 future
+     * @return 블랙리스트 토큰이면 true
+     */
+    private boolean awaitBlacklisted(CompletableFuture<Boolean> blacklisted) {
+        try {
+            return blacklisted.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 인증 주체를 생성. stateless 모드이고 토큰에 uid, role 클레임이 있으면 클레임만으로 만들고,
+     * 그렇지 않으면(uid 가 없는 이전 토큰 포함) 인증 주체 캐시에서, 없으면 DB 에서 사용자 정보를 조회한다.
+     *
+     * @param verifiedToken 서명 검증이 끝난 액세스 토큰
+     * @return 인증 주체
+     */
+    private UserDetails loadUserDetails(VerifiedToken verifiedToken) {
+        if (statelessPrincipal && verifiedToken.getUserId() != null && verifiedToken.getRole() != null) {
+            try {
+                return UserDetailsImpl.fromClaims(
+                        verifiedToken.getUserId(),
+                        verifiedToken.getSubject(),
+                        Role.valueOf(verifiedToken.getRole()));
+            } catch (IllegalArgumentException e) {
+                throw new BadCredentialsException("토큰의 권한 정보가 올바르지 않음");
+            }
+        }
+        return userDetailsService.loadPrincipal(verifiedToken.getSubject());
+    }
+
     /**
      * HTTP 요청 헤더에서 Authorization 토큰 값을 추출.
      *
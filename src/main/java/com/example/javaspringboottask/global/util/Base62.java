@@ -0,0 +1,68 @@
+package com.example.javaspringboottask.global.util;
+
+/**
+ * 64비트 값을 부호 없는 정수로 보고 base62 문자열로 변환. 최대 11자.
+ * 액세스 토큰의 jti 와 블랙리스트 Redis 키에 사용한다.
+ */
+public final class Base62 {
+
+    private static final char[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int BASE = ALPHABET.length;
+    private static final int MAX_LENGTH = 11;
+
+    private Base62() {
+    }
+
+    /**
+     * @param value 변환할 값 (부호 없는 64비트로 취급)
+     * @return base62 문자열
+     */
+    public static String encode(long value) {
+        char[] buffer = new char[MAX_LENGTH];
+        int position = MAX_LENGTH;
+        do {
+            buffer[--position] = ALPHABET[(int) Long.remainderUnsigned(value, BASE)];
+            value = Long.divideUnsigned(value, BASE);
+        } while (value != 0);
+        return new String(buffer, position, MAX_LENGTH - position);
+    }
+
+    /**
+     * @param text base62 문자열
+     * @return 부호 없는 64비트 값
+     * @throws IllegalArgumentException base62 문자열이 아니거나 64비트 범위를 넘는 경우
+     */
+    public static long decode(String text) {
+        if (text == null || text.isEmpty() || text.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("base62 문자열이 아닙니다: " + text);
+        }
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int digit = digit(text.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("base62 문자열이 아닙니다: " + text);
+            }
+            // value * 62 + digit 가 부호 없는 64비트 범위를 넘는지 확인
+            long limit = Long.divideUnsigned(-1L - digit, BASE);
+            if (Long.compareUnsigned(value, limit) > 0) {
+                throw new IllegalArgumentException("64비트 범위를 넘습니다: " + text);
+            }
+            value = value * BASE + digit;
+        }
+        return value;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 36;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.javaspringboottask.global.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 문자열과 long 값을 담는 Bloom 필터.
+ * 없다고 답하면 확실히 없고, 있다고 답하면 설정한 오탐률 안에서 있을 수 있다는 의미다.
+ * 비트 배열은 AtomicLongArray 로 관리하므로 여러 스레드가 동시에 추가/조회해도 추가된 값을 놓치지 않는다.
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * 예상 개수와 목표 오탐률로 비트 수와 해시 함수 개수를 계산해 생성
+     *
+     * @param expectedInsertions 예상 추가 개수
+     * @param fpp                목표 오탐률 (0 과 1 사이)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("expectedInsertions 는 양수, fpp 는 0 과 1 사이여야 합니다.");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (LN2 * LN2));
+        int words = (int) Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+    }
+
+    /**
+     * 값을 추가
+     *
+     * @param value 추가할 값
+     */
+    public void put(String value) {
+        this.put(hash1(value), hash2(value));
+    }
+
+    /**
+     * long 값을 추가. 문자열로 바꾸지 않고 그대로 해시한다.
+     *
+     * @param value 추가할 값
+     */
+    public void put(long value) {
+        this.put(fmix64(value), fmix64(value ^ 0x9e3779b97f4a7c15L) | 1L);
+    }
+
+    private void put(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        insertions.increment();
+    }
+
+    /**
+     * 값이 추가되었을 가능성이 있는지 확인
+     *
+     * @param value 확인할 값
+     * @return 추가된 적이 없으면 false, 추가되었거나 오탐이면 true
+     */
+    public boolean mightContain(String value) {
+        return this.mightContain(hash1(value), hash2(value));
+    }
+
+    /**
+     * long 값이 추가되었을 가능성이 있는지 확인
+     *
+     * @param value 확인할 값
+     * @return 추가된 적이 없으면 false, 추가되었거나 오탐이면 true
+     */
+    public boolean mightContain(long value) {
+        return this.mightContain(fmix64(value), fmix64(value ^ 0x9e3779b97f4a7c15L) | 1L);
+    }
+
+    private boolean mightContain(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 현재까지 추가된 개수 기준의 예상 오탐률. (1 - e^(-kn/m))^k
+     *
+     * @return 예상 오탐률
+     */
+    public double expectedFpp() {
+        double exponent = -(double) hashCount * insertions.sum() / bitSize;
+        return Math.pow(1 - Math.exp(exponent), hashCount);
+    }
+
+    /**
+     * 비트 배열 크기(바이트)
+     *
+     * @return 메모리 사용량
+     */
+    public long memoryBytes() {
+        return bitSize / 8;
+    }
+
+    /**
+     * 추가된 개수 (같은 값을 여러 번 추가하면 중복 집계)
+     *
+     * @return 추가 횟수
+     */
+    public long insertions() {
+        return insertions.sum();
+    }
+
+    // FNV-1a 64bit 후 murmur3 fmix64 로 비트를 섞음
+    private static long hash1(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return fmix64(hash);
+    }
+
+    // 서로 다른 시드와 곱셈 상수로 두 번째 해시를 만들어 double hashing 에 사용
+    private static long hash2(String value) {
+        long hash = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash + value.charAt(i)) * 0xc6a4a7935bd1e995L;
+        }
+        return fmix64(hash) | 1L;
+    }
+
+    private static long fmix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.javaspringboottask.global.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * JwtProvider 가 발급하는 HS256 토큰 전용 검증기.
+ * jjwt 는 헤더와 페이로드 전체를 Map/Claims/Date 객체로 만들지만, 이 검증기는 스레드별 버퍼에 base64url 을 직접 디코딩하고
+ * 스트리밍 JSON 파서로 sub, uid, role, typ, fid, exp, iat, jti 만 읽는다. 서명은 키 링의 스레드별 Mac 으로 계산한다.
+ * 예외 타입은 jjwt 경로와 같게 맞춰 JwtProvider 의 예외 처리를 그대로 사용한다.
+ */
+public class Hs256TokenVerifier {
+
+    private static final String ALGORITHM = "HS256";
+    private static final int MAC_LENGTH = 32;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE_TABLE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final JwtKeyRing jwtKeyRing;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    public Hs256TokenVerifier(JwtKeyRing jwtKeyRing) {
+        this.jwtKeyRing = jwtKeyRing;
+    }
+
+    /**
+     * 토큰의 서명과 만료 시간을 검증하고 필요한 클레임만 꺼낸다.
+     *
+     * @param token JWT 토큰
+     * @return VerifiedToken 객체
+     * @throws MalformedJwtException    토큰이 비어있거나 형식이 잘못된 경우
+     * @throws UnsupportedJwtException  HS256 이 아니거나 지원하지 않는 헤더/kid 인 경우
+     * @throws SignatureException       서명이 일치하지 않는 경우
+     * @throws ExpiredJwtException      만료된 경우
+     * @throws PrematureJwtException    nbf 이전인 경우
+     */
+    public VerifiedToken verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new MalformedJwtException("토큰이 비어 있습니다.");
+        }
+
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (headerEnd <= 0 || payloadEnd < 0 || payloadEnd == headerEnd + 1
+                || token.indexOf('.', payloadEnd + 1) >= 0 || payloadEnd == token.length() - 1) {
+            throw new MalformedJwtException("JWS 형식(header.payload.signature)이 아닙니다.");
+        }
+
+        Buffers buf = buffers.get();
+        byte[] ascii = buf.ascii(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                throw new MalformedJwtException("토큰에 허용되지 않는 문자가 있습니다.");
+            }
+            ascii[i] = (byte) c;
+        }
+
+        // 1. 헤더: alg, kid 확인
+        int headerLength = decode(ascii, 0, headerEnd, buf);
+        String kid = readHeader(buf.decoded, headerLength);
+
+        // 2. 서명: kid 에 해당하는 키의 스레드별 Mac 으로 header.payload 를 계산하고 상수 시간 비교
+        Mac mac = jwtKeyRing.getVerificationKey(kid).getSignatureAlgorithm().currentThreadMac();
+        mac.update(ascii, 0, payloadEnd);
+        try {
+            mac.doFinal(buf.mac, 0);
+        } catch (ShortBufferException e) {
+            mac.reset();
+            throw new SignatureException("서명 값을 계산할 수 없습니다.", e);
+        }
+        int signatureLength = decode(ascii, payloadEnd + 1, token.length(), buf);
+        if (signatureLength != MAC_LENGTH || !constantTimeEquals(buf.mac, buf.decoded, MAC_LENGTH)) {
+            throw new SignatureException("JWT 서명이 일치하지 않습니다.");
+        }
+
+        // 3. 페이로드: 필요한 클레임만 스트리밍으로 읽음
+        int payloadLength = decode(ascii, headerEnd + 1, payloadEnd, buf);
+        return readPayload(token, buf.decoded, payloadLength);
+    }
+
+    private String readHeader(byte[] json, int length) {
+        String alg = null;
+        String kid = null;
+        try (JsonParser parser = jsonFactory.createParser(json, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedJwtException("JWT 헤더가 JSON 객체가 아닙니다.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "alg" -> alg = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "kid" -> kid = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    // 발급하지 않는 확장 헤더는 jjwt 와 같이 거부
+                    case "crit", "zip", "b64", "enc" -> throw new UnsupportedJwtException("지원하지 않는 헤더입니다: " + field);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new MalformedJwtException("JWT 헤더를 읽을 수 없습니다.", e);
+        }
+        if (!ALGORITHM.equals(alg)) {
+            throw new UnsupportedJwtException("지원하지 않는 서명 알고리즘입니다: " + alg);
+        }
+        return kid;
+    }
+
+    private VerifiedToken readPayload(String token, byte[] json, int length) {
+        String subject = null;
+        Long userId = null;
+        String role = null;
+        String jti = null;
+        String type = null;
+        String familyId = null;
+        Long expiration = null;
+        Long issuedAt = null;
+        Long issuedAtMillis = null;
+        Long notBefore = null;
+
+        try (JsonParser parser = jsonFactory.createParser(json, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new UnsupportedJwtException("JWT 페이로드가 클레임(JSON 객체)이 아닙니다.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "sub" -> subject = readString(parser, value);
+                    case "role" -> role = readString(parser, value);
+                    case "jti" -> jti = readString(parser, value);
+                    case "typ" -> type = readString(parser, value);
+                    case "fid" -> familyId = readString(parser, value);
+                    case "uid" -> userId = readLong(parser, value);
+                    case "exp" -> expiration = readLong(parser, value);
+                    case "iat" -> issuedAt = readLong(parser, value);
+                    case JwtProvider.ISSUED_AT_MILLIS_CLAIM -> issuedAtMillis = readLong(parser, value);
+                    case "nbf" -> notBefore = readLong(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new MalformedJwtException("JWT 페이로드를 읽을 수 없습니다.", e);
+        }
+
+        if (expiration == null) {
+            throw new MalformedJwtException("만료 시간이 없는 토큰입니다.");
+        }
+
+        // jjwt 와 같은 기준: 만료 시각이 현재 시각보다 이전이면 만료, nbf 가 현재 시각보다 이후면 아직 유효하지 않음
+        long now = System.currentTimeMillis();
+        long expirationMillis = expiration * 1000L;
+        if (now > expirationMillis) {
+            throw new ExpiredJwtException(null, null, "JWT 가 만료되었습니다. exp: " + expiration);
+        }
+        if (notBefore != null && now < notBefore * 1000L) {
+            throw new PrematureJwtException(null, null, "JWT 가 아직 유효하지 않습니다. nbf: " + notBefore);
+        }
+
+        return new VerifiedToken(
+                token,
+                subject,
+                userId,
+                role,
+                expirationMillis,
+                issuedAtMillis != null ? issuedAtMillis : issuedAt == null ? 0L : issuedAt * 1000L,
+                jti,
+                type,
+                familyId
+        );
+    }
+
+    private static String readString(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            throw new MalformedJwtException("문자열 클레임의 형식이 올바르지 않습니다: " + parser.currentName());
+        }
+        return parser.getText();
+    }
+
+    private static Long readLong(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+            parser.skipChildren();
+            throw new MalformedJwtException("숫자 클레임의 형식이 올바르지 않습니다: " + parser.currentName());
+        }
+        return parser.getValueAsLong();
+    }
+
+    /**
+     * ascii[from, to) 구간의 base64url 문자열을 스레드별 decoded 버퍼에 디코딩
+     *
+     * @return 디코딩된 바이트 수
+     */
+    private static int decode(byte[] ascii, int from, int to, Buffers buf) {
+        // 패딩은 발급하지 않지만 jjwt 와 같이 허용
+        while (to > from && ascii[to - 1] == '=') {
+            to--;
+        }
+        int length = to - from;
+        if (length % 4 == 1) {
+            throw new MalformedJwtException("base64url 길이가 올바르지 않습니다.");
+        }
+
+        byte[] out = buf.decoded(length * 3 / 4);
+        int written = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            byte c = ascii[i];
+            int value = DECODE_TABLE[c];
+            if (value < 0) {
+                throw new MalformedJwtException("base64url 문자가 아닙니다.");
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[written++] = (byte) (bits >> bitCount);
+            }
+        }
+        return written;
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b, int length) {
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            result |= a[i] ^ b[i];
+        }
+        return result == 0;
+    }
+
+    /**
+     * 스레드별로 재사용하는 버퍼. 토큰이 더 길면 그때만 늘린다.
+     */
+    private static class Buffers {
+        private byte[] ascii = new byte[INITIAL_BUFFER_SIZE];
+        private byte[] decoded = new byte[INITIAL_BUFFER_SIZE];
+        private final byte[] mac = new byte[MAC_LENGTH];
+
+        private byte[] ascii(int length) {
+            if (ascii.length < length) {
+                ascii = new byte[length];
+            }
+            return ascii;
+        }
+
+        private byte[] decoded(int length) {
+            if (decoded.length < length) {
+                decoded = new byte[length];
+            }
+            return decoded;
+        }
+    }
+}
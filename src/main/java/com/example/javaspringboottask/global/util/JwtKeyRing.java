@@ -0,0 +1,237 @@
+package com.example.javaspringboottask.global.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.UnsupportedJwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * kid 로 구분되는 HMAC 키 묶음.
+ * 서명에는 signingKid 로 지정된 키 하나만 사용하고, 나머지 키는 만료 전까지 검증에만 사용한다.
+ * 키 목록은 불변 스냅샷으로 교체되므로 요청 경로에서는 락 없이 O(1) 로 kid 를 조회한다.
+ * jwt.key-ring.location 파일이 지정되면 주기적으로 변경을 확인하여 재시작 없이 키를 교체한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyRing {
+
+    /**
+     * 키 링 파일이 없을 때 jwt.secret 으로 만드는 기본 키의 kid.
+     * kid 헤더가 없는 기존 토큰도 이 키로 검증한다.
+     */
+    public static final String DEFAULT_KID = "default";
+
+    /**
+     * 키 링 파일이 없을 때 사용하는 JWT 시크릿 키.
+     */
+    @Value("${jwt.secret}")
+    private String secret;
+
+    /**
+     * 리프레시 토큰 만료시간(밀리초). 서명 키에서 내려온 키의 기본 검증 기한으로 사용
+     */
+    @Value("${jwt.refresh-expiry-millis}")
+    private long refreshExpiryMillis;
+
+    /**
+     * 키 링 JSON 파일 경로 (선택)
+     */
+    @Value("${jwt.key-ring.location:}")
+    private String location;
+
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+    private volatile long lastModified = -1L;
+
+    @PostConstruct
+    public void init() {
+        if (StringUtils.hasText(location) && Files.exists(Paths.get(location))) {
+            reload();
+            return;
+        }
+        JwtSigningKey defaultKey = new JwtSigningKey(DEFAULT_KID, secret, JwtSigningKey.NO_EXPIRY);
+        this.snapshot = new Snapshot(Map.of(DEFAULT_KID, defaultKey), defaultKey);
+    }
+
+    /**
+     * 현재 서명에 사용하는 키를 반환
+     *
+     * @return 서명 키
+     */
+    public JwtSigningKey getSigningKey() {
+        return snapshot.signingKey;
+    }
+
+    /**
+     * JWT 헤더의 kid 에 해당하는 검증 키를 반환
+     *
+     * @param kid JWT 헤더의 kid (없으면 기본 키)
+     * @return 검증 키
+     * @throws UnsupportedJwtException 등록되지 않았거나 검증 기한이 지난 kid 인 경우
+     */
+    public JwtSigningKey getVerificationKey(String kid) {
+        JwtSigningKey key = snapshot.keys.get(kid == null ? DEFAULT_KID : kid);
+        if (key == null || !key.isUsableAt(System.currentTimeMillis())) {
+            throw new UnsupportedJwtException("등록되지 않았거나 만료된 kid 입니다: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * 현재 등록된 키 목록을 반환
+     *
+     * @return 키 목록
+     */
+    public Collection<JwtSigningKey> getKeys() {
+        return Collections.unmodifiableCollection(snapshot.keys.values());
+    }
+
+    /**
+     * 키 링 파일이 바뀌었으면 다시 읽는다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-ring.reload-interval-millis:30000}")
+    public void reloadIfModified() {
+        if (!StringUtils.hasText(location)) {
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(Paths.get(location)).toMillis();
+            if (modified != lastModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("JWT 키 링 파일 재로딩 실패, 기존 키를 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 키 링 파일을 읽어 스냅샷을 교체한다.
+     * 서명 키에서 내려온 키에 검증 기한이 없으면 리프레시 토큰 만료시간만큼 검증용으로 유지한다.
+     *
+     * @throws IllegalArgumentException 파일이 없거나 형식이 잘못된 경우
+     */
+    public synchronized void reload() {
+        if (!StringUtils.hasText(location)) {
+            throw new IllegalArgumentException("jwt.key-ring.location 이 설정되지 않았습니다.");
+        }
+
+        Path path = Paths.get(location);
+        KeyRingFile file;
+        long modified;
+        try {
+            modified = Files.getLastModifiedTime(path).toMillis();
+            file = objectMapper.readValue(path.toFile(), KeyRingFile.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JWT 키 링 파일을 읽을 수 없습니다: " + location, e);
+        }
+
+        Snapshot previous = this.snapshot;
+        long now = System.currentTimeMillis();
+        Map<String, JwtSigningKey> keys = new HashMap<>();
+
+        for (KeyEntry entry : file.getKeys()) {
+            if (!StringUtils.hasText(entry.getKid()) || !StringUtils.hasText(entry.getSecret())) {
+                throw new IllegalArgumentException("kid 와 secret 은 필수입니다.");
+            }
+            long notAfter = entry.getNotAfter() == null
+                    ? JwtSigningKey.NO_EXPIRY
+                    : Instant.parse(entry.getNotAfter()).toEpochMilli();
+
+            JwtSigningKey existing = previous == null ? null : previous.keys.get(entry.getKid());
+            boolean sameSecret = existing != null && existing.hasSameSecret(entry.getSecret());
+            boolean signing = entry.getKid().equals(file.getSigningKid());
+
+            if (sameSecret && !signing && notAfter == JwtSigningKey.NO_EXPIRY) {
+                if (existing.getNotAfter() != JwtSigningKey.NO_EXPIRY) {
+                    // 이전 로딩에서 정한 검증 기한 유지
+                    notAfter = existing.getNotAfter();
+                } else if (existing == previous.signingKey) {
+                    // 직전 서명 키가 검증 전용으로 내려오면, 이미 발급된 토큰이 만료될 때까지만 유지
+                    notAfter = now + refreshExpiryMillis;
+                }
+            }
+
+            // 같은 키 재료면 기존 객체(검증 기한만 바뀌면 기존 서명 알고리즘)를 재사용하여 스레드별 Mac 을 유지
+            JwtSigningKey key;
+            if (sameSecret) {
+                key = existing.getNotAfter() == notAfter ? existing : existing.retireAt(notAfter);
+            } else {
+                key = new JwtSigningKey(entry.getKid(), entry.getSecret(), notAfter);
+            }
+            keys.put(entry.getKid(), key);
+        }
+
+        JwtSigningKey signingKey = keys.get(file.getSigningKid());
+        if (signingKey == null) {
+            throw new IllegalArgumentException("signingKid 에 해당하는 키가 없습니다: " + file.getSigningKid());
+        }
+        if (!signingKey.isUsableAt(now)) {
+            throw new IllegalArgumentException("서명 키의 검증 기한이 이미 지났습니다: " + file.getSigningKid());
+        }
+
+        this.snapshot = new Snapshot(Map.copyOf(keys), signingKey);
+        this.lastModified = modified;
+        log.info("JWT 키 링 로딩 완료 signingKid : {}, keys : {}", signingKey.getKid(), keys.keySet());
+    }
+
+    /**
+     * 키 목록과 서명 키를 함께 교체하기 위한 불변 스냅샷
+     */
+    private static class Snapshot {
+        private final Map<String, JwtSigningKey> keys;
+        private final JwtSigningKey signingKey;
+
+        private Snapshot(Map<String, JwtSigningKey> keys, JwtSigningKey signingKey) {
+            this.keys = keys;
+            this.signingKey = signingKey;
+        }
+    }
+
+    /**
+     * 키 링 파일 형식
+     * <pre>
+     * {
+     *   "signingKid": "2024-06",
+     *   "keys": [
+     *     { "kid": "2024-06", "secret": "..." },
+     *     { "kid": "default", "secret": "...", "notAfter": "2024-06-08T00:00:00Z" }
+     *   ]
+     * }
+     * </pre>
+     */
+    @Getter
+    @Setter
+    public static class KeyRingFile {
+        private String signingKid;
+        private List<KeyEntry> keys = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class KeyEntry {
+        private String kid;
+        private String secret;
+        private String notAfter; // ISO-8601, 없으면 기한 없음
+    }
+}
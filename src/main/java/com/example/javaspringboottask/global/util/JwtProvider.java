@@ -1,22 +1,21 @@
 package com.example.javaspringboottask.global.util;
 
 
-import com.example.javaspringboottask.user.entity.User;
-import com.example.javaspringboottask.user.repository.UserRepository;
+import com.example.javaspringboottask.global.auth.UserDetailsImpl;
+import com.example.javaspringboottask.user.dto.TokenResponse;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import jakarta.persistence.EntityNotFoundException;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
@@ -24,10 +23,21 @@ import java.util.function.Function;
 public class JwtProvider {
 
     /**
-     * JWT 시크릿 키.
+     * 리프레시 토큰의 typ 클레임 값
      */
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+
+    /**
+     * 밀리초 단위 발급 시각 클레임. iat 는 초 단위라 같은 초 안의 폐기 시각(revocation epoch)과 선후를 가릴 수 없다.
+     */
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iatm";
+
+    /**
+     * 토큰/패밀리 id 생성용 난수 바이트 수. base64url 로 16자 고정 길이가 된다.
+     */
+    private static final int TOKEN_ID_BYTES = 12;
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     /**
      * 액세스 토큰 만료시간(밀리초).
@@ -43,93 +53,182 @@ public class JwtProvider {
     @Value("${jwt.refresh-expiry-millis}")
     private long refreshExpiryMillis;
 
-    private final UserRepository userRepository;
+    /**
+     * 토큰 검증 엔진. jjwt(기본) 또는 native(Hs256TokenVerifier)
+     */
+    @Value("${jwt.verifier:jjwt}")
+    private String verifier;
+
+    private final JwtKeyRing jwtKeyRing;
 
     /**
-     * authentication 을 받아와 액세스 토큰을 생성하는 메서드
-     *
-     * @param authentication 유저 이메일을 얻기 위한 인증 객체
-     * @return String 액세스 토큰값을 반환
-     * @throws EntityNotFoundException 해당 이메일을 가진 유저가 존재하지 않으면 발생
+     * 시작 시 한 번만 생성하는 검증용 파서. 불변 객체로 스레드 간 공유해도 안전하다.
+     * 검증 키는 토큰 헤더의 kid 로 키 링에서 조회하므로 키를 교체해도 파서를 다시 만들 필요가 없다.
      */
-    public String generateAccessToken(Authentication authentication)
-            throws EntityNotFoundException {
+    private JwtParser jwtParser;
+
+    /**
+     * jwt.verifier=native 일 때만 생성하는 경량 HS256 검증기
+     */
+    private Hs256TokenVerifier nativeVerifier;
+
+    @PostConstruct
+    public void init() {
+        if ("native".equalsIgnoreCase(verifier)) {
+            this.nativeVerifier = new Hs256TokenVerifier(jwtKeyRing);
+        }
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return jwtKeyRing.getVerificationKey(header.getKeyId()).getSecretKey();
+                    }
+                })
+                .build();
+    }
 
-        String email = authentication.getName();
+    /**
+     * 현재 서명 키의 kid 헤더와 키로 서명한 토큰 문자열을 생성
+     *
+     * @param builder 클레임이 설정된 JwtBuilder
+     * @return 서명된 토큰 문자열
+     */
+    private String sign(JwtBuilder builder) {
+        JwtSigningKey signingKey = jwtKeyRing.getSigningKey();
+        return builder
+                .header().keyId(signingKey.getKid()).and()
+                .signWith(signingKey.getSecretKey(), signingKey.getSignatureAlgorithm())
+                .compact();
+    }
 
-        User user = isValidUserEmail(email);
+    /**
+     * 이미 인증된 사용자 정보로 액세스 토큰과 리프레시 토큰을 한 번에 생성하는 메서드
+     * 로그인 시 조회한 사용자 정보를 그대로 사용하므로 DB 를 다시 조회하지 않는다.
+     * 로그인마다 새로운 리프레시 토큰 패밀리를 시작한다.
+     *
+     * @param principal 로그인 과정에서 한 번 조회한 사용자 정보
+     * @return 액세스 토큰과 리프레시 토큰
+     */
+    public TokenResponse generateTokens(UserDetailsImpl principal) {
+        return this.generateTokens(principal, newTokenId());
+    }
 
-        // 현재 날짜를 얻어오고 만료 시간을 더하여 액세스 토큰의 만료시간을 설정
+    /**
+     * 기존 리프레시 토큰 패밀리를 이어서 액세스 토큰과 리프레시 토큰을 생성하는 메서드
+     *
+     * @param principal 토큰에 담을 사용자 정보
+     * @param familyId  이어갈 리프레시 토큰 패밀리 id
+     * @return 액세스 토큰과 리프레시 토큰
+     */
+    public TokenResponse generateTokens(UserDetailsImpl principal, String familyId) {
+        // 두 토큰의 발급 시각을 같게 맞춤
         Date currentDate = new Date();
-        Date expireDate = new Date(currentDate.getTime() + this.expiryMillis);
+        String refreshTokenId = newTokenId();
+        return new TokenResponse(
+                this.generateAccessToken(principal, currentDate),
+                this.generateRefreshToken(principal, currentDate, familyId, refreshTokenId),
+                familyId,
+                refreshTokenId
+        );
+    }
 
-        //토큰을 생성할 때 이메일, 생성시간, 만료시간, 유저 권한을 담아서 생성
-        return Jwts.builder()
-                .subject(email)
-                .issuedAt(currentDate)
-                .expiration(expireDate)
-                .claim("role", user.getRole())
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
-                .compact();
+    /**
+     * 사용자 정보를 받아와 액세스 토큰을 생성하는 메서드
+     *
+     * @param principal 토큰에 담을 사용자 정보
+     * @return String 액세스 토큰값을 반환
+     */
+    public String generateAccessToken(UserDetailsImpl principal) {
+        return this.generateAccessToken(principal, new Date());
     }
 
     /**
-     * authentication 을 받아와 리프레시 토큰을 생성하는 메서드
+     * 사용자 정보를 받아와 리프레시 토큰을 생성하는 메서드
      *
-     * @param authentication 유저 이메일을 얻기 위한 인증 객체
+     * @param principal 토큰에 담을 사용자 정보
      * @return String 리프레시 토큰 값을 반환
-     * @throws EntityNotFoundException 해당 이메일을 가진 유저가 존재하지 않으면 발생
      */
-    public String generateRefreshToken(Authentication authentication)
-            throws EntityNotFoundException {
+    public String generateRefreshToken(UserDetailsImpl principal) {
+        return this.generateRefreshToken(principal, new Date(), newTokenId(), newTokenId());
+    }
 
-        String email = authentication.getName(); // Authentication에서 사용자 이메일 가져오기
+    private String generateAccessToken(UserDetailsImpl principal, Date currentDate) {
+        // 현재 날짜에 만료 시간을 더하여 액세스 토큰의 만료시간을 설정
+        Date expireDate = new Date(currentDate.getTime() + this.expiryMillis);
 
-        isValidUserEmail(email);
+        //토큰을 생성할 때 토큰 id, 이메일, 생성시간, 만료시간, 유저 id, 유저 권한을 담아서 생성
+        //토큰 id 는 블랙리스트 키로 사용하는 64비트 난수 (base62, 최대 11자)
+        return this.sign(Jwts.builder()
+                .id(Base62.encode(newAccessTokenId()))
+                .subject(principal.getUsername())
+                .issuedAt(currentDate)
+                .expiration(expireDate)
+                .claim(ISSUED_AT_MILLIS_CLAIM, currentDate.getTime())
+                .claim("uid", principal.getUserId())
+                .claim("role", principal.getRole()));
+    }
 
-        Date currentDate = new Date();
+    private String generateRefreshToken(UserDetailsImpl principal, Date currentDate,
+                                        String familyId, String refreshTokenId) {
         Date expireDate = new Date(currentDate.getTime() + this.refreshExpiryMillis);
 
-        return Jwts.builder()
-                .subject(email)
+        // 재발급 시 DB 를 조회하지 않도록 유저 id, 권한도 함께 담음
+        // jti, fid 는 Redis 의 패밀리 기록과 비교해 재사용 여부를 판단하는 데 사용
+        return this.sign(Jwts.builder()
+                .id(refreshTokenId)
+                .subject(principal.getUsername())
                 .issuedAt(currentDate)
                 .expiration(expireDate)
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
-                .compact();
+                .claim(ISSUED_AT_MILLIS_CLAIM, currentDate.getTime())
+                .claim("uid", principal.getUserId())
+                .claim("role", principal.getRole())
+                .claim("typ", REFRESH_TOKEN_TYPE)
+                .claim("fid", familyId));
     }
 
     /**
-     * authentication 인증 객체에서 받아온 이메일이 유효한지 검증 후 반환
+     * 액세스 토큰 id 로 사용할 0 이 아닌 64비트 난수 생성
      *
-     * @param username authentication 인증 객체에서 받아온 이메일
-     * @return 정상적으로 반환될 시 user 객체 반환
+     * @return 액세스 토큰 id
      */
-    private User isValidUserEmail(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("해당 username에 맞는 값이 존재하지 않습니다."));
+    private static long newAccessTokenId() {
+        long id;
+        do {
+            id = SECURE_RANDOM.nextLong();
+        } while (id == 0);
+        return id;
     }
 
     /**
-     * 주어진 토큰에서 사용자 이메일(Username)을 추출합
+     * 16자 고정 길이의 무작위 토큰 id 생성 (96비트, base64url)
      *
-     * @param token JWT 토큰
-     * @return 추출된 사용자 이메일
+     * @return 토큰 id
      */
-    public String getUsername(String token) {
-        Claims claims = this.getClaims(token);
-        return claims.getSubject();
+    private static String newTokenId() {
+        byte[] bytes = new byte[TOKEN_ID_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
     /**
-     * 주어진 토큰의 유효성을 검증
+     * 주어진 토큰의 서명을 한 번만 검증하고, 이후 처리에 필요한 클레임을 VerifiedToken 으로 반환
+     * 필터, 블랙리스트 확인, 로그아웃 처리는 이 결과를 재사용하여 추가 파싱을 하지 않는다.
      *
      * @param token JWT 토큰
-     * @return 토큰이 유효하면 true, 그렇지 않으면 false
-     * @throws JwtException 토큰이 잘못된 형식일 경우 발생
+     * @return 유효한 토큰이면 VerifiedToken, 형식 오류/만료/미지원 토큰이면 null
      */
-    public boolean validToken(String token) throws JwtException {
+    public VerifiedToken verify(String token) {
         try {
-            return !this.tokenExpired(token); // 토큰 만료 여부 확인
+            VerifiedToken verifiedToken = nativeVerifier != null
+                    ? nativeVerifier.verify(token)
+                    : this.toVerifiedToken(token, this.getClaims(token));
+
+            // 만료 시간이 현재 시간 이전인지 확인
+            if (verifiedToken.getExpiration() < System.currentTimeMillis()) {
+                log.error("JWT token is expired: {}", verifiedToken.getExpiration());
+                return null;
+            }
+            return verifiedToken;
         } catch (MalformedJwtException e) { // 토큰이 잘못된 형식일 때
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) { // 토큰이 만료되었을 때
@@ -137,23 +236,7 @@ public class JwtProvider {
         } catch (UnsupportedJwtException e) { // 지원하지 않는 토큰 형식일 때
             log.error("JWT token is unsupported: {}", e.getMessage());
         }
-        return false; // 유효하지 않은 토큰이라는 의미를 반환
-    }
-
-    /**
-     * 리프레시 토큰의 유효성을 검증
-     *
-     * @param token 리프레시 토큰
-     * @return 토큰이 유효하면 true, 그렇지 않으면 false
-     */
-    public boolean validateRefreshToken(String token) {
-        try {
-            Claims claims = this.getClaims(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (ExpiredJwtException e) {
-            log.error("Invalid Refresh Token: {}", e.getMessage());
-            return false;
-        }
+        return null; // 유효하지 않은 토큰이라는 의미를 반환
     }
 
     /**
@@ -170,61 +253,44 @@ public class JwtProvider {
         }
 
         // 토큰을 파싱하고 서명을 검증, 클레임 데이터 반환
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
     /**
-     * 주어진 토큰이 만료되었는지 확인
+     * 파싱된 클레임에서 필요한 값만 꺼내 VerifiedToken 을 생성
      *
-     * @param token JWT 토큰
-     * @return 토큰이 만료되었으면 true, 그렇지 않으면 false
+     * @param token  원본 JWT 토큰
+     * @param claims 서명 검증이 끝난 클레임
+     * @return VerifiedToken 객체
      */
-    private boolean tokenExpired(String token) {
-        final Date expiration = this.getExpirationDateFromToken(token); //토큰에서 만료 날짜 추출
-        return expiration.before(new Date()); // 만료 시간이 현재 시간 이전인지 확인
-    }
-
-    /**
-     * 주어진 토큰에서 만료 날짜를 가져옴
-     *
-     * @param token JWT 토큰
-     * @return 토큰의 만료 날짜 객체
-     */
-    private Date getExpirationDateFromToken(String token) {
-        //토큰에서 클레임 데이터를 가져와 만료시간을 추출
-        //람다를 사용 claims -> claims.getExpiration() 를 메서드 참조로 표현
-        return this.resolveClaims(token, Claims::getExpiration);
-    }
+    private VerifiedToken toVerifiedToken(String token, Claims claims) {
+        Object uid = claims.get("uid");
+        Object role = claims.get("role");
+        Object type = claims.get("typ");
+        Object familyId = claims.get("fid");
+        Date expiration = claims.getExpiration();
+        Date issuedAt = claims.getIssuedAt();
+        Object issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM);
 
-    /**
-     * 주어진 클레임 처리기를 사용해 토큰의 클레임 데이터를 반환
-     *
-     * @param token          JWT 토큰
-     * @param claimsResolver 클레임 처리 함수, 클레임에서 만료 날짜를 추출하는 역할 부여됨
-     * @param <T>            반환 데이터 타입
-     * @return 처리된 클레임 데이터
-     */
-    private <T> T resolveClaims(String token, Function<Claims, T> claimsResolver) {
-        // 토큰에서 전체 클레임 데이터를 파싱
-        final Claims claims = this.getClaims(token);
-        // 클레임 데이터에서 필요한 값을 추출, getExpirationDateFromToken 에서 Claims::getExpiration 을
-        // 부여받은 것이 claimsResolver 이기 때문에 apply를 하면 claim 에서 만료 날짜만 가져옴
-        return claimsResolver.apply(claims);
-    }
+        // 만료 시간이 없는 토큰은 발급하지 않으므로 유효하지 않은 형식으로 취급
+        if (expiration == null) {
+            throw new MalformedJwtException("만료 시간이 없는 토큰입니다.");
+        }
 
-    /**
-     * 주어진 토큰의 만료 시간을 밀리초 단위로 반환
-     *
-     * @param token JWT 토큰
-     * @return 토큰의 만료 시간 (밀리초 단위)
-     */
-    public long getExpirationFromToken(String token) {
-        // JWT 토큰에서 만료 시간을 추출하여 밀리초 단위로 반환
-        Claims claims = this.getClaims(token);
-        return claims.getExpiration().getTime();
+        return new VerifiedToken(
+                token,
+                claims.getSubject(),
+                uid instanceof Number number ? number.longValue() : null,
+                role == null ? null : role.toString(),
+                expiration.getTime(),
+                // iatm 이 없는 기존 토큰은 초 단위 iat 를 사용 (같은 초의 폐기 시각에는 폐기된 것으로 본다)
+                issuedAtMillis instanceof Number number ? number.longValue()
+                        : issuedAt == null ? 0L : issuedAt.getTime(),
+                claims.getId(),
+                type == null ? null : type.toString(),
+                familyId == null ? null : familyId.toString()
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.example.javaspringboottask.global.util;
+
+import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 키 링에 등록된 HMAC 키 하나.
+ * 키를 등록할 때 SecretKey 와 서명 알고리즘을 미리 만들어 두어 요청마다 생성하지 않는다.
+ */
+@Getter
+public class JwtSigningKey {
+
+    /**
+     * 검증 기한이 없는 키의 notAfter 값
+     */
+    public static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    /**
+     * JWT 헤더의 kid 값
+     */
+    private final String kid;
+
+    /**
+     * HMAC 서명/검증 키
+     */
+    private final SecretKey secretKey;
+
+    /**
+     * 스레드별 Mac 을 재사용하는 서명 알고리즘
+     */
+    private final ThreadLocalHmacAlgorithm signatureAlgorithm;
+
+    /**
+     * 이 시각(epoch 밀리초) 이후로는 검증에도 사용하지 않음
+     */
+    private final long notAfter;
+
+    public JwtSigningKey(String kid, String secret, long notAfter) {
+        this(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), notAfter);
+    }
+
+    private JwtSigningKey(String kid, SecretKey secretKey, long notAfter) {
+        this(kid, secretKey, new ThreadLocalHmacAlgorithm(secretKey), notAfter);
+    }
+
+    private JwtSigningKey(String kid, SecretKey secretKey, ThreadLocalHmacAlgorithm signatureAlgorithm, long notAfter) {
+        this.kid = kid;
+        this.secretKey = secretKey;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.notAfter = notAfter;
+    }
+
+    /**
+     * 같은 키 재료와 서명 알고리즘(스레드별 Mac)을 유지한 채 검증 기한만 바꾼 키를 반환
+     *
+     * @param notAfter 새 검증 기한 (epoch 밀리초)
+     * @return 검증 기한이 바뀐 키
+     */
+    public JwtSigningKey retireAt(long notAfter) {
+        return new JwtSigningKey(kid, secretKey, signatureAlgorithm, notAfter);
+    }
+
+    /**
+     * 주어진 시각에 검증 키로 사용할 수 있는지 확인
+     *
+     * @param now 기준 시각 (epoch 밀리초)
+     * @return 검증 기한 이전이면 true
+     */
+    public boolean isUsableAt(long now) {
+        return now <= notAfter;
+    }
+
+    /**
+     * 같은 키 재료인지 확인. 키 링을 다시 읽을 때 기존 키를 재사용할지 판단하는 데 사용한다.
+     *
+     * @param secret 비교할 시크릿 문자열
+     * @return 키 재료가 같으면 true
+     */
+    public boolean hasSameSecret(String secret) {
+        return MessageDigest.isEqual(secretKey.getEncoded(), secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
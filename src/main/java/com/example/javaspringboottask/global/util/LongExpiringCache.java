@@ -0,0 +1,184 @@
+package com.example.javaspringboottask.global.util;
+
+import java.util.Arrays;
+
+/**
+ * long 키와 true/false 값을 담는 만료 시각 기반 로컬 캐시.
+ * 키와 값(만료 시각 + 1비트)을 long 배열에 그대로 저장하는 open addressing 해시 테이블이라 엔트리마다 객체를 만들지 않는다.
+ * 세그먼트 단위로 잠그며, 세그먼트가 가득 차면 만료된 엔트리를 정리하고 그래도 가득 차면 세그먼트를 비운다.
+ * 캐시이므로 비워진 값은 호출한 쪽이 원본(Redis)에서 다시 채운다.
+ * <p>
+ * 값은 false -> true 방향으로만 바뀐다. 만료되지 않은 true 는 false 로 덮어쓰지 않으므로, 원본을 읽은 뒤 채우기 전에
+ * 다른 경로(등록 이벤트)로 들어온 true 가 먼저 읽은 false 에 지워지지 않는다.
+ * <p>
+ * 키 0 은 빈 슬롯 표시로 사용하므로 저장할 수 없다.
+ */
+public class LongExpiringCache {
+
+    public static final int ABSENT = -1;
+    public static final int FALSE = 0;
+    public static final int TRUE = 1;
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    /**
+     * @param maximumSize 최대 엔트리 수 (세그먼트마다 균등하게 나눔)
+     */
+    public LongExpiringCache(int maximumSize) {
+        int segmentSize = Math.max(16, (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * @param key 조회할 키
+     * @param now 현재 시각 (epoch 밀리초)
+     * @return 만료되지 않은 값이 있으면 TRUE/FALSE, 없으면 ABSENT
+     */
+    public int get(long key, long now) {
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash, now);
+    }
+
+    /**
+     * 값을 저장. 만료되지 않은 true 가 있으면 false 는 저장하지 않는다.
+     *
+     * @param key       저장할 키 (0 제외)
+     * @param value     저장할 값
+     * @param expiresAt 만료 시각 (epoch 밀리초)
+     * @param now       현재 시각 (epoch 밀리초), 세그먼트 정리에 사용
+     */
+    public void put(long key, boolean value, long expiresAt, long now) {
+        if (key == 0) {
+            throw new IllegalArgumentException("키 0 은 저장할 수 없습니다.");
+        }
+        long hash = mix(key);
+        segmentFor(hash).put(key, hash, (expiresAt << 1) | (value ? 1 : 0), now);
+    }
+
+    /**
+     * 모든 엔트리 삭제
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return 저장된 엔트리 수 (만료되었지만 아직 정리되지 않은 엔트리 포함)
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 60)];
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Segment {
+
+        private final int maximumSize;
+        private long[] keys;
+        private long[] values;
+        private int size;
+
+        private Segment(int maximumSize) {
+            this.maximumSize = maximumSize;
+            // 부하율 0.5 이하로 유지
+            int capacity = Integer.highestOneBit(maximumSize * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+        }
+
+        private synchronized int get(long key, long hash, long now) {
+            int mask = keys.length - 1;
+            for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+                long current = keys[i];
+                if (current == 0) {
+                    return ABSENT;
+                }
+                if (current == key) {
+                    long value = values[i];
+                    return (value >>> 1) <= now ? ABSENT : (int) (value & 1);
+                }
+            }
+        }
+
+        private synchronized void put(long key, long hash, long value, long now) {
+            int index = this.indexOf(key, hash);
+            if (keys[index] == key) {
+                long current = values[index];
+                boolean liveTrue = (current & 1) == 1 && (current >>> 1) > now;
+                // false 는 만료되지 않은 true 를 덮어쓰지 않음 (먼저 읽은 원본 값이 나중에 도착해도 true 유지)
+                if (!liveTrue || (value & 1) == 1) {
+                    values[index] = value;
+                }
+                return;
+            }
+            if (size >= maximumSize) {
+                this.purge(now);
+                if (size >= maximumSize) {
+                    this.clear();
+                }
+                index = this.indexOf(key, hash);
+            }
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+
+        // key 가 있는 슬롯 또는 key 를 넣을 빈 슬롯
+        private int indexOf(long key, long hash) {
+            int mask = keys.length - 1;
+            int i = (int) hash & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        // 만료되지 않은 엔트리만 남겨 다시 배치
+        private void purge(long now) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length];
+            values = new long[oldValues.length];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0 && (oldValues[i] >>> 1) > now) {
+                    int index = this.indexOf(oldKeys[i], mix(oldKeys[i]));
+                    keys[index] = oldKeys[i];
+                    values[index] = oldValues[i];
+                    size++;
+                }
+            }
+        }
+
+        private synchronized void clear() {
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, 0);
+            size = 0;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+    }
+}
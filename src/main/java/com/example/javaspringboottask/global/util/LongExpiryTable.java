@@ -0,0 +1,223 @@
+package com.example.javaspringboottask.global.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * long 키와 만료 시각을 담는 저장소용 해시 테이블.
+ * LongExpiringCache 와 같이 long 배열 기반 open addressing 이라 엔트리마다 객체를 만들지 않지만, 캐시가 아니므로 가득 차도
+ * 엔트리를 버리지 않는다. 세그먼트가 가득 차면 만료된 엔트리만 정리하고, 그래도 자리가 없으면 put 이 false 를 반환한다.
+ * 배열은 최대 크기까지 필요한 만큼만 늘린다. 삭제는 backward shift 로 처리해 tombstone 이 남지 않는다.
+ * <p>
+ * 키 0 은 빈 슬롯 표시로 사용하므로 저장할 수 없다.
+ */
+public class LongExpiryTable {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    /**
+     * @param maximumSize 최대 엔트리 수 (세그먼트마다 균등하게 나눔)
+     */
+    public LongExpiryTable(int maximumSize) {
+        int segmentSize = Math.max(16, (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * 키를 저장하거나 만료 시각을 바꿈
+     *
+     * @param key       저장할 키 (0 제외)
+     * @param expiresAt 만료 시각 (epoch 밀리초)
+     * @param now       현재 시각 (epoch 밀리초), 가득 찼을 때 정리에 사용
+     * @return 저장했으면 true, 자리가 없으면 false
+     */
+    public boolean put(long key, long expiresAt, long now) {
+        if (key == 0) {
+            throw new IllegalArgumentException("키 0 은 저장할 수 없습니다.");
+        }
+        long hash = mix(key);
+        return segmentFor(hash).put(key, hash, expiresAt, now);
+    }
+
+    /**
+     * @param key 조회할 키
+     * @param now 현재 시각 (epoch 밀리초)
+     * @return 만료되지 않은 키가 있으면 true
+     */
+    public boolean contains(long key, long now) {
+        long hash = mix(key);
+        return segmentFor(hash).expiresAt(key, hash) > now;
+    }
+
+    /**
+     * 만료된 키면 제거. TimerWheel.ExpiryHandler 로 사용한다.
+     *
+     * @param key 확인할 키
+     * @param now 현재 시각 (epoch 밀리초)
+     * @return 제거했거나 없으면 -1, 만료되지 않았으면 만료 시각
+     */
+    public long expireIfDue(long key, long now) {
+        long hash = mix(key);
+        return segmentFor(hash).expireIfDue(key, hash, now);
+    }
+
+    /**
+     * 만료되지 않은 키를 하나씩 전달. 세그먼트별로 복사한 뒤 잠금 밖에서 전달한다.
+     *
+     * @param now    현재 시각 (epoch 밀리초)
+     * @param action 키를 받을 함수
+     */
+    public void forEach(long now, LongConsumer action) {
+        for (Segment segment : segments) {
+            for (long key : segment.snapshot(now)) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * @return 저장된 엔트리 수 (만료되었지만 아직 정리되지 않은 엔트리 포함)
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 60)];
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Segment {
+
+        private final int maximumSize;
+        private final int maximumCapacity;
+        private long[] keys;
+        private long[] values;
+        private int size;
+
+        private Segment(int maximumSize) {
+            this.maximumSize = maximumSize;
+            // 부하율 0.5 이하로 유지
+            this.maximumCapacity = Integer.highestOneBit(maximumSize * 2 - 1) << 1;
+            int capacity = Math.min(INITIAL_CAPACITY, maximumCapacity);
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+        }
+
+        private synchronized boolean put(long key, long hash, long expiresAt, long now) {
+            int index = this.indexOf(key, hash);
+            if (keys[index] == key) {
+                values[index] = expiresAt;
+                return true;
+            }
+            if (size >= maximumSize) {
+                this.rehash(keys.length, now);
+                if (size >= maximumSize) {
+                    return false;
+                }
+            } else if ((size + 1) * 2 > keys.length) {
+                this.rehash(Math.min(keys.length * 2, maximumCapacity), now);
+            }
+            index = this.indexOf(key, hash);
+            keys[index] = key;
+            values[index] = expiresAt;
+            size++;
+            return true;
+        }
+
+        private synchronized long expiresAt(long key, long hash) {
+            int index = this.indexOf(key, hash);
+            return keys[index] == key ? values[index] : -1;
+        }
+
+        private synchronized long expireIfDue(long key, long hash, long now) {
+            int index = this.indexOf(key, hash);
+            if (keys[index] != key) {
+                return -1;
+            }
+            if (values[index] > now) {
+                return values[index];
+            }
+            this.removeAt(index);
+            return -1;
+        }
+
+        private synchronized long[] snapshot(long now) {
+            long[] live = new long[size];
+            int count = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0 && values[i] > now) {
+                    live[count++] = keys[i];
+                }
+            }
+            return count == live.length ? live : Arrays.copyOf(live, count);
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        // key 가 있는 슬롯 또는 key 를 넣을 빈 슬롯
+        private int indexOf(long key, long hash) {
+            int mask = keys.length - 1;
+            int i = (int) hash & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        // 뒤에 이어진 엔트리를 당겨 빈 슬롯이 탐색을 끊지 않도록 삭제
+        private void removeAt(int index) {
+            int mask = keys.length - 1;
+            int hole = index;
+            for (int i = (hole + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                int home = (int) mix(keys[i]) & mask;
+                // home 이 (hole, i] 구간 밖이면 hole 로 옮겨도 탐색 경로가 유지된다
+                boolean between = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+                if (!between) {
+                    keys[hole] = keys[i];
+                    values[hole] = values[i];
+                    hole = i;
+                }
+            }
+            keys[hole] = 0;
+            values[hole] = 0;
+            size--;
+        }
+
+        // 만료되지 않은 엔트리만 주어진 크기의 배열에 다시 배치
+        private void rehash(int capacity, long now) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[capacity];
+            values = new long[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0 && oldValues[i] > now) {
+                    int index = this.indexOf(oldKeys[i], mix(oldKeys[i]));
+                    keys[index] = oldKeys[i];
+                    values[index] = oldValues[i];
+                    size++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.javaspringboottask.global.util;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.lettuce.core.RedisException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Redis 호출을 감싸는 서킷 브레이커.
+ * 실패(명령 시간 제한 초과 포함)나 느린 호출 비율이 기준을 넘으면 회로를 열고, 열려 있는 동안에는 Redis 를 기다리지 않고
+ * redis.degraded-policy 에 따라 처리한다.
+ * <ul>
+ *     <li>LOCAL_MIRROR: 조회는 노드 로컬 복제본(블랙리스트 캐시, Bloom 필터)으로 응답하고, 쓰기는 바로 503 으로 실패</li>
+ *     <li>QUEUE_WRITES: 조회는 LOCAL_MIRROR 와 같고, 쓰기는 대기열에 보관했다가 Redis 가 돌아오면 순서대로 다시 실행</li>
+ *     <li>FAIL_FAST: 조회와 쓰기 모두 바로 503 으로 실패</li>
+ * </ul>
+ * 회로가 열리고 wait-in-open-state-millis 가 지나면 반열림 상태로 바뀌어 일부 호출로 Redis 를 확인하고, 성공하면 스스로 닫힌다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisGuard {
+
+    /**
+     * 회로가 열렸을 때의 처리 방식
+     */
+    public enum DegradedPolicy {
+        LOCAL_MIRROR,
+        QUEUE_WRITES,
+        FAIL_FAST
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Getter
+    @Value("${redis.degraded-policy:LOCAL_MIRROR}")
+    private DegradedPolicy policy;
+
+    @Value("${redis.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold; // 회로를 여는 실패 비율(%)
+
+    @Value("${redis.circuit-breaker.slow-call-rate-threshold:50}")
+    private float slowCallRateThreshold; // 회로를 여는 느린 호출 비율(%)
+
+    @Value("${redis.circuit-breaker.slow-call-threshold-millis:500}")
+    private long slowCallThresholdMillis; // 이 시간보다 오래 걸린 호출은 느린 호출로 집계
+
+    @Value("${redis.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize; // 비율을 계산할 최근 호출 수
+
+    @Value("${redis.circuit-breaker.minimum-number-of-calls:10}")
+    private int minimumNumberOfCalls; // 비율을 계산하기 시작하는 최소 호출 수
+
+    @Value("${redis.circuit-breaker.wait-in-open-state-millis:5000}")
+    private long waitInOpenStateMillis; // 열린 뒤 반열림으로 바뀌기까지의 시간
+
+    @Value("${redis.circuit-breaker.permitted-calls-in-half-open:3}")
+    private int permittedCallsInHalfOpen; // 반열림 상태에서 Redis 를 확인할 호출 수
+
+    @Value("${redis.write-queue-size:10000}")
+    private int writeQueueSize; // QUEUE_WRITES 에서 보관할 최대 쓰기 수, 넘으면 503
+
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "redis-write-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    private CircuitBreaker circuitBreaker;
+    private BlockingDeque<PendingWrite> pendingWrites;
+
+    private Counter degradedReads;
+    private Counter queuedWrites;
+    private Counter rejectedCalls;
+    private Counter replayedWrites;
+
+    @PostConstruct
+    public void init() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMillis))
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpenStateMillis))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpen)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Spring 이 변환한 예외와 Lettuce 연결을 직접 사용하는 곳의 예외만 Redis 장애로 집계
+                .recordExceptions(DataAccessException.class, RedisException.class)
+                .build();
+        this.circuitBreaker = CircuitBreaker.of("redis", config);
+        this.circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Redis 서킷 브레이커 상태 변경 : {}", event.getStateTransition());
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                this.requestReplay();
+            }
+        });
+        this.pendingWrites = new LinkedBlockingDeque<>(writeQueueSize);
+
+        Gauge.builder("redis.degraded", this, guard -> guard.isAvailable() ? 0 : 1)
+                .description("Redis 서킷 브레이커가 닫혀 있지 않으면 1")
+                .register(meterRegistry);
+        Gauge.builder("redis.degraded.pending-writes", this, guard -> guard.pendingWrites.size())
+                .description("Redis 가 돌아오면 다시 실행할 쓰기 수")
+                .register(meterRegistry);
+        this.degradedReads = Counter.builder("redis.degraded.reads")
+                .description("로컬 복제본으로 응답한 조회 수")
+                .register(meterRegistry);
+        this.queuedWrites = Counter.builder("redis.degraded.queued")
+                .description("대기열에 보관한 쓰기 수")
+                .register(meterRegistry);
+        this.rejectedCalls = Counter.builder("redis.degraded.rejected")
+                .description("Redis 를 사용할 수 없어 503 으로 거절한 호출 수")
+                .register(meterRegistry);
+        this.replayedWrites = Counter.builder("redis.degraded.replayed")
+                .description("대기열에서 다시 실행한 쓰기 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        replayExecutor.shutdownNow();
+    }
+
+    /**
+     * 결과가 꼭 필요한 Redis 호출 (세션 교체, 세션 목록 등). 로컬에서 대신할 수 없으므로 정책과 관계없이 실패하면 503.
+     *
+     * @param redisCall Redis 호출
+     * @return 호출 결과
+     * @throws CustomResponseStatusException 회로가 열려 있거나 Redis 호출이 실패한 경우 (REDIS_UNAVAILABLE)
+     */
+    public <T> T execute(Supplier<T> redisCall) {
+        try {
+            return circuitBreaker.executeSupplier(redisCall);
+        } catch (CallNotPermittedException | DataAccessException | RedisException e) {
+            throw this.unavailable(e);
+        }
+    }
+
+    /**
+     * 로컬 복제본으로 대신 응답할 수 있는 조회. FAIL_FAST 가 아니면 Redis 를 사용할 수 없을 때 localMirror 결과를 반환한다.
+     *
+     * @param redisCall   Redis 조회
+     * @param localMirror Redis 를 사용할 수 없을 때의 로컬 응답
+     * @return 조회 결과
+     */
+    public <T> T read(Supplier<T> redisCall, Supplier<T> localMirror) {
+        if (policy == DegradedPolicy.FAIL_FAST) {
+            return this.execute(redisCall);
+        }
+        try {
+            return circuitBreaker.executeSupplier(redisCall);
+        } catch (CallNotPermittedException | DataAccessException | RedisException e) {
+            degradedReads.increment();
+            log.debug("Redis 를 사용할 수 없어 로컬 복제본으로 응답 : {}", e.toString());
+            return localMirror.get();
+        }
+    }
+
+    /**
+     * read 의 비동기 버전. Redis 응답 시간과 실패도 서킷 브레이커에 집계한다.
+     *
+     * @param redisCall   비동기 Redis 조회
+     * @param localMirror Redis 를 사용할 수 없을 때의 로컬 응답
+     * @return 조회 결과 future
+     */
+    public <T> CompletableFuture<T> readAsync(Supplier<CompletableFuture<T>> redisCall, Supplier<T> localMirror) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return this.degradedAsync(CallNotPermittedException.createCallNotPermittedException(circuitBreaker),
+                    localMirror);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = redisCall.get();
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            return this.isRedisFailure(e) ? this.degradedAsync(e, localMirror) : CompletableFuture.failedFuture(e);
+        }
+
+        return future.handle((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            if (error == null) {
+                circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(result);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, cause);
+            return this.isRedisFailure(cause)
+                    ? this.degradedAsync(cause, localMirror)
+                    : CompletableFuture.<T>failedFuture(cause);
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * 결과를 기다릴 필요가 없는 쓰기. QUEUE_WRITES 면 Redis 를 사용할 수 없을 때 대기열에 보관하고 Redis 가 돌아오면 다시 실행한다.
+     * 다시 실행될 수 있으므로 redisWrite 는 같은 인자로 여러 번 실행해도 결과가 같아야 한다.
+     *
+     * @param description 로그에 남길 쓰기 설명
+     * @param redisWrite  Redis 쓰기
+     * @throws CustomResponseStatusException 보관하지 않는 정책이거나 대기열이 가득 찬 경우 (REDIS_UNAVAILABLE)
+     */
+    public void write(String description, Runnable redisWrite) {
+        // 앞서 보관한 쓰기가 남아있으면 순서를 지키기 위해 뒤에 붙임
+        if (policy == DegradedPolicy.QUEUE_WRITES && !pendingWrites.isEmpty()) {
+            this.enqueue(new PendingWrite(description, redisWrite), null);
+            return;
+        }
+        try {
+            circuitBreaker.executeRunnable(redisWrite);
+        } catch (CallNotPermittedException | DataAccessException | RedisException e) {
+            if (policy != DegradedPolicy.QUEUE_WRITES) {
+                throw this.unavailable(e);
+            }
+            this.enqueue(new PendingWrite(description, redisWrite), e);
+        }
+    }
+
+    /**
+     * 회로가 닫혀 있는지 확인
+     *
+     * @return 닫혀 있으면 true
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.getState() == CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * 대기 중인 쓰기 수
+     *
+     * @return 대기열 크기
+     */
+    public int getPendingWriteCount() {
+        return pendingWrites.size();
+    }
+
+    /**
+     * 대기열이 남아있으면 주기적으로 다시 실행을 시도. 반열림 상태에서는 이 호출이 Redis 확인 역할도 한다.
+     */
+    @Scheduled(fixedDelayString = "${redis.circuit-breaker.wait-in-open-state-millis:5000}")
+    public void retryPendingWrites() {
+        if (!pendingWrites.isEmpty() && circuitBreaker.getState() != CircuitBreaker.State.OPEN) {
+            this.requestReplay();
+        }
+    }
+
+    private void enqueue(PendingWrite pendingWrite, Exception cause) {
+        if (!pendingWrites.offerLast(pendingWrite)) {
+            throw this.unavailable(cause);
+        }
+        queuedWrites.increment();
+        log.warn("Redis 를 사용할 수 없어 쓰기를 보관 : {}, 대기 수 : {}", pendingWrite.description(), pendingWrites.size());
+        if (this.isAvailable()) {
+            this.requestReplay();
+        }
+    }
+
+    private void requestReplay() {
+        if (replaying.compareAndSet(false, true)) {
+            replayExecutor.execute(this::replayPendingWrites);
+        }
+    }
+
+    /**
+     * 보관한 쓰기를 순서대로 다시 실행. 실패하면 그 자리에서 멈추고 다음 기회(회로가 닫힐 때, 주기 실행)에 이어서 실행한다.
+     */
+    void replayPendingWrites() {
+        try {
+            PendingWrite pendingWrite;
+            while ((pendingWrite = pendingWrites.peekFirst()) != null) {
+                try {
+                    circuitBreaker.executeRunnable(pendingWrite.action());
+                } catch (CallNotPermittedException | DataAccessException | RedisException e) {
+                    log.warn("보관한 쓰기 재실행 실패, 다음에 다시 시도 : {}", pendingWrite.description());
+                    return;
+                }
+                pendingWrites.pollFirst();
+                replayedWrites.increment();
+                log.info("보관한 쓰기 재실행 완료 : {}", pendingWrite.description());
+            }
+        } finally {
+            replaying.set(false);
+        }
+        // 마지막 확인과 플래그 해제 사이에 보관된 쓰기가 있으면 이어서 실행
+        if (!pendingWrites.isEmpty() && this.isAvailable()) {
+            this.requestReplay();
+        }
+    }
+
+    private <T> CompletableFuture<T> degradedAsync(Throwable cause, Supplier<T> localMirror) {
+        if (policy == DegradedPolicy.FAIL_FAST) {
+            return CompletableFuture.failedFuture(this.unavailable(cause));
+        }
+        degradedReads.increment();
+        log.debug("Redis 를 사용할 수 없어 로컬 복제본으로 응답 : {}", cause.toString());
+        return CompletableFuture.completedFuture(localMirror.get());
+    }
+
+    private boolean isRedisFailure(Throwable throwable) {
+        return throwable instanceof DataAccessException
+                || throwable instanceof RedisException
+                || throwable instanceof CallNotPermittedException;
+    }
+
+    private CustomResponseStatusException unavailable(Throwable cause) {
+        rejectedCalls.increment();
+        log.warn("Redis 를 사용할 수 없음, 상태 : {}, 원인 : {}", circuitBreaker.getState(),
+                cause == null ? "대기열 가득 참" : cause.toString());
+        return new CustomResponseStatusException(ErrorCode.REDIS_UNAVAILABLE);
+    }
+
+    private record PendingWrite(String description, Runnable action) {
+    }
+}
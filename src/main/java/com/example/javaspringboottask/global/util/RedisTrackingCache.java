@@ -0,0 +1,247 @@
+package com.example.javaspringboottask.global.util;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Redis 서버 지원 클라이언트 캐시 (RESP3 CLIENT TRACKING).
+ * 전용 연결로 읽은 키를 Redis 가 추적하고, 다른 클라이언트가 키를 바꾸면 invalidate 푸시 메시지를 보낸다.
+ * 읽은 값은 없는 값(null)까지 프로세스 메모리에 두고, invalidate 를 받으면 키 단위로 지운다.
+ * <p>
+ * redis.client-tracking.enabled=false(기본) 면 캐시 없이 RedisTemplate 으로 바로 조회한다.
+ * 재연결하면 서버의 추적 정보가 사라지므로 캐시를 비우고 추적을 다시 켠 뒤에만 캐시를 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisTrackingCache {
+
+    private static final String INVALIDATE = "invalidate";
+    private static final String NO_FIELD = ""; // GET 으로 읽은 문자열 키의 필드 자리
+    private static final Object NULL = new Object(); // Redis 에 없는 값
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(2);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final RedisProperties redisProperties;
+
+    @Getter
+    @Value("${redis.client-tracking.enabled:false}")
+    private boolean enabled;
+
+    @Value("${redis.client-tracking.maximum-size:100000}")
+    private int maximumSize; // 캐시할 최대 키 수, 넘으면 전체를 비운다
+
+    /**
+     * redisKey -> (hash field 또는 NO_FIELD -> 값, NULL 또는 읽는 중 표시)
+     * invalidate 는 키 단위로 오므로 키 아래에 필드를 모아 한 번에 지운다.
+     */
+    private final Map<String, Map<String, Object>> entries = new ConcurrentHashMap<>();
+
+    private RedisClient redisClient;
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile boolean tracking; // 서버 추적이 켜져 있을 때만 캐시 사용
+
+    private Counter hits;
+    private Counter misses;
+    private Counter invalidations;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        this.hits = Counter.builder("redis.client.cache.requests").tag("result", "hit")
+                .description("클라이언트 캐시에서 응답한 조회 수").register(meterRegistry);
+        this.misses = Counter.builder("redis.client.cache.requests").tag("result", "miss")
+                .description("Redis 까지 조회한 수").register(meterRegistry);
+        this.invalidations = Counter.builder("redis.client.cache.invalidations")
+                .description("Redis 에서 받은 invalidate 키 수 (전체 무효화는 1회로 집계)").register(meterRegistry);
+        Gauge.builder("redis.client.cache.size", entries, Map::size)
+                .description("클라이언트 캐시에 있는 키 수").register(meterRegistry);
+
+        // 전용 연결 하나로 추적하므로 단일 서버에서만 사용 (클러스터는 노드마다 추적이 필요)
+        if (redisProperties.getSentinel() != null || redisProperties.getCluster() != null) {
+            throw new IllegalStateException("redis.client-tracking.enabled 는 단일 서버 연결에서만 사용할 수 있습니다.");
+        }
+
+        // RedisConfig 와 같은 접속 정보(url 우선), SSL, 명령 시간 제한 사용
+        RedisURI.Builder uri = StringUtils.hasText(redisProperties.getUrl())
+                ? RedisURI.builder(RedisURI.create(redisProperties.getUrl()))
+                : RedisURI.Builder.redis(redisProperties.getHost(), redisProperties.getPort())
+                        .withDatabase(redisProperties.getDatabase());
+        uri.withTimeout(redisProperties.getTimeout() != null ? redisProperties.getTimeout() : DEFAULT_TIMEOUT);
+        if (redisProperties.getSsl().isEnabled()) {
+            uri.withSsl(true);
+        }
+        if (!StringUtils.hasText(redisProperties.getUrl()) && redisProperties.getPassword() != null) {
+            uri.withAuthentication(redisProperties.getUsername() != null ? redisProperties.getUsername() : "default",
+                    redisProperties.getPassword());
+        }
+        RedisURI redisUri = uri.build();
+        this.redisClient = RedisClient.create(redisUri);
+        redisClient.setOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP3)
+                .build());
+        redisClient.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+                // 최초 연결은 init 에서 추적을 켜므로 재연결일 때만 처리
+                if (connection != null && handler == connection) {
+                    enableTracking();
+                }
+            }
+
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                if (handler == connection) {
+                    tracking = false;
+                    entries.clear();
+                }
+            }
+        });
+
+        this.connection = redisClient.connect(StringCodec.UTF8);
+        connection.addListener(this::onPushMessage);
+        connection.sync().clientTracking(TrackingArgs.Builder.enabled());
+        this.tracking = true;
+        log.info("Redis 클라이언트 캐시 사용 (CLIENT TRACKING) {}:{}", redisUri.getHost(), redisUri.getPort());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (connection != null) {
+            connection.close();
+        }
+        if (redisClient != null) {
+            redisClient.shutdown();
+        }
+    }
+
+    /**
+     * 문자열 키 조회 (GET)
+     *
+     * @param key Redis 키
+     * @return 값, 없으면 null
+     */
+    public String get(String key) {
+        if (!enabled) {
+            return redisTemplate.opsForValue().get(key);
+        }
+        return this.lookup(key, NO_FIELD, () -> connection.sync().get(key));
+    }
+
+    /**
+     * 해시 필드 조회 (HGET)
+     *
+     * @param key   Redis 키
+     * @param field 해시 필드
+     * @return 값, 없으면 null
+     */
+    public String hget(String key, String field) {
+        if (!enabled) {
+            return redisTemplate.<String, String>opsForHash().get(key, field);
+        }
+        return this.lookup(key, field, () -> connection.sync().hget(key, field));
+    }
+
+    /**
+     * 캐시된 값이 있으면 반환하고, 없으면 읽는 중 표시를 먼저 넣고 Redis 에서 읽는다.
+     * 읽는 동안 invalidate 가 오면 키의 필드 맵이 지워지거나 바뀌므로, 같은 맵에 내 표시가 그대로 있을 때만 값을 저장한다.
+     */
+    private String lookup(String key, String field, Supplier<String> loader) {
+        if (!tracking) {
+            misses.increment();
+            return loader.get();
+        }
+
+        Map<String, Object> fields = entries.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        Object cached = fields.get(field);
+        if (cached instanceof String value) {
+            hits.increment();
+            return value;
+        }
+        if (cached == NULL) {
+            hits.increment();
+            return null;
+        }
+
+        misses.increment();
+        Object placeholder = new Object();
+        fields.put(field, placeholder);
+        String value = loader.get();
+        if (tracking && entries.get(key) == fields) {
+            fields.replace(field, placeholder, value == null ? NULL : value);
+        }
+
+        if (entries.size() > maximumSize) {
+            entries.clear();
+        }
+        return value;
+    }
+
+    private void onPushMessage(PushMessage message) {
+        if (!INVALIDATE.equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys instanceof List<?> invalidatedKeys) {
+            for (Object key : invalidatedKeys) {
+                entries.remove(key instanceof ByteBuffer buffer ? StringCodec.UTF8.decodeKey(buffer) : key.toString());
+            }
+            invalidations.increment(invalidatedKeys.size());
+        } else {
+            // 키 목록이 없으면 FLUSHALL 등으로 전체 무효화
+            entries.clear();
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * 재연결 후 캐시를 비우고 추적을 다시 켠다. 이벤트 루프 스레드에서 호출되므로 비동기 명령만 사용한다.
+     */
+    private void enableTracking() {
+        tracking = false;
+        entries.clear();
+        connection.async().clientTracking(TrackingArgs.Builder.enabled())
+                .whenComplete((reply, error) -> {
+                    if (error != null) {
+                        log.error("CLIENT TRACKING 재설정 실패, 캐시 없이 조회", error);
+                        return;
+                    }
+                    entries.clear();
+                    tracking = true;
+                    log.info("Redis 재연결 후 CLIENT TRACKING 재설정");
+                });
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.javaspringboottask.global.util;
+
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SecureRequest;
+import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.security.VerifySecureDigestRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * 하나의 HMAC 키에 묶인 HS256 서명 알고리즘.
+ * jjwt 기본 구현은 서명할 때마다 Mac 을 새로 만들기 때문에, 스레드마다 초기화된 Mac 을 보관해 재사용한다.
+ * Mac 은 스레드 안전하지 않으므로 스레드 간 공유하지 않는다.
+ */
+public class ThreadLocalHmacAlgorithm implements SecureDigestAlgorithm<SecretKey, SecretKey> {
+
+    private static final String ID = "HS256";
+    private static final String JCA_NAME = "HmacSHA256";
+    private static final int BUFFER_SIZE = 512;
+
+    private final SecretKey key;
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    public ThreadLocalHmacAlgorithm(SecretKey key) {
+        this.key = key;
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    /**
+     * 스레드 로컬 Mac 으로 서명 값을 계산
+     *
+     * @param request 서명할 데이터와 키
+     * @return HMAC-SHA256 서명 값
+     */
+    @Override
+    public byte[] digest(SecureRequest<InputStream, SecretKey> request) throws SignatureException {
+        // 등록된 키와 다른 키가 들어오면 재사용하지 않고 새 Mac 으로 계산
+        Mac mac = request.getKey() == key ? macs.get() : newMac(request.getKey());
+        byte[] buffer = buffers.get();
+
+        try (InputStream payload = request.getPayload()) {
+            int read;
+            while ((read = payload.read(buffer)) != -1) {
+                mac.update(buffer, 0, read);
+            }
+            // doFinal 호출 시 Mac 은 초기 상태로 돌아가므로 다음 요청에서 그대로 재사용 가능
+            return mac.doFinal();
+        } catch (IOException e) {
+            mac.reset();
+            throw new SignatureException("서명 대상 데이터를 읽을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 서명 값을 다시 계산해 상수 시간 비교로 검증
+     *
+     * @param request 검증할 데이터, 키, 서명 값
+     * @return 서명이 일치하면 true
+     */
+    @Override
+    public boolean verify(VerifySecureDigestRequest<SecretKey> request) throws SignatureException {
+        byte[] computed = digest(request);
+        return MessageDigest.isEqual(computed, request.getDigest());
+    }
+
+    /**
+     * 현재 스레드에 묶인 초기화된 Mac 을 반환. 호출한 쪽에서 doFinal 까지 마쳐야 다음 사용자가 재사용할 수 있다.
+     *
+     * @return 현재 스레드의 Mac
+     */
+    Mac currentThreadMac() {
+        return macs.get();
+    }
+
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(JCA_NAME);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new SignatureException("HMAC 초기화에 실패했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.javaspringboottask.global.util;
+
+import java.util.Arrays;
+
+/**
+ * long 키의 만료 시각을 관리하는 hashed timer wheel.
+ * 엔트리마다 예약 작업을 만들지 않고, 만료 시각의 tick 으로 정한 슬롯에 키만 넣어 둔 뒤 advance 가 지나간 슬롯만 확인한다.
+ * 슬롯은 long 배열이라 키 하나당 8바이트만 사용한다.
+ * <p>
+ * 한 바퀴(tickMillis * wheelSize)보다 먼 만료 시각은 같은 슬롯에 남아 있다가 해당 바퀴에서 처리된다.
+ * 만료 시각이 바뀐 키는 새 슬롯에 다시 넣으면 되고, 이전 슬롯에 남은 참조는 확인할 때 버린다.
+ */
+public class TimerWheel {
+
+    private static final int INITIAL_SLOT_CAPACITY = 8;
+
+    /**
+     * 슬롯에서 꺼낸 키의 처리
+     */
+    @FunctionalInterface
+    public interface ExpiryHandler {
+        /**
+         * 만료된 키면 저장소에서 제거
+         *
+         * @param key 슬롯에서 꺼낸 키
+         * @param now 현재 시각 (epoch 밀리초)
+         * @return 제거했거나 이미 없으면 -1, 아직 만료되지 않았으면 현재 만료 시각
+         */
+        long expireIfDue(long key, long now);
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final Slot[] slots;
+    private volatile long processedTick; // 마지막으로 처리한 tick, advance 는 한 스레드에서만 호출
+
+    /**
+     * @param tickMillis 슬롯 하나가 담당하는 시간 (밀리초)
+     * @param wheelSize  슬롯 수 (2의 거듭제곱으로 올림)
+     * @param now        현재 시각 (epoch 밀리초)
+     */
+    public TimerWheel(long tickMillis, int wheelSize, long now) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis 와 wheelSize 는 0 보다 커야 합니다.");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        if (wheelSize == 1) {
+            size = 1;
+        }
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.processedTick = now / tickMillis;
+    }
+
+    /**
+     * 키를 만료 시각의 슬롯에 넣음. 같은 키를 여러 번 넣어도 되며, 만료 시각이 바뀔 때마다 호출해야 한다.
+     *
+     * @param key       키
+     * @param expiresAt 만료 시각 (epoch 밀리초)
+     */
+    public void schedule(long key, long expiresAt) {
+        // 이미 처리한 tick 에 만료되는 키는 다음 tick 에서 확인
+        long tick = Math.max(expiresAt / tickMillis, processedTick + 1);
+        slots[(int) (tick & mask)].add(key);
+    }
+
+    /**
+     * 마지막 호출 이후 지나간 슬롯을 확인해 만료된 키를 제거. 한 스레드에서만 호출해야 한다.
+     *
+     * @param now     현재 시각 (epoch 밀리초)
+     * @param handler 키의 만료 여부 확인과 제거
+     * @return 만료되어 제거했거나 이미 없던 키 수
+     */
+    public int advance(long now, ExpiryHandler handler) {
+        long targetTick = now / tickMillis;
+        if (targetTick <= processedTick) {
+            return 0;
+        }
+        // 한 바퀴 이상 밀렸으면 모든 슬롯을 한 번씩만 확인
+        long fromTick = Math.max(processedTick + 1, targetTick - mask);
+        int expired = 0;
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            expired += this.process((int) (tick & mask), now, handler);
+        }
+        processedTick = targetTick;
+        return expired;
+    }
+
+    /**
+     * @return 슬롯에 들어있는 참조 수 (이미 제거되었거나 다른 슬롯으로 옮겨진 키 포함)
+     */
+    public long size() {
+        long size = 0;
+        for (Slot slot : slots) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    private int process(int index, long now, ExpiryHandler handler) {
+        long[] keys;
+        int count;
+        Slot slot = slots[index];
+        synchronized (slot) {
+            keys = slot.keys;
+            count = slot.size;
+            slot.keys = new long[INITIAL_SLOT_CAPACITY];
+            slot.size = 0;
+        }
+
+        int expired = 0;
+        for (int i = 0; i < count; i++) {
+            long key = keys[i];
+            long expiresAt = handler.expireIfDue(key, now);
+            if (expiresAt < 0) {
+                expired++;
+            } else if (this.slotOf(expiresAt) == index) {
+                // 다음 바퀴 이후에 만료되는 키는 같은 슬롯에 남김. 다른 슬롯이면 그쪽에 참조가 있으므로 버린다.
+                slot.add(key);
+            }
+        }
+        return expired;
+    }
+
+    private int slotOf(long expiresAt) {
+        return (int) ((expiresAt / tickMillis) & mask);
+    }
+
+    private static final class Slot {
+        private long[] keys = new long[INITIAL_SLOT_CAPACITY];
+        private int size;
+
+        private synchronized void add(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.javaspringboottask.global.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 서명 검증이 끝난 JWT 의 클레임 값.
+ * JwtProvider 에서 요청당 한 번만 생성하고, 필터/블랙리스트/로그아웃 처리에서 그대로 재사용한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+
+    /**
+     * 검증에 사용된 원본 토큰 문자열
+     */
+    private final String token;
+
+    /**
+     * 토큰 주체(username)
+     */
+    private final String subject;
+
+    /**
+     * 사용자 id 클레임 (uid, 없으면 null)
+     */
+    private final Long userId;
+
+    /**
+     * 권한 클레임 (리프레시 토큰은 null)
+     */
+    private final String role;
+
+    /**
+     * 만료 시각 (epoch 밀리초)
+     */
+    private final long expiration;
+
+    /**
+     * 발급 시각 (epoch 밀리초). iatm 클레임 값, 없으면 초 단위 iat 를 밀리초로 바꾼 값
+     */
+    private final long issuedAt;
+
+    /**
+     * 토큰 식별자 (jti, 없으면 null)
+     */
+    private final String jti;
+
+    /**
+     * 토큰 종류 클레임 (typ, 리프레시 토큰은 "refresh", 액세스 토큰은 null)
+     */
+    private final String type;
+
+    /**
+     * 리프레시 토큰 패밀리 id (fid, 액세스 토큰은 null)
+     */
+    private final String familyId;
+
+    /**
+     * 리프레시 토큰인지 확인. 리프레시 토큰은 액세스 토큰 대신 사용할 수 없다.
+     *
+     * @return 리프레시 토큰이면 true
+     */
+    public boolean isRefreshToken() {
+        return JwtProvider.REFRESH_TOKEN_TYPE.equals(type);
+    }
+
+    /**
+     * 주어진 시각 기준으로 남은 유효 시간(밀리초)을 반환
+     *
+     * @param now 기준 시각 (epoch 밀리초)
+     * @return 남은 유효 시간, 이미 만료되었으면 0 이하
+     */
+    public long remainingMillis(long now) {
+        return expiration - now;
+    }
+}
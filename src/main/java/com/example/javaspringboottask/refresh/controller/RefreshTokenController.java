@@ -4,6 +4,7 @@ package com.example.javaspringboottask.refresh.controller;
 import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
 import com.example.javaspringboottask.global.exception.ErrorCode;
 import com.example.javaspringboottask.refresh.service.RefreshTokenService;
+import com.example.javaspringboottask.user.dto.TokenResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,7 +15,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -35,7 +35,8 @@ public class RefreshTokenController {
 
     @Operation(
             summary = "AccessToken 재발급",
-            description = "쿠키에 저장된 Refresh Token을 사용하여 새로운 Access Token을 발급합니다.",
+            description = "쿠키에 저장된 Refresh Token을 사용하여 새로운 Access Token을 발급합니다. " +
+                    "Refresh Token도 함께 교체되어 HttpOnly 쿠키로 다시 전달됩니다.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "새로운 액세스 토큰 발급 성공"),
                     @ApiResponse(responseCode = "401", description = "Refresh 토큰 만료 또는 유효하지 않음", content = @Content)
@@ -44,21 +45,28 @@ public class RefreshTokenController {
     @PostMapping("/refresh")
     public ResponseEntity<Void> refresh(
             @Parameter(description = "HttpOnly 쿠키로 전달되는 Refresh Token", required = true)
-            @CookieValue("refreshToken") String refreshToken,
-
-            @Parameter(hidden = true) // Swagger UI에는 굳이 노출 안 해도 됨
-            Authentication authentication
+            @CookieValue("refreshToken") String refreshToken
     ) {
         try {
-            String newAccessToken = refreshTokenService.generateAccessTokenFromRefreshToken(refreshToken);
+            TokenResponse tokenResponse = refreshTokenService.reissueTokens(refreshToken);
+
+            ResponseCookie refreshCookie = ResponseCookie.from("refreshToken",
+                            tokenResponse.getRefreshToken())
+                    .httpOnly(true)
+                    .path("/")
+                    .secure(false)
+                    .maxAge(7 * 24 * 60 * 60)
+                    .build();
 
             return ResponseEntity.ok()
-                    .header(HttpHeaders.AUTHORIZATION, TOKEN_PREFIX + newAccessToken)
+                    .header(HttpHeaders.SET_COOKIE, refreshCookie.toString())
+                    .header(HttpHeaders.AUTHORIZATION, TOKEN_PREFIX + tokenResponse.getAccessToken())
                     .build();
 
         } catch (CustomResponseStatusException e) {
             if (e.getErrorCode() == ErrorCode.UNAUTHORIZED_TOKEN) {
-                refreshTokenService.deleteRefreshToken(authentication);
+                // 제출된 토큰의 세션만 삭제, 같은 사용자의 다른 기기 세션은 유지
+                refreshTokenService.deleteRefreshToken(refreshToken);
 
                 ResponseCookie refreshCookie = ResponseCookie.from("refreshToken", "")
                         .httpOnly(true)
@@ -73,4 +81,4 @@ public class RefreshTokenController {
             throw e;
         }
     }
-}
\ No newline at end of file
+}
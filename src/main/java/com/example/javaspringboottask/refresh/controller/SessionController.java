@@ -0,0 +1,70 @@
+package com.example.javaspringboottask.refresh.controller;
+
+import com.example.javaspringboottask.global.auth.UserDetailsImpl;
+import com.example.javaspringboottask.refresh.dto.SessionResponseDto;
+import com.example.javaspringboottask.refresh.service.RefreshTokenService;
+import com.example.javaspringboottask.refresh.service.RevocationEpochService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(
+        name = "세션 관리 API",
+        description = "기기별 로그인 세션(리프레시 토큰 패밀리) 조회 및 로그아웃 API"
+)
+@RestController
+@RequestMapping("/sessions")
+@RequiredArgsConstructor
+public class SessionController {
+
+    private final RefreshTokenService refreshTokenService;
+    private final RevocationEpochService revocationEpochService;
+
+    @Operation(summary = "세션 목록 조회", description = "현재 사용자의 기기별 로그인 세션을 최근 발급 순으로 반환합니다.")
+    @GetMapping
+    public ResponseEntity<List<SessionResponseDto>> getSessions(Authentication authentication) {
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        return ResponseEntity.ok(refreshTokenService.getSessions(principal.getUserId()));
+    }
+
+    @Operation(
+            summary = "세션 로그아웃",
+            description = "지정한 세션의 리프레시 토큰을 폐기합니다. 이미 발급된 액세스 토큰은 만료될 때까지 유효합니다."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "세션 폐기 성공"),
+            @ApiResponse(responseCode = "404", description = "세션을 찾을 수 없음")
+    })
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> revokeSession(
+            @PathVariable String sessionId,
+            Authentication authentication) {
+
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        refreshTokenService.revokeSession(principal.getUserId(), sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "모든 기기에서 로그아웃",
+            description = "현재 사용자의 모든 세션을 폐기하고, 지금까지 발급된 액세스 토큰도 모두 사용할 수 없게 합니다."
+    )
+    @ApiResponse(responseCode = "204", description = "전체 폐기 성공")
+    @DeleteMapping
+    public ResponseEntity<Void> revokeAllSessions(Authentication authentication) {
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        revocationEpochService.revokeAll(principal.getUserId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.javaspringboottask.refresh.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+@Getter
+@RequiredArgsConstructor
+public class SessionResponseDto {
+
+    @Schema(description = "세션 id (리프레시 토큰 패밀리 id)", example = "q3ZbW1x0c9Kp2LmA")
+    private final String sessionId;
+
+    @Schema(description = "마지막으로 리프레시 토큰이 발급된 시각", example = "2024-06-01T00:00:00Z")
+    private final Instant lastIssuedAt;
+}
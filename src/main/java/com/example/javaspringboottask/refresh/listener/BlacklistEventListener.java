@@ -0,0 +1,65 @@
+package com.example.javaspringboottask.refresh.listener;
+
+import com.example.javaspringboottask.refresh.service.RefreshTokenService;
+import com.example.javaspringboottask.refresh.store.RedisTokenStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 다른 노드에서 발생한 블랙리스트 등록 이벤트를 받아 로컬 캐시에 반영하는 리스너.
+ * pub/sub 은 구독이 끊긴 동안의 메시지를 보관하지 않으므로, 구독이 끊기거나 다시 맺어지면 로컬 캐시를 비우고 Redis 기준으로 다시 채운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "redis", matchIfMissing = true)
+public class BlacklistEventListener implements MessageListener, SubscriptionListener {
+
+    private final RefreshTokenService refreshTokenService;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this,
+                new ChannelTopic(RedisTokenStore.BLACKLIST_CHANNEL));
+    }
+
+    /**
+     * 블랙리스트에 등록된 토큰을 로컬 캐시에 반영
+     *
+     * @param message 블랙리스트 등록 이벤트 ({토큰 id}:{만료 시각})
+     * @param pattern 구독 패턴 (사용하지 않음)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        refreshTokenService.applyBlacklistEvent(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 최초 구독과 재연결 후 재구독 시 호출. 구독이 없던 동안 놓친 이벤트가 있을 수 있으므로 로컬 캐시를 비운다.
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.info("블랙리스트 채널 구독, 로컬 캐시 초기화");
+        refreshTokenService.resetBlacklistCache();
+    }
+
+    /**
+     * 구독이 끊기면 이후 이벤트를 받을 수 없으므로 로컬 캐시를 비워 Redis 를 직접 확인하게 한다.
+     */
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        log.warn("블랙리스트 채널 구독 해제, 로컬 캐시 초기화");
+        refreshTokenService.resetBlacklistCache();
+    }
+}
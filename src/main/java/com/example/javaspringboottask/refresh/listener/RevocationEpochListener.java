@@ -0,0 +1,65 @@
+package com.example.javaspringboottask.refresh.listener;
+
+import com.example.javaspringboottask.refresh.service.RevocationEpochService;
+import com.example.javaspringboottask.refresh.store.RedisTokenStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 다른 노드에서 발생한 사용자 토큰 전체 폐기 이벤트를 받아 로컬 복제본에 반영하는 리스너.
+ * pub/sub 은 구독이 끊긴 동안의 메시지를 보관하지 않으므로, 구독이 끊기면 다시 구독한 뒤 Redis 에서 복제본을 다시 채울 때까지 주기적으로 다시 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "redis", matchIfMissing = true)
+public class RevocationEpochListener implements MessageListener, SubscriptionListener {
+
+    private final RevocationEpochService revocationEpochService;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this,
+                new ChannelTopic(RedisTokenStore.REVOCATION_CHANNEL));
+    }
+
+    /**
+     * 폐기 이벤트를 로컬 복제본에 반영
+     *
+     * @param message 폐기 이벤트 ({userId}:{폐기 시각})
+     * @param pattern 구독 패턴 (사용하지 않음)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        revocationEpochService.applyRevocationEvent(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 최초 구독과 재연결 후 재구독 시 호출. 구독이 없던 동안 놓친 이벤트를 Redis 에서 다시 읽는다.
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.info("폐기 채널 구독, 복제본 다시 로딩");
+        revocationEpochService.subscriptionRestored();
+    }
+
+    /**
+     * 구독이 끊기면 이후 폐기 이벤트를 받을 수 없으므로, 다시 구독해 복제본을 다시 채울 때까지 주기적으로 다시 읽는다.
+     */
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        log.warn("폐기 채널 구독 해제, 복제본 다시 로딩 예정");
+        revocationEpochService.subscriptionLost();
+    }
+}
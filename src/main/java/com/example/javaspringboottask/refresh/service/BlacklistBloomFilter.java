@@ -0,0 +1,225 @@
+package com.example.javaspringboottask.refresh.service;
+
+import com.example.javaspringboottask.global.util.BloomFilter;
+import com.example.javaspringboottask.refresh.store.TokenStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 블랙리스트에 등록된 액세스 토큰 id 의 노드 로컬 Bloom 필터.
+ * 필터에 없다고 답한 토큰은 로컬 캐시와 Redis 를 확인하지 않고 바로 통과시킨다.
+ * <p>
+ * 액세스 토큰 만료 시간마다 세대를 교체(current -> previous)하고, 두 세대 중 하나라도 있다고 하면 있다고 본다.
+ * 토큰은 추가된 뒤 최소 한 주기 동안 남아있으므로, 만료 전의 블랙리스트 토큰을 놓치지 않는다.
+ * <p>
+ * 시작 시와 pub/sub 재구독 시에는 TokenStore 의 블랙리스트(Redis 저장소는 BL:* 키 SCAN)로 다시 만든다. 다시 만드는 동안에는 필터를 사용하지 않는다.
+ * 재생성 요청 시점에 새 필터를 먼저 공개하므로 이후의 put 은 SCAN 위치와 관계없이 새 필터에 들어가고, 요청 전의 put 은
+ * 교체 시 이전 세대(previous)로 남는다. 따라서 Redis 쓰기가 아직 반영되지 않은(보관 중인) 토큰도 재생성으로 사라지지 않는다.
+ * 재생성에 실패하면(Redis 장애 등) 간격을 두 배씩 늘려 가며 다시 시도하고, 그동안에도 두 세대에는 계속 추가한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlacklistBloomFilter {
+
+    private final TokenStore tokenStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.blacklist.bloom.expected-insertions:100000}")
+    private long expectedInsertions; // 한 세대(액세스 토큰 만료 시간) 동안 예상되는 블랙리스트 등록 수
+
+    @Value("${jwt.blacklist.bloom.fpp:0.01}")
+    private double fpp; // 목표 오탐률
+
+    private static final long REBUILD_INITIAL_BACKOFF_MILLIS = 1000;
+    private static final long REBUILD_MAX_BACKOFF_MILLIS = 60000;
+
+    private final ScheduledExecutorService rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "blacklist-bloom-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile BloomFilter building; // 다시 만드는 중인 필터, 그동안 추가된 토큰도 함께 담는다
+    private volatile boolean ready; // false 면 필터를 사용하지 않고 항상 있을 수 있다고 답함
+    private final AtomicLong rebuildRequests = new AtomicLong(); // 마지막 재생성 요청 이후의 결과만 ready 로 인정
+
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    public void init() {
+        this.current = new BloomFilter(expectedInsertions, fpp);
+        this.previous = new BloomFilter(expectedInsertions, fpp);
+
+        Gauge.builder("jwt.blacklist.bloom.fpp", this, filter -> filter.current.expectedFpp())
+                .description("현재 세대 Bloom 필터의 예상 오탐률")
+                .register(meterRegistry);
+        Gauge.builder("jwt.blacklist.bloom.memory", this, filter -> filter.current.memoryBytes() + filter.previous.memoryBytes())
+                .description("두 세대 Bloom 필터의 비트 배열 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("jwt.blacklist.bloom.insertions", this, filter -> filter.current.insertions())
+                .description("현재 세대 Bloom 필터에 추가된 토큰 수")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("jwt.blacklist.bloom.rebuild")
+                .description("Redis SCAN 으로 Bloom 필터를 다시 만드는 데 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 애플리케이션 시작이 끝나면 Redis 의 블랙리스트로 필터를 만든다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.rebuildAsync();
+    }
+
+    /**
+     * 블랙리스트에 등록된 토큰 id 를 필터에 추가
+     *
+     * @param revocationId 블랙리스트에 등록된 액세스 토큰 id
+     */
+    public void put(long revocationId) {
+        // 재생성 시작, 교체와 겹쳐 어느 필터에도 남지 않는 일이 없도록 잠금 안에서 추가
+        synchronized (lock) {
+            current.put(revocationId);
+            if (building != null) {
+                building.put(revocationId);
+            }
+        }
+    }
+
+    /**
+     * 블랙리스트에 등록되었을 가능성이 있는지 확인
+     *
+     * @param revocationId 확인할 액세스 토큰 id
+     * @return 등록된 적이 없으면 false, 등록되었거나 오탐 또는 필터 준비 중이면 true
+     */
+    public boolean mightContain(long revocationId) {
+        return !ready || current.mightContain(revocationId) || previous.mightContain(revocationId);
+    }
+
+    /**
+     * 준비 여부와 관계없이 이 노드에서 추가한 두 세대만으로 확인 (Redis 를 사용할 수 없을 때의 로컬 복제본).
+     * 준비되지 않았으면 재생성 전에 다른 노드에서 등록된 토큰은 알 수 없지만, 이 노드의 등록과 수신한 이벤트는 남아있다.
+     *
+     * @param revocationId 확인할 액세스 토큰 id
+     * @return 이 노드에 추가된 적이 없으면 false
+     */
+    public boolean mightContainLocally(long revocationId) {
+        return current.mightContain(revocationId) || previous.mightContain(revocationId);
+    }
+
+    /**
+     * 필터가 Redis 의 블랙리스트로 만들어져 사용 중인지 확인
+     *
+     * @return 다시 만드는 중이거나 재생성에 실패했으면 false
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 액세스 토큰 만료 시간마다 세대를 교체
+     */
+    @Scheduled(fixedRateString = "${jwt.expiry-millis}", initialDelayString = "${jwt.expiry-millis}")
+    public void rollover() {
+        synchronized (lock) {
+            previous = current;
+            current = new BloomFilter(expectedInsertions, fpp);
+        }
+    }
+
+    /**
+     * 필터를 사용하지 않도록 표시한 뒤 별도 스레드에서 다시 만든다.
+     * pub/sub 구독 콜백 스레드에서 Redis 를 호출하지 않도록 비동기로 처리한다.
+     */
+    public void rebuildAsync() {
+        BloomFilter rebuilding = new BloomFilter(expectedInsertions, fpp);
+        long request;
+        // SCAN 을 시작하기 전에 새 필터를 공개해 이후의 put 이 모두 새 필터에도 들어가게 한다
+        synchronized (lock) {
+            request = rebuildRequests.incrementAndGet();
+            building = rebuilding;
+            ready = false;
+        }
+        rebuildExecutor.execute(() -> this.rebuild(request, rebuilding, REBUILD_INITIAL_BACKOFF_MILLIS));
+    }
+
+    /**
+     * 저장소의 블랙리스트 토큰 id 를 모두 읽어 필터를 다시 만든다.
+     * 요청 이후 추가된 토큰은 building 필터에도 함께 추가되므로 교체 후에도 남고, 요청 전에 추가된 토큰은
+     * 교체 전의 current 를 previous 로 남겨 한 세대 동안 유지한다.
+     *
+     * @param backoff 실패하면 다시 시도하기까지 기다릴 시간
+     */
+    void rebuild(long request, BloomFilter rebuilding, long backoff) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            tokenStore.forEachBlacklisted(rebuilding::put);
+
+            synchronized (lock) {
+                previous = current;
+                current = rebuilding;
+                if (building == rebuilding) {
+                    building = null;
+                }
+                // 진행 중에 새 재생성 요청이 들어왔다면 그 요청이 끝날 때까지 사용하지 않음
+                ready = request == rebuildRequests.get();
+            }
+            long elapsedNanos = sample.stop(rebuildTimer);
+            log.info("블랙리스트 Bloom 필터 재생성 완료 토큰 수 : {}, 소요 시간(ms) : {}",
+                    rebuilding.insertions(), elapsedNanos / 1_000_000);
+        } catch (RuntimeException e) {
+            // 실패하면 ready 를 false 로 두어 로컬 캐시와 Redis 로 확인하게 하고, 새 요청이 없으면 같은 필터로 다시 시도한다
+            // (SCAN 도중 읽은 토큰은 남아도 오탐만 늘 뿐이고, 그동안의 put 은 계속 building 에 들어감)
+            boolean superseded;
+            synchronized (lock) {
+                superseded = request != rebuildRequests.get();
+                if (superseded && building == rebuilding) {
+                    building = null;
+                }
+            }
+            if (superseded) {
+                log.warn("블랙리스트 Bloom 필터 재생성 실패, 새 재생성 요청으로 대체", e);
+                return;
+            }
+            log.error("블랙리스트 Bloom 필터 재생성 실패, {}ms 후 다시 시도", backoff, e);
+            this.scheduleRetry(request, rebuilding, backoff);
+        }
+    }
+
+    private void scheduleRetry(long request, BloomFilter rebuilding, long backoff) {
+        long nextBackoff = Math.min(backoff * 2, REBUILD_MAX_BACKOFF_MILLIS);
+        try {
+            rebuildExecutor.schedule(() -> this.rebuild(request, rebuilding, nextBackoff), backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+}
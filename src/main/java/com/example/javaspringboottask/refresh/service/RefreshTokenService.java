@@ -1,24 +1,35 @@
 package com.example.javaspringboottask.refresh.service;
 
 
+import com.example.javaspringboottask.global.auth.UserDetailsImpl;
 import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
 import com.example.javaspringboottask.global.exception.ErrorCode;
+import com.example.javaspringboottask.global.util.Base62;
 import com.example.javaspringboottask.global.util.JwtProvider;
+import com.example.javaspringboottask.global.util.LongExpiringCache;
+import com.example.javaspringboottask.global.util.RedisGuard;
+import com.example.javaspringboottask.global.util.VerifiedToken;
+import com.example.javaspringboottask.refresh.dto.SessionResponseDto;
+import com.example.javaspringboottask.refresh.store.TokenStore;
+import com.example.javaspringboottask.user.dto.TokenResponse;
 import com.example.javaspringboottask.user.entity.User;
+import com.example.javaspringboottask.user.entity.type.Role;
 import com.example.javaspringboottask.user.repository.UserRepository;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static com.example.javaspringboottask.global.constant.TokenPrefix.TOKEN_PREFIX;
 
@@ -27,136 +38,200 @@ import static com.example.javaspringboottask.global.constant.TokenPrefix.TOKEN_P
 @Slf4j
 public class RefreshTokenService {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TokenStore tokenStore; // 세션, 블랙리스트 저장소 (jwt.token-store.type)
     private final UserRepository userRepository;
     private final JwtProvider jwtProvider;
-    private final UserDetailsService userDetailsService;
-    private final Cache<String, Boolean> blacklistCache = Caffeine.newBuilder()
-        .expireAfterWrite(5, TimeUnit.MINUTES)
-        .maximumSize(10000)
-        .build();
+    private final BlacklistBloomFilter blacklistBloomFilter;
+    private final RevocationEpochService revocationEpochService;
+    private final RedisGuard redisGuard; // 모든 저장소 호출을 감싸는 서킷 브레이커 (Redis 장애 대비)
 
+    @Value("${jwt.session.max-per-user:5}")
+    private int maxSessionsPerUser; // 사용자별 최대 로그인 세션 수
 
-    private static final String REFRESH_TOKEN_PREFIX = "RT:"; // Redis 리프레시 토큰 키 접두사
-    private static final String BLACKLIST_TOKEN_PREFIX = "BL:"; // 액세스 토큰  블랙리스트 키 접두사
-    private static final long REFRESH_TOKEN_EXPIRE_TIME = 7L; // 리프레시 토큰 만료 시간 (7일)
+    @Value("${jwt.blacklist.local-cache-ttl-millis:600000}")
+    private long blacklistCacheTtlMillis; // 블랙리스트 로컬 캐시 유지 시간
+
+    @Value("${jwt.blacklist.local-cache-size:100000}")
+    private int blacklistCacheSize; // 블랙리스트 로컬 캐시 최대 개수
 
     /**
-     * Redis에 리프레시 토큰 저장. Key: RT:{userId}, Value: refreshToken
-     *
-     * @param userId 저장할 사용자 ID
-     * @param token  리프레시 토큰 값
+     * 블랙리스트 확인 결과 로컬 캐시 (등록되지 않은 토큰의 false 결과 포함). 키는 토큰 id(jti) 의 64비트 값.
+     * 등록 이벤트를 pub/sub 으로 모든 노드에 전달하므로 false 결과도 길게 유지할 수 있다.
      */
-    public void saveRefreshToken(Long userId, String token) {
-        String key = REFRESH_TOKEN_PREFIX + userId;
+    private LongExpiringCache blacklistCache;
 
-        // Redis에 토큰 저장 및 만료 시간 설정
-        redisTemplate.opsForValue().set(key, token, Duration.ofDays(REFRESH_TOKEN_EXPIRE_TIME));
-        log.info("리프레시 토큰 저장 userId : {}", userId);
+    @PostConstruct
+    public void init() {
+        this.blacklistCache = new LongExpiringCache(blacklistCacheSize);
     }
 
     /**
-     * 리프레시 토큰을 사용해 새로운 액세스 토큰을 발급.
+     * 로그인 세션 저장. 사용자별로 기기별 세션(familyId -> 현재 jti, 발급 시각)을 담는다.
+     * 최대 세션 수를 넘으면 가장 오래 전에 발급된 세션부터 제거한다.
+     * Redis 장애 중에는 redis.degraded-policy 가 QUEUE_WRITES 일 때만 보관했다가 복구 후 저장한다 (발급 시각은 로그인 시각 유지).
      *
-     * @param refreshToken 클라이언트에서 전달받은 리프레시 토큰
-     * @return 새로 발급된 액세스 토큰
+     * @param userId        저장할 사용자 ID
+     * @param tokenResponse 새로 발급한 토큰 (familyId, refreshTokenId 사용)
      */
-    public String generateAccessTokenFromRefreshToken(String refreshToken) {
-        // 리프레시 토큰 검증
-        validateRefreshToken(refreshToken);
-
-        // 토큰에서 사용자 이메일 추출
-        String email = jwtProvider.getUsername(refreshToken);
-
-        // UserDetails 객체 생성
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-        // 새로운 인증 객체 생성
-        Authentication authentication = new UsernamePasswordAuthenticationToken(
-            userDetails, null, userDetails.getAuthorities());
+    public void saveRefreshToken(Long userId, TokenResponse tokenResponse) {
+        long issuedAt = System.currentTimeMillis();
+        redisGuard.write("세션 저장 userId : " + userId, () -> {
+            long evicted = tokenStore.createSession(
+                userId,
+                tokenResponse.getFamilyId(),
+                tokenResponse.getRefreshTokenId(),
+                issuedAt,
+                jwtProvider.getRefreshExpiryMillis(),
+                maxSessionsPerUser
+            );
+            log.info("리프레시 토큰 저장 userId : {}, 제거된 세션 수 : {}", userId, evicted);
+        });
+    }
 
-        // JWT 액세스 토큰 생성 후 반환
-        return jwtProvider.generateAccessToken(authentication);
+    /**
+     * 사용자의 로그인 세션 목록 조회 (Redis 저장소는 HGETALL 1회)
+     *
+     * @param userId 사용자 ID
+     * @return 최근 발급 순으로 정렬된 세션 목록
+     */
+    public List<SessionResponseDto> getSessions(Long userId) {
+        Map<String, Long> entries = redisGuard.execute(() -> tokenStore.getSessions(userId));
+
+        return entries.entrySet().stream()
+            .map(entry -> new SessionResponseDto(
+                entry.getKey(),
+                Instant.ofEpochMilli(entry.getValue())))
+            .sorted(Comparator.comparing(SessionResponseDto::getLastIssuedAt).reversed())
+            .toList();
     }
 
     /**
-     * 리프레시 토큰의 유효성을 검증.
-     * 1. JWT 토큰 자체의 유효성 확인.
-     * 2. Redis 에 저장된 토큰과 비교.
+     * 사용자의 로그인 세션 하나를 폐기 (Redis 저장소는 HDEL 1회)
      *
-     * @param refreshToken 검증할 리프레시 토큰
+     * @param userId    사용자 ID
+     * @param sessionId 폐기할 세션 id (familyId)
+     * @throws CustomResponseStatusException 세션이 없을 때 발생
      */
-    public void validateRefreshToken(String refreshToken) {
+    public void revokeSession(Long userId, String sessionId) {
+        boolean deleted = redisGuard.execute(() -> tokenStore.deleteSession(userId, sessionId));
+        if (!deleted) {
+            throw new CustomResponseStatusException(ErrorCode.NOT_FOUND_SESSION);
+        }
+        log.info("세션 폐기 userId : {}, sessionId : {}", userId, sessionId);
+    }
 
+    /**
+     * 리프레시 토큰을 사용해 새로운 액세스 토큰과 리프레시 토큰을 발급.
+     * 1. JWT 서명 검증 (CPU 만 사용)
+     * 2. 토큰에 담긴 유저 id, 권한으로 같은 패밀리의 새 토큰 생성 (DB 조회 없음)
+     * 3. 저장소에서 세션(패밀리) 기록 비교와 교체를 원자적으로 처리 (Redis 저장소는 스크립트 한 번)
+     *    이미 교체된 토큰이 다시 제출되면 탈취로 보고 해당 세션을 폐기한다.
+     *    교체는 Redis 에서 원자적으로 처리해야 하므로 Redis 장애 중에는 정책과 관계없이 503 으로 실패한다.
+     *
+     * @param refreshToken 클라이언트에서 전달받은 리프레시 토큰
+     * @return 새로 발급된 액세스 토큰과 리프레시 토큰
+     */
+    public TokenResponse reissueTokens(String refreshToken) {
         // JWT 토큰 자체의 유효성 검증
-        if (!jwtProvider.validateRefreshToken(refreshToken)) {
+        VerifiedToken verifiedToken = jwtProvider.verify(refreshToken);
+        if (verifiedToken == null || !verifiedToken.isRefreshToken()) {
             log.error("JWT refresh token validation failed");
             throw new CustomResponseStatusException(ErrorCode.UNAUTHORIZED_TOKEN);
         }
 
-        // Redis에 저장된 리프레시 토큰 검증 과정
-        // 1. 토큰에 담겨있는 user email 을 가져온다.
-        String username = jwtProvider.getUsername(refreshToken);
-
-        // 2. 이메일을 통해 해당 유저 객체를 찾는다.
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new CustomResponseStatusException(ErrorCode.NOT_FOUND_USER));
-
-        // 3. redisTemplate 의 get 을 사용해 RT:userId 가 키인 값의 value -> 즉 리프레시 토큰값을 가져온다.
-        String storedToken = redisTemplate.opsForValue().get(REFRESH_TOKEN_PREFIX + user.getId());
+        // 사용자 전체 토큰 폐기 이전에 발급된 리프레시 토큰은 사용할 수 없음
+        if (revocationEpochService.isRevoked(verifiedToken)) {
+            log.error("Revoked refresh token. userId : {}", verifiedToken.getUserId());
+            throw new CustomResponseStatusException(ErrorCode.UNAUTHORIZED_TOKEN);
+        }
 
-        log.info("Stored token : {}", storedToken);
-        log.info("Received refresh token: {}", refreshToken);
+        // 패밀리 정보가 없는 이전 형식의 토큰은 재로그인 필요
+        if (verifiedToken.getFamilyId() == null || verifiedToken.getJti() == null) {
+            log.error("Refresh token without family. subject : {}", verifiedToken.getSubject());
+            throw new CustomResponseStatusException(ErrorCode.UNAUTHORIZED_TOKEN);
+        }
 
-        // 4. 현재 들어온 리프레시토큰과 같지않거나 null 이라면 유효하지 않은 토큰 에러를 반환
-        if (storedToken == null || !storedToken.equals(refreshToken)) {
-            log.error("Stored token mismatch or null. Stored: {}, Received: {}", storedToken,
-                refreshToken);
+        UserDetailsImpl principal = this.toPrincipal(verifiedToken);
+        TokenResponse tokenResponse = jwtProvider.generateTokens(principal, verifiedToken.getFamilyId());
+
+        // 사용자 세션 기록이 제출된 토큰과 같을 때만 새 jti 로 교체
+        TokenStore.RotationResult result = redisGuard.execute(() -> tokenStore.rotateSession(
+            principal.getUserId(),
+            verifiedToken.getFamilyId(),
+            verifiedToken.getJti(),
+            tokenResponse.getRefreshTokenId(),
+            System.currentTimeMillis(),
+            jwtProvider.getRefreshExpiryMillis()
+        ));
+
+        if (result == TokenStore.RotationResult.REUSE_DETECTED) {
+            log.warn("리프레시 토큰 재사용 감지, 세션 폐기 userId : {}, familyId : {}",
+                principal.getUserId(), verifiedToken.getFamilyId());
             throw new CustomResponseStatusException(ErrorCode.UNAUTHORIZED_TOKEN);
         }
+        if (result != TokenStore.RotationResult.ROTATED) {
+            log.error("Unknown refresh token session. userId : {}", principal.getUserId());
+            throw new CustomResponseStatusException(ErrorCode.UNAUTHORIZED_TOKEN);
+        }
+        return tokenResponse;
     }
 
     /**
-     * 로그아웃 시 호출하여 Redis 에서 해당 사용자의 리프레시 토큰을 제거.
+     * 리프레시 토큰 클레임으로 인증 주체를 생성.
+     * uid, role 클레임이 없는 이전 리프레시 토큰만 DB 에서 사용자를 조회한다.
      *
-     * @param authentication 현재 인증된 인증 객체
-     * @throws CustomResponseStatusException 이메일에 해당하는 사용자가 존재하지 않을 때 발생
+     * @param verifiedToken 서명 검증이 끝난 리프레시 토큰
+     * @return 인증 주체
      */
-    public void deleteRefreshToken(Authentication authentication) {
-
-        if (authentication == null) {
-            // 인증 객체가 null일 경우 로그에 경고 메시지 출력 후 종료
-            log.warn("인증 객체가 존재하지 않습니다.");
-            return;
+    private UserDetailsImpl toPrincipal(VerifiedToken verifiedToken) {
+        if (verifiedToken.getUserId() != null && verifiedToken.getRole() != null) {
+            try {
+                return UserDetailsImpl.fromClaims(
+                    verifiedToken.getUserId(),
+                    verifiedToken.getSubject(),
+                    Role.valueOf(verifiedToken.getRole()));
+            } catch (IllegalArgumentException e) {
+                throw new CustomResponseStatusException(ErrorCode.UNAUTHORIZED_TOKEN);
+            }
         }
 
-        // 삭제 시도
-        try {
-            String username = authentication.getName();
-
-            User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new CustomResponseStatusException(ErrorCode.NOT_FOUND_USER));
+        User user = userRepository.findByUsername(verifiedToken.getSubject())
+            .orElseThrow(() -> new CustomResponseStatusException(ErrorCode.NOT_FOUND_USER));
+        return new UserDetailsImpl(user);
+    }
 
-            // Redis 에서 삭제할 키 생성 (RT:{userId} 형식)
-            String key = REFRESH_TOKEN_PREFIX + user.getId();
+    /**
+     * 재발급에 실패한 리프레시 토큰의 세션(패밀리)만 저장소에서 제거. 같은 사용자의 다른 기기 세션은 유지한다.
+     * 사용자 id 와 패밀리 id 는 토큰에서 읽으므로 DB 를 조회하지 않는다.
+     * 서명을 검증할 수 없거나 만료된 토큰은 어느 세션인지 믿을 수 없으므로 아무것도 지우지 않는다 (세션은 TTL 로 만료).
+     *
+     * @param refreshToken 재발급에 실패한 리프레시 토큰
+     */
+    public void deleteRefreshToken(String refreshToken) {
+        VerifiedToken verifiedToken = jwtProvider.verify(refreshToken);
+        if (verifiedToken == null || !verifiedToken.isRefreshToken()
+            || verifiedToken.getUserId() == null || verifiedToken.getFamilyId() == null) {
+            log.warn("세션을 확인할 수 없는 리프레시 토큰이라 삭제하지 않습니다.");
+            return;
+        }
 
-            // Redis 에서 해당 키 삭제
-            Boolean deleted = redisTemplate.delete(key);
+        Long userId = verifiedToken.getUserId();
+        String familyId = verifiedToken.getFamilyId();
+        // 해당 세션만 삭제 (QUEUE_WRITES 면 Redis 장애 중에는 보관 후 복구 시 삭제)
+        redisGuard.write("세션 삭제 userId : " + userId, () -> {
+            boolean deleted = tokenStore.deleteSession(userId, familyId);
 
             // 삭제 여부에 따라 로그 출력
-            if (Boolean.TRUE.equals(deleted)) {
-                log.info("리프레시 토큰 삭제 userId : {}", user.getId());
+            if (deleted) {
+                log.info("리프레시 토큰 삭제 userId : {}, sessionId : {}", userId, familyId);
             } else {
-                log.warn("해당하는 리프레시 토큰 조회 실패 userId : {}", user.getId());
+                log.warn("해당하는 리프레시 토큰 조회 실패 userId : {}, sessionId : {}", userId, familyId);
             }
-        } catch (Exception ex) { //삭제 실패시 에러 반환
-            log.error("리프레시 토큰 삭제 실패", ex);
-            throw new RuntimeException("리프레시 토큰 삭제 실패", ex);
-        }
+        });
     }
 
     /**
-     * 액세스 토큰을 Redis 블랙리스트에 추가. 만료되지 않은 액세스 토큰을 블랙리스트에 등록하여 인증에 사용되지 않도록 설정.
+     * 액세스 토큰을 블랙리스트에 추가. 만료되지 않은 액세스 토큰을 블랙리스트에 등록하여 인증에 사용되지 않도록 설정.
      *
      * @param bearerToken 클라이언트에서 Authorization 헤더로 전달받은 Bearer 토큰 (예: "Bearer <액세스 토큰>")
      */
@@ -170,66 +245,198 @@ public class RefreshTokenService {
 
         try {
             // Bearer 접두어 제거 후 액세스 토큰 추출
-            String accessToken = bearerToken.substring(7);
+            String accessToken = bearerToken.substring(TOKEN_PREFIX.length());
 
-            // 토큰 유효성 검증
-            if (!jwtProvider.validToken(accessToken)) {
+            // 토큰 유효성 검증 (서명 검증은 여기서 한 번만 수행)
+            VerifiedToken verifiedToken = jwtProvider.verify(accessToken);
+            if (verifiedToken == null) {
                 // 유효하지 않은 토큰이라면 블랙리스트 추가 작업 건너뜀
                 log.warn("Attempting to blacklist invalid token");
                 return;
             }
 
-            // 토큰 만료 시간 추출
-            long expiration = jwtProvider.getExpirationFromToken(accessToken);
-
-            // 현재 시간과 만료 시간 차이를 TTL 로 계산
-            long ttl = expiration - System.currentTimeMillis();
-
-            if (ttl > 0) {
-                // TTL이 0보다 크다면 Redis 에 블랙리스트 키로 저장 (BL: accessToken 값)
-                redisTemplate.opsForValue().set(
-                    BLACKLIST_TOKEN_PREFIX + accessToken,
-                    "blacklisted",
-                    ttl,
-                    TimeUnit.MILLISECONDS
-                );
-
-                blacklistCache.put(accessToken, true);
-
-                log.info("블랙리스트 추가 작업 완료");
-            } else {
-                // 토큰이 이미 만료된 경우 블랙리스트 추가 작업 건너뜀
-                log.warn("이미 만료된 토큰, 블랙리스트 추가 작업 불필요");
-            }
+            addToBlacklist(verifiedToken);
+        } catch (CustomResponseStatusException ex) {
+            throw ex;
         } catch (Exception ex) {
             log.error("블랙리스트 추가 작업 중 에러 발생", ex);
             throw new RuntimeException("블랙리스트 추가 작업 중 에러 발생", ex);
         }
     }
 
+    /**
+     * 이미 검증된 액세스 토큰을 블랙리스트에 추가. 필터 등에서 검증한 결과를 그대로 넘겨 재파싱을 피한다.
+     * 로컬 복제본(캐시, Bloom 필터)에 먼저 반영하므로 Redis 장애 중에도 이 노드에서는 바로 거절된다.
+     * Redis 저장소의 Key: BL:{토큰 id (base62)}
+     *
+     * @param verifiedToken 서명 검증이 끝난 액세스 토큰
+     */
+    public void addToBlacklist(VerifiedToken verifiedToken) {
+        // 현재 시간과 만료 시간 차이를 TTL 로 계산
+        long now = System.currentTimeMillis();
+        long ttl = verifiedToken.remainingMillis(now);
+
+        if (ttl > 0) {
+            long revocationId = revocationIdOf(verifiedToken);
+            blacklistCache.put(revocationId, true, verifiedToken.getExpiration(), now);
+            blacklistBloomFilter.put(revocationId);
+
+            // 만료 시각까지 저장 (보관 후 다시 실행되면 TTL 은 실행 시점 기준으로 계산되고, 이미 만료되었으면 저장하지 않음)
+            // Redis 저장소는 다른 노드의 로컬 캐시에 남아있는 false 결과를 갱신하도록 등록 이벤트도 발행한다.
+            redisGuard.write("블랙리스트 추가 id : " + Base62.encode(revocationId),
+                () -> tokenStore.addToBlacklist(revocationId, verifiedToken.getExpiration()));
+
+            log.info("블랙리스트 추가 작업 완료");
+        } else {
+            // 토큰이 이미 만료된 경우 블랙리스트 추가 작업 건너뜀
+            log.warn("이미 만료된 토큰, 블랙리스트 추가 작업 불필요");
+        }
+    }
+
     /**
      * 액세스 토큰이 블랙리스트에 있는지 확인. Redis 에서 블랙리스트 키를 검색하여 해당 토큰이 등록되어 있는지 확인. JwtAuthFilter 에서 사용, 인증할 때
      * 확인
      *
-     * @param accessToken 검증할 액세스 토큰
+     * @param verifiedToken 서명 검증이 끝난 액세스 토큰
      * @return 블랙리스트에 등록되어 있다면 true, 그렇지 않으면 false
      */
-    public boolean isTokenBlacklisted(String accessToken) {
-        // 로컬 캐시 확인
-        Boolean cacheResult = blacklistCache.getIfPresent(accessToken);
-        if (cacheResult != null) {
-            return cacheResult;
+    public boolean isTokenBlacklisted(VerifiedToken verifiedToken) {
+        long revocationId = revocationIdOf(verifiedToken);
+        long now = System.currentTimeMillis();
+
+        // Bloom 필터와 로컬 캐시로 결정되면 Redis 를 확인하지 않음
+        int localResult = this.checkBlacklistLocally(revocationId, now);
+        if (localResult != LongExpiringCache.ABSENT) {
+            return localResult == LongExpiringCache.TRUE;
         }
 
-        //캐시에 없으면 Redis에서 BL:<액세스 토큰> 키가 존재하는지 확인
+        //캐시에 없으면 저장소에서 확인 (Redis 저장소는 BL:<토큰 id> 키, 클라이언트 캐시를 켜면 Redis 무효화 기반 캐시에서 응답)
         //존재한다면 true 가 리턴될 것이고 캐시에도 해당 토큰이 블랙리스트라는 정보가 들어감
-        boolean isBlacklisted = Boolean.TRUE.equals(
-            redisTemplate.hasKey(BLACKLIST_TOKEN_PREFIX + accessToken)
-        );
+        //Redis 를 사용할 수 없으면 로컬 복제본으로 응답하고, 이 결과는 캐시하지 않음
+        return redisGuard.read(() -> {
+            boolean isBlacklisted = tokenStore.isBlacklisted(revocationId);
+
+            log.info("블랙리스트 값 확인");
+            this.cacheBlacklistResult(verifiedToken, revocationId, isBlacklisted, now);
+            return isBlacklisted;
+        }, () -> this.isBlacklistedByLocalMirror(revocationId));
+    }
+
+    /**
+     * isTokenBlacklisted 의 비동기 버전. Redis 조회가 필요하면 리액티브 연결로 보내고 바로 반환하므로,
+     * 호출한 쪽은 응답을 기다리는 동안 사용자 조회 같은 다른 작업을 진행할 수 있다.
+     * Redis 명령 시간 제한(spring.data.redis.timeout)이 지나면 예외로 완료된다.
+     *
+     * @param verifiedToken 서명 검증이 끝난 액세스 토큰
+     * @return 블랙리스트 여부를 담은 future
+     */
+    public CompletableFuture<Boolean> isTokenBlacklistedAsync(VerifiedToken verifiedToken) {
+        long revocationId = revocationIdOf(verifiedToken);
+        long now = System.currentTimeMillis();
 
-        log.info("블랙리스트 값 확인");
-        blacklistCache.put(accessToken, isBlacklisted);
+        int localResult = this.checkBlacklistLocally(revocationId, now);
+        if (localResult != LongExpiringCache.ABSENT) {
+            return CompletableFuture.completedFuture(localResult == LongExpiringCache.TRUE);
+        }
+
+        return redisGuard.readAsync(
+            () -> tokenStore.isBlacklistedAsync(revocationId)
+                .thenApply(isBlacklisted -> {
+                    this.cacheBlacklistResult(verifiedToken, revocationId, isBlacklisted, now);
+                    return isBlacklisted;
+                }),
+            () -> this.isBlacklistedByLocalMirror(revocationId));
+    }
 
+    /**
+     * Bloom 필터와 로컬 캐시만으로 블랙리스트 여부 확인
+     *
+     * @return TRUE/FALSE, 로컬에서 결정할 수 없으면 ABSENT
+     */
+    private int checkBlacklistLocally(long revocationId, long now) {
+        // Bloom 필터에 없으면 블랙리스트에 등록된 적이 없으므로 로컬 캐시와 Redis 모두 확인하지 않음
+        if (!blacklistBloomFilter.mightContain(revocationId)) {
+            return LongExpiringCache.FALSE;
+        }
+        // 로컬 캐시 확인
+        return blacklistCache.get(revocationId, now);
+    }
+
+    /**
+     * Redis 를 사용할 수 없을 때 로컬 복제본으로 블랙리스트 여부를 판단.
+     * Bloom 필터의 두 세대에 있을 수 있다고 하면 블랙리스트로 본다 (오탐률만큼 정상 토큰도 거절).
+     * 필터가 준비되지 않았어도(시작 직후, 재생성 중, 재생성 실패) 두 세대에는 이 노드의 등록과 수신한 이벤트가 계속 추가되므로
+     * 그것으로 판단한다. 준비되지 않은 동안 다른 노드에서 이벤트 없이 등록된 토큰만 놓칠 수 있다.
+     *
+     * @param revocationId 액세스 토큰 id
+     * @return 블랙리스트로 볼지 여부
+     */
+    private boolean isBlacklistedByLocalMirror(long revocationId) {
+        boolean isBlacklisted = blacklistBloomFilter.mightContainLocally(revocationId);
+        log.debug("Redis 장애로 로컬 복제본에서 블랙리스트 확인 id : {}, 결과 : {}", revocationId, isBlacklisted);
         return isBlacklisted;
     }
+
+    private void cacheBlacklistResult(VerifiedToken verifiedToken, long revocationId, boolean isBlacklisted, long now) {
+        long expiresAt = isBlacklisted
+            ? verifiedToken.getExpiration()
+            : Math.min(verifiedToken.getExpiration(), now + blacklistCacheTtlMillis);
+        blacklistCache.put(revocationId, isBlacklisted, expiresAt, now);
+    }
+
+    /**
+     * 다른 노드에서 발행한 블랙리스트 등록 이벤트를 로컬 캐시에 반영
+     *
+     * @param message 블랙리스트 등록 이벤트 ({토큰 id (base62)}:{만료 시각})
+     */
+    public void applyBlacklistEvent(String message) {
+        int separator = message.indexOf(':');
+        try {
+            long revocationId = Base62.decode(message.substring(0, separator));
+            long expiration = Long.parseLong(message.substring(separator + 1));
+
+            blacklistBloomFilter.put(revocationId);
+            blacklistCache.put(revocationId, true, expiration, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("처리할 수 없는 블랙리스트 이벤트 : {}", message);
+        }
+    }
+
+    /**
+     * 로컬 캐시를 모두 비우고 Bloom 필터를 다시 만듦. 이벤트 구독이 끊겨 캐시를 신뢰할 수 없을 때 호출한다.
+     */
+    public void resetBlacklistCache() {
+        blacklistBloomFilter.rebuildAsync();
+        blacklistCache.clear();
+    }
+
+    /**
+     * 블랙리스트 키로 사용할 64비트 토큰 id.
+     * jti 가 없는 이전 형식의 액세스 토큰은 토큰 문자열의 SHA-256 앞 8바이트를 사용한다.
+     *
+     * @param verifiedToken 서명 검증이 끝난 액세스 토큰
+     * @return 0 이 아닌 64비트 토큰 id
+     */
+    static long revocationIdOf(VerifiedToken verifiedToken) {
+        String jti = verifiedToken.getJti();
+        if (jti != null) {
+            try {
+                long id = Base62.decode(jti);
+                if (id != 0) {
+                    return id;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // base62 가 아닌 jti 는 토큰 해시로 대체
+            }
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(verifiedToken.getToken().getBytes(StandardCharsets.US_ASCII));
+            long id = ByteBuffer.wrap(digest).getLong();
+            return id == 0 ? 1L : id;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
 }
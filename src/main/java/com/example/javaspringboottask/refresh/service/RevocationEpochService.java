@@ -0,0 +1,262 @@
+package com.example.javaspringboottask.refresh.service;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.util.JwtProvider;
+import com.example.javaspringboottask.global.util.RedisGuard;
+import com.example.javaspringboottask.global.util.VerifiedToken;
+import com.example.javaspringboottask.refresh.store.TokenStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 토큰 폐기 시각(revocation epoch) 관리.
+ * 폐기 시각 이전에 발급된 액세스/리프레시 토큰은 모두 유효하지 않으므로, 토큰을 하나씩 블랙리스트에 넣지 않고도 사용자의 모든 토큰을 폐기할 수 있다.
+ * <p>
+ * 원본은 TokenStore(Redis 저장소는 RE:{userId})에 두고, 노드마다 ConcurrentHashMap 으로 복제해 요청 처리 중에는 저장소를 호출하지 않는다.
+ * 복제본은 pub/sub 이벤트로 갱신하고, 시작 시와 재구독 시에는 저장소의 폐기 시각을 모두 읽어 다시 채운다.
+ * 구독이 끊긴 뒤로는 구독이 다시 맺어진 상태에서 다시 읽기에 성공할 때까지 주기적으로 다시 읽는다.
+ * <p>
+ * 저장소 호출은 RedisGuard 를 거친다. 커밋 이후처럼 실패를 호출자에게 돌려줄 수 없는 곳은 revokeAllOrRetry 를 사용하며,
+ * 기록하지 못한 폐기 시각은 보관했다가 주기적으로 다시 기록하고 jwt.revocation.pending 으로 알린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevocationEpochService {
+
+    private final TokenStore tokenStore;
+    private final JwtProvider jwtProvider;
+    private final RedisGuard redisGuard;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>(); // userId -> 폐기 시각
+    private final Map<Long, Long> pendingRevocations = new ConcurrentHashMap<>(); // userId -> 저장소에 기록하지 못한 폐기 시각
+
+    private Counter revokeFailures;
+
+    private final AtomicLong subscriptionVersion = new AtomicLong(); // 구독 상태가 바뀔 때마다 증가
+    private volatile boolean subscribed = true; // 폐기 채널 구독 중 여부 (메모리 저장소는 채널이 없으므로 항상 true)
+    private volatile boolean reloadPending; // 놓친 이벤트가 있을 수 있어 다시 읽어야 하는지 여부
+
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "revocation-epoch-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("jwt.revocation.pending", pendingRevocations, Map::size)
+                .description("저장소에 기록하지 못해 다시 시도할 사용자 폐기 수")
+                .register(meterRegistry);
+        this.revokeFailures = Counter.builder("jwt.revocation.failed")
+                .description("저장소에 폐기 시각을 기록하지 못한 횟수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        reloadExecutor.shutdownNow();
+    }
+
+    /**
+     * 토큰이 사용자의 폐기 시각 이전에 발급되었는지 확인 (로컬 복제본만 사용)
+     * 발급 시각은 밀리초 단위(iatm)로 비교하므로 폐기 직후 같은 초에 다시 로그인해 받은 토큰은 유효하다.
+     * iatm 이 없는 기존 토큰은 초 단위 iat 로 비교하여 폐기 시각과 같은 초에 발급된 토큰도 폐기된 것으로 본다.
+     *
+     * @param verifiedToken 서명 검증이 끝난 토큰
+     * @return 폐기된 토큰이면 true
+     */
+    public boolean isRevoked(VerifiedToken verifiedToken) {
+        if (verifiedToken.getUserId() == null) {
+            return false;
+        }
+        Long epoch = epochs.get(verifiedToken.getUserId());
+        return epoch != null && verifiedToken.getIssuedAt() <= epoch;
+    }
+
+    /**
+     * 사용자의 모든 토큰과 세션을 폐기. 저장소에 폐기 시각을 기록하고 세션을 삭제한다.
+     * Redis 저장소는 스크립트 한 번으로 기록, 삭제, 이벤트 발행을 처리한다.
+     *
+     * @param userId 사용자 ID
+     * @throws CustomResponseStatusException 저장소에 기록할 수 없고 보관하지도 않는 경우 (REDIS_UNAVAILABLE)
+     */
+    public void revokeAll(Long userId) {
+        this.revokeAll(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * revokeAll 과 같지만 실패해도 예외를 던지지 않는다. 저장소에 기록하지 못한 폐기 시각은 보관했다가 다시 기록한다.
+     * 트랜잭션 커밋 이후처럼 호출자에게 실패를 돌려줄 수 없는 곳에서 사용한다.
+     *
+     * @param userId 사용자 ID
+     */
+    public void revokeAllOrRetry(Long userId) {
+        long epoch = System.currentTimeMillis();
+        try {
+            this.revokeAll(userId, epoch);
+        } catch (RuntimeException e) {
+            pendingRevocations.merge(userId, epoch, Math::max);
+            revokeFailures.increment();
+            log.error("사용자 토큰 전체 폐기 기록 실패, 다시 시도 예정 userId : {}", userId, e);
+        }
+    }
+
+    /**
+     * 기록하지 못한 폐기 시각을 처음 요청한 시각 그대로 다시 기록. 그 사이 발급된 토큰은 폐기하지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.retry-interval-millis:5000}")
+    public void retryPendingRevocations() {
+        pendingRevocations.forEach((userId, epoch) -> {
+            try {
+                this.revokeAll(userId, epoch);
+                pendingRevocations.remove(userId, epoch);
+            } catch (RuntimeException e) {
+                revokeFailures.increment();
+                log.warn("사용자 토큰 전체 폐기 재시도 실패 userId : {}, 대기 수 : {}", userId, pendingRevocations.size());
+            }
+        });
+    }
+
+    // 이 노드의 복제본에 먼저 반영해 저장소 기록이 늦어져도 이 노드에서는 바로 폐기된다
+    private void revokeAll(Long userId, long epoch) {
+        epochs.merge(userId, epoch, Math::max);
+        // QUEUE_WRITES 면 Redis 장애 중에는 보관 후 복구 시 같은 폐기 시각으로 다시 실행 (더 늦은 시각이 있으면 유지)
+        redisGuard.write("사용자 토큰 전체 폐기 userId : " + userId, () -> {
+            long applied = tokenStore.revokeAll(userId, epoch, jwtProvider.getRefreshExpiryMillis());
+            epochs.merge(userId, applied, Math::max);
+        });
+        log.info("사용자 토큰 전체 폐기 userId : {}", userId);
+    }
+
+    /**
+     * 여러 사용자의 모든 토큰과 세션을 한 번에 폐기 (관리자 일괄 폐기). Redis 저장소는 파이프라인 하나로 보낸다.
+     *
+     * @param userIds 사용자 ID 목록
+     * @return 폐기한 사용자 수
+     * @throws CustomResponseStatusException Redis 를 사용할 수 없는 경우 (REDIS_UNAVAILABLE)
+     */
+    public int revokeAll(List<Long> userIds) {
+        // 처리한 사용자 수를 진행 상황으로 알려야 하므로 보관하지 않고 실패를 그대로 돌려준다
+        Map<Long, Long> applied = redisGuard.execute(() -> tokenStore.revokeAll(userIds, System.currentTimeMillis(),
+            jwtProvider.getRefreshExpiryMillis()));
+        applied.forEach((userId, epoch) -> epochs.merge(userId, epoch, Math::max));
+        return applied.size();
+    }
+
+    /**
+     * 다른 노드에서 발행한 폐기 이벤트를 로컬 복제본에 반영
+     *
+     * @param message 폐기 이벤트 ({userId}:{폐기 시각})
+     */
+    public void applyRevocationEvent(String message) {
+        int separator = message.indexOf(':');
+        try {
+            long userId = Long.parseLong(message.substring(0, separator));
+            long epoch = Long.parseLong(message.substring(separator + 1));
+            epochs.merge(userId, epoch, Math::max);
+        } catch (RuntimeException e) {
+            log.warn("처리할 수 없는 폐기 이벤트 : {}", message);
+        }
+    }
+
+    /**
+     * 애플리케이션 시작이 끝나면 저장소의 폐기 시각으로 복제본을 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.reloadAsync();
+    }
+
+    /**
+     * 별도 스레드에서 복제본을 다시 채운다. pub/sub 구독 콜백 스레드에서 저장소를 호출하지 않도록 비동기로 처리한다.
+     */
+    public void reloadAsync() {
+        reloadExecutor.execute(this::reload);
+    }
+
+    /**
+     * 폐기 채널 구독이 (다시) 맺어졌을 때 호출. 구독이 없던 동안 놓친 이벤트를 저장소에서 다시 읽는다.
+     */
+    public void subscriptionRestored() {
+        subscriptionVersion.incrementAndGet();
+        this.subscribed = true;
+        this.reloadPending = true;
+        this.reloadAsync();
+    }
+
+    /**
+     * 폐기 채널 구독이 끊겼을 때 호출. 이후 이벤트를 받을 수 없으므로 다시 구독한 뒤 다시 읽기에 성공할 때까지 다시 읽는다.
+     */
+    public void subscriptionLost() {
+        subscriptionVersion.incrementAndGet();
+        this.subscribed = false;
+        this.reloadPending = true;
+    }
+
+    /**
+     * 놓친 이벤트가 있을 수 있으면 다시 읽는다. 구독이 끊겨 있는 동안에도 그때까지의 폐기 시각을 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.retry-interval-millis:5000}")
+    public void reloadIfPending() {
+        if (reloadPending) {
+            this.reload();
+        }
+    }
+
+    boolean isReloadPending() {
+        return reloadPending;
+    }
+
+    /**
+     * 저장소의 폐기 시각을 모두 읽어 복제본에 합친다 (Redis 저장소는 RE:* 키 SCAN).
+     * 각 사용자마다 더 늦은 폐기 시각을 유지하므로 읽는 도중 받은 이벤트가 덮어써지지 않는다.
+     * 구독 중에 시작해 도중에 구독 상태가 바뀌지 않은 경우에만 다시 읽기를 끝낸 것으로 본다.
+     */
+    void reload() {
+        long version = subscriptionVersion.get();
+        boolean subscribedAtStart = subscribed;
+        long started = System.currentTimeMillis();
+        try {
+            AtomicInteger loaded = new AtomicInteger();
+            tokenStore.forEachRevocationEpoch((userId, epoch) -> {
+                epochs.merge(userId, epoch, Math::max);
+                loaded.incrementAndGet();
+            });
+            if (subscribedAtStart && subscriptionVersion.get() == version) {
+                this.reloadPending = false;
+            }
+            log.info("폐기 시각 복제본 로딩 완료 사용자 수 : {}, 소요 시간(ms) : {}",
+                loaded.get(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("폐기 시각 복제본 로딩 실패, 다시 시도 예정", e);
+        }
+    }
+
+    /**
+     * 리프레시 토큰 만료 시간보다 오래된 폐기 시각은 그 이전에 발급된 토큰이 모두 만료되었으므로 복제본에서 제거
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval-millis:3600000}")
+    public void evictExpired() {
+        long threshold = System.currentTimeMillis() - jwtProvider.getRefreshExpiryMillis();
+        epochs.values().removeIf(epoch -> epoch < threshold);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.javaspringboottask.refresh.store;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import com.example.javaspringboottask.global.util.LongExpiryTable;
+import com.example.javaspringboottask.global.util.TimerWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * 프로세스 내부 TokenStore. Redis 없이 단일 노드로 운영하거나 테스트할 때 사용한다.
+ * <p>
+ * 항목은 ConcurrentHashMap(세션, 폐기 시각)과 long 배열 기반 LongExpiryTable(블랙리스트)에 두고, 만료는 종류별 TimerWheel 하나와
+ * 스레드 하나로 처리한다. 항목마다 예약 작업을 만들지 않으며, 조회 시에도 만료 시각을 확인하므로 정리가 늦어도 만료된 항목은 보이지 않는다.
+ * 종류별 항목 수는 jwt.token-store.memory.maximum-size 를 넘지 않으며, 가득 차면 만료된 항목을 정리하고 그래도 자리가 없으면 503 으로 거절한다.
+ * 블랙리스트는 보안 정보이므로 캐시처럼 오래된 항목을 버리지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "memory")
+public class InMemoryTokenStore implements TokenStore {
+
+    @Value("${jwt.token-store.memory.maximum-size:1000000}")
+    private int maximumSize; // 종류(세션 사용자, 블랙리스트, 폐기 시각)별 최대 항목 수
+
+    @Value("${jwt.token-store.memory.tick-millis:1000}")
+    private long tickMillis; // 만료 확인 주기 (timer wheel 슬롯 하나의 시간)
+
+    @Value("${jwt.token-store.memory.wheel-size:4096}")
+    private int wheelSize; // timer wheel 슬롯 수
+
+    private final Map<Long, UserSessions> sessions = new ConcurrentHashMap<>(); // userId -> 세션 묶음
+    private final Map<Long, Epoch> epochs = new ConcurrentHashMap<>(); // userId -> 폐기 시각
+
+    private final ScheduledExecutorService expiryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-store-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private LongExpiryTable blacklist; // 토큰 id -> 만료 시각
+    private TimerWheel sessionWheel;
+    private TimerWheel blacklistWheel;
+    private TimerWheel epochWheel;
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        this.blacklist = new LongExpiryTable(maximumSize);
+        this.sessionWheel = new TimerWheel(tickMillis, wheelSize, now);
+        this.blacklistWheel = new TimerWheel(tickMillis, wheelSize, now);
+        this.epochWheel = new TimerWheel(tickMillis, wheelSize, now);
+        expiryExecutor.scheduleWithFixedDelay(() -> this.expire(System.currentTimeMillis()),
+            tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("프로세스 내부 토큰 저장소 사용, 종류별 최대 항목 수 : {}", maximumSize);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        expiryExecutor.shutdownNow();
+    }
+
+    @Override
+    public long createSession(Long userId, String familyId, String jti, long issuedAt, long ttlMillis, int maxSessions) {
+        long now = System.currentTimeMillis();
+        this.checkCapacity(sessions, userId, UserSessions::expiresAt);
+        long[] evicted = {0};
+        sessions.compute(userId, (id, current) -> {
+            Map<String, Session> entries = new HashMap<>();
+            if (current != null && current.expiresAt() > now) {
+                entries.putAll(current.entries());
+            }
+            entries.put(familyId, new Session(jti, issuedAt));
+
+            // 리프레시 토큰이 이미 만료된 세션은 바로 정리
+            int before = entries.size();
+            entries.values().removeIf(session -> session.issuedAt() + ttlMillis <= issuedAt);
+            evicted[0] = before - entries.size();
+
+            // 최대 세션 수를 넘으면 가장 오래 전에 발급된 세션부터 제거
+            if (entries.size() > maxSessions) {
+                List<Map.Entry<String, Session>> oldestFirst = new ArrayList<>(entries.entrySet());
+                oldestFirst.sort(Comparator.comparingLong(entry -> entry.getValue().issuedAt()));
+                int excess = entries.size() - maxSessions;
+                for (int i = 0; i < excess; i++) {
+                    entries.remove(oldestFirst.get(i).getKey());
+                }
+                evicted[0] += excess;
+            }
+            return new UserSessions(Map.copyOf(entries), now + ttlMillis);
+        });
+        sessionWheel.schedule(userId, now + ttlMillis);
+        return evicted[0];
+    }
+
+    @Override
+    public RotationResult rotateSession(Long userId, String familyId, String jti, String newJti,
+                                        long issuedAt, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        RotationResult[] result = {RotationResult.UNKNOWN_SESSION};
+        sessions.computeIfPresent(userId, (id, current) -> {
+            if (current.expiresAt() <= now) {
+                return null;
+            }
+            Session session = current.entries().get(familyId);
+            if (session == null) {
+                return current;
+            }
+
+            Map<String, Session> entries = new HashMap<>(current.entries());
+            if (session.jti().equals(jti)) {
+                entries.put(familyId, new Session(newJti, issuedAt));
+                result[0] = RotationResult.ROTATED;
+                return new UserSessions(Map.copyOf(entries), now + ttlMillis);
+            }
+            // 이미 교체된 토큰이 다시 제출되면 세션 폐기
+            entries.remove(familyId);
+            result[0] = RotationResult.REUSE_DETECTED;
+            return entries.isEmpty() ? null : new UserSessions(Map.copyOf(entries), current.expiresAt());
+        });
+        if (result[0] == RotationResult.ROTATED) {
+            sessionWheel.schedule(userId, now + ttlMillis);
+        }
+        return result[0];
+    }
+
+    @Override
+    public Map<String, Long> getSessions(Long userId) {
+        UserSessions current = sessions.get(userId);
+        if (current == null || current.expiresAt() <= System.currentTimeMillis()) {
+            return Map.of();
+        }
+        Map<String, Long> result = new HashMap<>(current.entries().size());
+        current.entries().forEach((familyId, session) -> result.put(familyId, session.issuedAt()));
+        return result;
+    }
+
+    @Override
+    public boolean deleteSession(Long userId, String familyId) {
+        long now = System.currentTimeMillis();
+        boolean[] deleted = {false};
+        sessions.computeIfPresent(userId, (id, current) -> {
+            if (current.expiresAt() <= now) {
+                return null;
+            }
+            if (!current.entries().containsKey(familyId)) {
+                return current;
+            }
+            deleted[0] = true;
+            Map<String, Session> entries = new HashMap<>(current.entries());
+            entries.remove(familyId);
+            return entries.isEmpty() ? null : new UserSessions(Map.copyOf(entries), current.expiresAt());
+        });
+        return deleted[0];
+    }
+
+    @Override
+    public boolean deleteSessions(Long userId) {
+        UserSessions removed = sessions.remove(userId);
+        return removed != null && removed.expiresAt() > System.currentTimeMillis();
+    }
+
+    @Override
+    public void addToBlacklist(long tokenId, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return;
+        }
+        if (!blacklist.put(tokenId, expiresAt, now)) {
+            log.error("토큰 저장소 블랙리스트가 가득 참, 최대 항목 수 : {}", maximumSize);
+            throw new CustomResponseStatusException(ErrorCode.TOKEN_STORE_FULL);
+        }
+        blacklistWheel.schedule(tokenId, expiresAt);
+    }
+
+    @Override
+    public boolean isBlacklisted(long tokenId) {
+        return blacklist.contains(tokenId, System.currentTimeMillis());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isBlacklistedAsync(long tokenId) {
+        return CompletableFuture.completedFuture(this.isBlacklisted(tokenId));
+    }
+
+    @Override
+    public void forEachBlacklisted(LongConsumer action) {
+        blacklist.forEach(System.currentTimeMillis(), action);
+    }
+
+    @Override
+    public long revokeAll(Long userId, long epoch, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        this.checkCapacity(epochs, userId, Epoch::expiresAt);
+        Epoch applied = epochs.merge(userId, new Epoch(epoch, now + ttlMillis),
+            (current, next) -> current.expiresAt() > now && current.epoch() > next.epoch()
+                ? new Epoch(current.epoch(), next.expiresAt())
+                : next);
+        epochWheel.schedule(userId, now + ttlMillis);
+        sessions.remove(userId);
+        return applied.epoch();
+    }
+
+    @Override
+    public Map<Long, Long> revokeAll(List<Long> userIds, long epoch, long ttlMillis) {
+        Map<Long, Long> applied = new HashMap<>(userIds.size() * 2);
+        for (Long userId : userIds) {
+            applied.put(userId, this.revokeAll(userId, epoch, ttlMillis));
+        }
+        return applied;
+    }
+
+    @Override
+    public void forEachRevocationEpoch(EpochConsumer action) {
+        long now = System.currentTimeMillis();
+        epochs.forEach((userId, epoch) -> {
+            if (epoch.expiresAt() > now) {
+                action.accept(userId, epoch.epoch());
+            }
+        });
+    }
+
+    /**
+     * 만료 시각이 지난 항목을 정리. 만료 스레드에서 tickMillis 마다 호출한다.
+     *
+     * @param now 현재 시각 (epoch 밀리초)
+     */
+    void expire(long now) {
+        try {
+            sessionWheel.advance(now, (userId, at) -> expireIfDue(sessions, userId, at, UserSessions::expiresAt));
+            blacklistWheel.advance(now, blacklist::expireIfDue);
+            epochWheel.advance(now, (userId, at) -> expireIfDue(epochs, userId, at, Epoch::expiresAt));
+        } catch (RuntimeException e) {
+            log.error("토큰 저장소 만료 처리 실패", e);
+        }
+    }
+
+    /**
+     * @return 종류별 저장된 항목 수 (세션 사용자, 블랙리스트, 폐기 시각)
+     */
+    long[] sizes() {
+        return new long[]{sessions.size(), blacklist.size(), epochs.size()};
+    }
+
+    private static <V> long expireIfDue(Map<Long, V> map, long key, long now, ToLongFunction<V> expiresAtOf) {
+        long[] remaining = {-1};
+        map.computeIfPresent(key, (id, value) -> {
+            long expiresAt = expiresAtOf.applyAsLong(value);
+            if (expiresAt <= now) {
+                return null;
+            }
+            remaining[0] = expiresAt;
+            return value;
+        });
+        return remaining[0];
+    }
+
+    // 새 사용자 항목을 넣기 전에 최대 항목 수 확인. 가득 찼으면 만료된 항목을 먼저 정리한다.
+    // timer wheel 은 만료 스레드에서만 진행하므로 여기서는 맵을 직접 정리한다.
+    private <V> void checkCapacity(Map<Long, V> map, Long userId, ToLongFunction<V> expiresAtOf) {
+        if (map.size() < maximumSize || map.containsKey(userId)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        map.values().removeIf(value -> expiresAtOf.applyAsLong(value) <= now);
+        if (map.size() >= maximumSize) {
+            log.error("토큰 저장소가 가득 참, 최대 항목 수 : {}", maximumSize);
+            throw new CustomResponseStatusException(ErrorCode.TOKEN_STORE_FULL);
+        }
+    }
+
+    private record Session(String jti, long issuedAt) {
+    }
+
+    private record UserSessions(Map<String, Session> entries, long expiresAt) {
+    }
+
+    private record Epoch(long epoch, long expiresAt) {
+    }
+}
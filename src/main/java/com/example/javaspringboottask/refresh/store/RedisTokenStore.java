@@ -0,0 +1,308 @@
+package com.example.javaspringboottask.refresh.store;
+
+import com.example.javaspringboottask.global.util.Base62;
+import com.example.javaspringboottask.global.util.RedisTrackingCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Redis 기반 TokenStore. 여러 노드가 같은 Redis 를 공유한다.
+ * <ul>
+ *     <li>RT:{userId} 해시: field = familyId(세션 id), value = "{jti}:{발급 시각 ms}"</li>
+ *     <li>BL:{토큰 id (base62)}: 블랙리스트, 토큰 만료 시각까지 유지</li>
+ *     <li>RE:{userId}: 사용자별 폐기 시각, 리프레시 토큰 만료 시간 동안 유지</li>
+ * </ul>
+ * RT, RE 키의 userId 는 중괄호까지 키에 포함되는 해시 태그이므로, 한 사용자의 두 키는 클러스터에서도 같은 슬롯에 있어
+ * 두 키를 함께 쓰는 폐기 스크립트를 실행할 수 있다.
+ * 블랙리스트 등록과 전체 폐기는 pub/sub 채널로 다른 노드의 로컬 복제본에 전파한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "redis", matchIfMissing = true)
+public class RedisTokenStore implements TokenStore {
+
+    public static final String BLACKLIST_CHANNEL = "blacklist:revoked"; // 블랙리스트 등록 이벤트 채널
+    public static final String REVOCATION_CHANNEL = "revocation:epoch"; // 폐기 이벤트 채널
+    private static final String REFRESH_TOKEN_PREFIX = "RT:"; // Redis 리프레시 토큰 키 접두사
+    private static final String BLACKLIST_TOKEN_PREFIX = "BL:"; // 액세스 토큰  블랙리스트 키 접두사
+    private static final String EPOCH_PREFIX = "RE:"; // Redis 폐기 시각 키 접두사
+    private static final int SCAN_COUNT = 1000;
+    private static final long ROTATED = 1L; // 교체 스크립트 결과: 교체 성공
+    private static final long REUSE_DETECTED = -1L; // 교체 스크립트 결과: 재사용 감지 후 세션 폐기
+    private static final RedisScript<Long> CREATE_SESSION_SCRIPT =
+        RedisScript.of(new ClassPathResource("scripts/create_session.lua"), Long.class);
+    private static final RedisScript<Long> ROTATE_REFRESH_TOKEN_SCRIPT =
+        RedisScript.of(new ClassPathResource("scripts/rotate_refresh_token.lua"), Long.class);
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT =
+        RedisScript.of(new ClassPathResource("scripts/revoke_all_tokens.lua"), Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final RedisTrackingCache redisTrackingCache;
+
+    @Override
+    public long createSession(Long userId, String familyId, String jti, long issuedAt, long ttlMillis, int maxSessions) {
+        Long evicted = redisTemplate.execute(
+            CREATE_SESSION_SCRIPT,
+            List.of(sessionKey(userId)),
+            familyId,
+            jti,
+            String.valueOf(issuedAt),
+            String.valueOf(ttlMillis),
+            String.valueOf(maxSessions)
+        );
+        return evicted == null ? 0L : evicted;
+    }
+
+    @Override
+    public RotationResult rotateSession(Long userId, String familyId, String jti, String newJti,
+                                        long issuedAt, long ttlMillis) {
+        // 클라이언트 캐시를 사용할 때는 이미 폐기된 세션을 스크립트 실행 없이 거절
+        // 교체와 재사용 감지는 원자적으로 처리해야 하므로 세션이 있으면 항상 스크립트로 확인한다.
+        if (redisTrackingCache.isEnabled()
+            && redisTrackingCache.hget(sessionKey(userId), familyId) == null) {
+            return RotationResult.UNKNOWN_SESSION;
+        }
+
+        // RT:{userId} 해시의 세션 기록이 제출된 토큰과 같을 때만 새 jti 로 교체
+        Long result = redisTemplate.execute(
+            ROTATE_REFRESH_TOKEN_SCRIPT,
+            List.of(sessionKey(userId)),
+            familyId,
+            jti,
+            newJti,
+            String.valueOf(issuedAt),
+            String.valueOf(ttlMillis)
+        );
+        if (result != null && result == ROTATED) {
+            return RotationResult.ROTATED;
+        }
+        if (result != null && result == REUSE_DETECTED) {
+            return RotationResult.REUSE_DETECTED;
+        }
+        return RotationResult.UNKNOWN_SESSION;
+    }
+
+    @Override
+    public Map<String, Long> getSessions(Long userId) {
+        Map<String, String> entries = redisTemplate.<String, String>opsForHash()
+            .entries(sessionKey(userId));
+
+        Map<String, Long> sessions = new HashMap<>(entries.size());
+        entries.forEach((familyId, value) -> sessions.put(familyId, this.issuedAtOf(value)));
+        return sessions;
+    }
+
+    @Override
+    public boolean deleteSession(Long userId, String familyId) {
+        Long deleted = redisTemplate.<String, String>opsForHash()
+            .delete(sessionKey(userId), familyId);
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public boolean deleteSessions(Long userId) {
+        return Boolean.TRUE.equals(redisTemplate.delete(sessionKey(userId)));
+    }
+
+    @Override
+    public void addToBlacklist(long tokenId, long expiresAt) {
+        long ttl = expiresAt - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
+        String encodedId = Base62.encode(tokenId);
+
+        // Redis 에 블랙리스트 키로 저장 (BL: 토큰 id)
+        redisTemplate.opsForValue().set(
+            BLACKLIST_TOKEN_PREFIX + encodedId,
+            "1",
+            ttl,
+            TimeUnit.MILLISECONDS
+        );
+
+        // 다른 노드의 로컬 캐시에 남아있는 false 결과를 갱신하도록 등록 이벤트 발행 ({토큰 id}:{만료 시각})
+        redisTemplate.convertAndSend(BLACKLIST_CHANNEL, encodedId + ":" + expiresAt);
+    }
+
+    @Override
+    public boolean isBlacklisted(long tokenId) {
+        // 클라이언트 캐시를 켜면 Redis 무효화 기반 캐시에서 응답
+        return redisTrackingCache.get(BLACKLIST_TOKEN_PREFIX + Base62.encode(tokenId)) != null;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isBlacklistedAsync(long tokenId) {
+        // 클라이언트 캐시를 사용하면 대부분 메모리에서 응답하므로 동기 조회
+        if (redisTrackingCache.isEnabled()) {
+            return CompletableFuture.completedFuture(this.isBlacklisted(tokenId));
+        }
+        return reactiveRedisTemplate.hasKey(BLACKLIST_TOKEN_PREFIX + Base62.encode(tokenId))
+            .map(Boolean.TRUE::equals)
+            .defaultIfEmpty(false)
+            .toFuture();
+    }
+
+    @Override
+    public void forEachBlacklisted(LongConsumer action) {
+        ScanOptions options = ScanOptions.scanOptions()
+            .match(BLACKLIST_TOKEN_PREFIX + "*")
+            .count(SCAN_COUNT)
+            .build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                try {
+                    action.accept(Base62.decode(key.substring(BLACKLIST_TOKEN_PREFIX.length())));
+                } catch (IllegalArgumentException e) {
+                    // 토큰 id 형식이 아닌 이전 키(BL:{토큰 전체})는 곧 만료되므로 무시
+                }
+            }
+        }
+    }
+
+    /**
+     * Redis 스크립트 한 번으로 폐기 시각 기록, 세션 삭제, 이벤트 발행을 처리한다.
+     */
+    @Override
+    public long revokeAll(Long userId, long epoch, long ttlMillis) {
+        Long applied = redisTemplate.execute(
+            REVOKE_ALL_SCRIPT,
+            List.of(epochKey(userId), sessionKey(userId)),
+            String.valueOf(epoch),
+            String.valueOf(ttlMillis),
+            REVOCATION_CHANNEL,
+            String.valueOf(userId)
+        );
+        return applied == null ? epoch : applied;
+    }
+
+    /**
+     * 사용자마다 폐기 스크립트를 EVALSHA 로 실행하되, 파이프라인 하나로 보내 왕복을 한 번으로 줄인다.
+     */
+    @Override
+    public Map<Long, Long> revokeAll(List<Long> userIds, long epoch, long ttlMillis) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        // 파이프라인 안에서는 NOSCRIPT 를 받아도 EVAL 로 다시 실행할 수 없으므로 스크립트를 먼저 로딩 (이미 있으면 그대로)
+        redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands()
+            .scriptLoad(bytes(REVOKE_ALL_SCRIPT.getScriptAsString())));
+
+        byte[] sha = bytes(REVOKE_ALL_SCRIPT.getSha1());
+        byte[] epochArg = bytes(String.valueOf(epoch));
+        byte[] ttlArg = bytes(String.valueOf(ttlMillis));
+        byte[] channel = bytes(REVOCATION_CHANNEL);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : userIds) {
+                connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 2,
+                    bytes(epochKey(userId)), bytes(sessionKey(userId)),
+                    epochArg, ttlArg, channel, bytes(String.valueOf(userId)));
+            }
+            return null;
+        });
+
+        Map<Long, Long> applied = new HashMap<>(userIds.size() * 2);
+        for (int i = 0; i < userIds.size(); i++) {
+            Object result = results.get(i);
+            applied.put(userIds.get(i), result instanceof Long value ? value : epoch);
+        }
+        return applied;
+    }
+
+    /**
+     * RE:* 키를 SCAN 하고 묶음마다 MGET 한 번으로 읽는다.
+     */
+    @Override
+    public void forEachRevocationEpoch(EpochConsumer action) {
+        ScanOptions options = ScanOptions.scanOptions()
+            .match(EPOCH_PREFIX + "*")
+            .count(SCAN_COUNT)
+            .build();
+        List<String> keys = new ArrayList<>(SCAN_COUNT);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == SCAN_COUNT) {
+                    this.loadEpochs(keys, action);
+                    keys.clear();
+                }
+            }
+        }
+        this.loadEpochs(keys, action);
+    }
+
+    // 키 묶음을 MGET 한 번으로 읽어 전달
+    private void loadEpochs(List<String> keys, EpochConsumer action) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            try {
+                action.accept(userIdOfEpochKey(keys.get(i)), Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                log.warn("처리할 수 없는 폐기 시각 키 : {}", keys.get(i));
+            }
+        }
+    }
+
+    /**
+     * 사용자의 세션 해시 키 (RT:{userId}, 폐기 시각 키와 같은 슬롯)
+     */
+    static String sessionKey(Long userId) {
+        return REFRESH_TOKEN_PREFIX + "{" + userId + "}";
+    }
+
+    /**
+     * 사용자의 폐기 시각 키 (RE:{userId}, 세션 해시 키와 같은 슬롯)
+     */
+    static String epochKey(Long userId) {
+        return EPOCH_PREFIX + "{" + userId + "}";
+    }
+
+    // RE:{userId} 와 해시 태그를 쓰기 전의 RE:userId 키 모두에서 userId 를 읽는다 (이전 키는 보관 기간이 지나면 사라짐)
+    private static long userIdOfEpochKey(String key) {
+        String userId = key.substring(EPOCH_PREFIX.length());
+        if (userId.startsWith("{") && userId.endsWith("}")) {
+            userId = userId.substring(1, userId.length() - 1);
+        }
+        return Long.parseLong(userId);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long issuedAtOf(String sessionValue) {
+        int separator = sessionValue.lastIndexOf(':');
+        return separator < 0 ? 0L : Long.parseLong(sessionValue.substring(separator + 1));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.javaspringboottask.refresh.store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
+
+/**
+ * 리프레시 토큰 세션, 액세스 토큰 블랙리스트, 사용자별 폐기 시각을 보관하는 저장소.
+ * 모든 항목은 TTL(만료 시각)을 가지며, 만료된 항목은 조회되지 않는다.
+ * <p>
+ * jwt.token-store.type 으로 구현을 고른다.
+ * <ul>
+ *     <li>redis (기본): 여러 노드가 Redis 를 공유하고 pub/sub 으로 로컬 복제본을 맞춘다 ({@link RedisTokenStore})</li>
+ *     <li>memory: 단일 노드와 테스트용 프로세스 내부 저장소, 재시작하면 비워진다 ({@link InMemoryTokenStore})</li>
+ * </ul>
+ */
+public interface TokenStore {
+
+    /**
+     * 세션 교체 결과
+     */
+    enum RotationResult {
+        ROTATED, // 교체 성공
+        REUSE_DETECTED, // 이미 교체된 토큰이 다시 제출되어 세션을 폐기함
+        UNKNOWN_SESSION // 세션이 없음 (만료, 로그아웃, 폐기)
+    }
+
+    /**
+     * 로그인 세션 추가. 이미 만료된 세션을 정리하고, 최대 세션 수를 넘으면 가장 오래 전에 발급된 세션부터 제거한다.
+     * 사용자의 세션 묶음 전체의 만료 시각은 issuedAt 이 아니라 호출 시각 + ttlMillis 로 갱신한다.
+     *
+     * @param userId      사용자 ID
+     * @param familyId    세션 id (리프레시 토큰 패밀리)
+     * @param jti         리프레시 토큰 id
+     * @param issuedAt    발급 시각 (epoch 밀리초)
+     * @param ttlMillis   세션 유지 시간 (리프레시 토큰 만료 시간)
+     * @param maxSessions 사용자별 최대 세션 수
+     * @return 제거된 세션 수
+     */
+    long createSession(Long userId, String familyId, String jti, long issuedAt, long ttlMillis, int maxSessions);
+
+    /**
+     * 저장된 jti 가 제출된 jti 와 같을 때만 새 jti 로 교체. 다르면 재사용으로 보고 세션을 폐기한다. 원자적으로 처리해야 한다.
+     *
+     * @param userId    사용자 ID
+     * @param familyId  세션 id
+     * @param jti       제출된 리프레시 토큰 id
+     * @param newJti    새로 발급한 리프레시 토큰 id
+     * @param issuedAt  새 토큰 발급 시각 (epoch 밀리초)
+     * @param ttlMillis 세션 유지 시간
+     * @return 교체 결과
+     */
+    RotationResult rotateSession(Long userId, String familyId, String jti, String newJti, long issuedAt, long ttlMillis);
+
+    /**
+     * @param userId 사용자 ID
+     * @return 세션 id -> 마지막 발급 시각 (epoch 밀리초)
+     */
+    Map<String, Long> getSessions(Long userId);
+
+    /**
+     * @param userId   사용자 ID
+     * @param familyId 폐기할 세션 id
+     * @return 세션이 있어 삭제했으면 true
+     */
+    boolean deleteSession(Long userId, String familyId);
+
+    /**
+     * @param userId 사용자 ID
+     * @return 세션이 있어 삭제했으면 true
+     */
+    boolean deleteSessions(Long userId);
+
+    /**
+     * 액세스 토큰을 만료 시각까지 블랙리스트에 등록. 이미 만료된 토큰은 등록하지 않는다.
+     *
+     * @param tokenId   액세스 토큰 id (0 제외)
+     * @param expiresAt 토큰 만료 시각 (epoch 밀리초)
+     */
+    void addToBlacklist(long tokenId, long expiresAt);
+
+    /**
+     * @param tokenId 액세스 토큰 id
+     * @return 블랙리스트에 있으면 true
+     */
+    boolean isBlacklisted(long tokenId);
+
+    /**
+     * isBlacklisted 의 비동기 버전. 원격 저장소는 응답을 기다리지 않고 바로 반환한다.
+     *
+     * @param tokenId 액세스 토큰 id
+     * @return 블랙리스트 여부 future
+     */
+    CompletableFuture<Boolean> isBlacklistedAsync(long tokenId);
+
+    /**
+     * 블랙리스트에 있는 토큰 id 를 모두 전달 (Bloom 필터 재생성용)
+     *
+     * @param action 토큰 id 를 받을 함수
+     */
+    void forEachBlacklisted(LongConsumer action);
+
+    /**
+     * 사용자의 폐기 시각을 기록하고 모든 세션을 삭제. 이미 더 늦은 폐기 시각이 있으면 그 값을 유지한다.
+     *
+     * @param userId    사용자 ID
+     * @param epoch     폐기 시각 (epoch 밀리초)
+     * @param ttlMillis 폐기 시각 보관 기간 (리프레시 토큰 만료 시간)
+     * @return 적용된 폐기 시각
+     */
+    long revokeAll(Long userId, long epoch, long ttlMillis);
+
+    /**
+     * 여러 사용자에 대해 revokeAll 을 실행. 원격 저장소는 사용자마다 왕복하지 않고 한 번에 보낸다.
+     *
+     * @param userIds   사용자 ID 목록
+     * @param epoch     폐기 시각 (epoch 밀리초)
+     * @param ttlMillis 폐기 시각 보관 기간 (리프레시 토큰 만료 시간)
+     * @return 사용자 ID -> 적용된 폐기 시각
+     */
+    Map<Long, Long> revokeAll(List<Long> userIds, long epoch, long ttlMillis);
+
+    /**
+     * 보관 중인 사용자별 폐기 시각을 모두 전달 (로컬 복제본 로딩용)
+     *
+     * @param action 사용자 ID 와 폐기 시각을 받을 함수
+     */
+    void forEachRevocationEpoch(EpochConsumer action);
+
+    /**
+     * 사용자 ID 와 폐기 시각을 받는 함수
+     */
+    @FunctionalInterface
+    interface EpochConsumer {
+        void accept(long userId, long epoch);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.javaspringboottask.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -19,4 +20,16 @@ public class TokenResponse {
             example = "dGhpc0lzQVNlY3JldFJlZnJlc2hUb2tlbg=="
     )
     private final String refreshToken;
-}
\ No newline at end of file
+
+    /**
+     * 리프레시 토큰 패밀리 id (fid 클레임). Redis 저장용으로만 사용하고 응답에는 포함하지 않는다.
+     */
+    @JsonIgnore
+    private final String familyId;
+
+    /**
+     * 리프레시 토큰 id (jti 클레임). Redis 저장용으로만 사용하고 응답에는 포함하지 않는다.
+     */
+    @JsonIgnore
+    private final String refreshTokenId;
+}
@@ -1,23 +1,48 @@
 package com.example.javaspringboottask.user.entity;
 
 import com.example.javaspringboottask.global.entity.BaseTimeEntity;
+import com.example.javaspringboottask.global.entity.TimeSortedId;
 import com.example.javaspringboottask.global.valid.ValidPassword;
 import com.example.javaspringboottask.user.entity.type.Role;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.validator.constraints.Length;
 
+/**
+ * 사용자. username 은 변경되지 않는 natural id(유니크 인덱스 uk_user_username)이며, username 조회는 natural id 캐시 -> 2차 엔티티 캐시 순으로 처리된다.
+ * 2차 캐시는 READ_WRITE 이므로 grantAdmin 처럼 행을 수정하면 커밋 시 이 노드의 캐시 항목이 갱신되고,
+ * 다른 노드의 항목은 UserDetailsCache 변경 이벤트로 제거된다.
+ * <p>
+ * 2차 캐시 항목에는 비밀번호 해시도 들어 있다. 로그인은 해시가 필요하므로, 해시를 빼면 로그인마다 DB 조회가 다시 생긴다.
+ * 캐시는 노드 프로세스 안의 Caffeine 이고 값을 직렬화하지 않으므로(store-by-value=false), 해시가 노출되는 범위는 로그인 중
+ * 힙에 올라오는 해시와 같다 (힙 덤프 외에는 밖으로 나가지 않음). 반면 UserDetailsCache 의 인증 주체는 SecurityContext 를 거쳐
+ * 요청 처리 전반에 전달되므로 비밀번호를 뺀다.
+ * 비밀번호를 바꾸는 기능을 추가하면 grantAdmin 과 같이 커밋 후 UserDetailsCache.invalidate 를 호출해야 한다.
+ * 그렇지 않으면 다른 노드는 만료(10분) 전까지 이전 해시로 로그인을 검증한다.
+ * 저장된 username 은 UserEntityListener 가 username Bloom 필터에 추가한다.
+ */
 @Getter
 @Entity
+@EntityListeners(UserEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = User.USERNAME_UNIQUE_CONSTRAINT, columnNames = "username"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class User extends BaseTimeEntity {
 
+    public static final String USERNAME_UNIQUE_CONSTRAINT = "uk_user_username"; // 회원가입 중복 판단에 사용
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeSortedId // IDENTITY 는 INSERT 배치를 끄므로 애플리케이션에서 id 를 정함
     private Long id;
 
+    @NaturalId
     @Column(nullable = false)
     @Length(min = 5, max = 20)
     private String username;
@@ -40,6 +65,13 @@ public class User extends BaseTimeEntity {
     }
 
 
+    /**
+     * @param encodedPassword 새 비밀번호 해시
+     */
+    public void changePassword(String encodedPassword) {
+        this.password = encodedPassword;
+    }
+
     public void grantAdmin(){
         this.role = Role.ADMIN;
     }
@@ -0,0 +1,23 @@
+package com.example.javaspringboottask.user.entity;
+
+import com.example.javaspringboottask.user.service.UsernameBloomFilter;
+import jakarta.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * User 저장 시 username 을 Bloom 필터에 추가. 회원가입 외의 경로(관리자, 일괄 등록, 테스트)로 저장한 사용자도 빠지지 않게 한다.
+ * 필터는 UserRepository 를 거쳐 EntityManagerFactory 에 의존하므로, 생성 순환을 피하도록 저장 시점에 가져온다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final ObjectProvider<UsernameBloomFilter> usernameBloomFilter;
+
+    @PostPersist
+    public void onPersist(User user) {
+        usernameBloomFilter.getObject().add(user.getUsername());
+    }
+}
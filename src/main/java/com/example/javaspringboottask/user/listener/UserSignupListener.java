@@ -0,0 +1,74 @@
+package com.example.javaspringboottask.user.listener;
+
+import com.example.javaspringboottask.user.service.UsernameBloomFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 다른 노드에서 추가된 사용자를 username Bloom 필터에 반영하는 리스너.
+ * 놓친 이벤트가 있으면 있는 사용자를 없다고 답하게 되므로, 구독이 다시 맺어지면 필터를 다시 만든다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "redis", matchIfMissing = true)
+public class UserSignupListener implements MessageListener, SubscriptionListener {
+
+    private final UsernameBloomFilter usernameBloomFilter;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this,
+                new ChannelTopic(UsernameBloomFilter.SIGNUP_CHANNEL));
+    }
+
+    /**
+     * 추가된 사용자를 필터에 반영
+     *
+     * @param message 사용자 추가 이벤트 (username 목록 JSON 배열)
+     * @param pattern 구독 패턴 (사용하지 않음)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            for (String username : objectMapper.readValue(message.getBody(), String[].class)) {
+                usernameBloomFilter.put(username);
+            }
+        } catch (IOException e) {
+            // 반영하지 못한 사용자를 없다고 답하지 않도록 필터를 다시 만든다
+            log.error("사용자 추가 이벤트 처리 실패", e);
+            usernameBloomFilter.rebuildAsync();
+        }
+    }
+
+    /**
+     * 최초 구독과 재연결 후 재구독 시 호출. 구독이 없던 동안 놓친 사용자가 있을 수 있으므로 필터를 다시 만든다.
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.info("사용자 추가 채널 구독, username 필터 다시 만들기");
+        usernameBloomFilter.rebuildAsync();
+    }
+
+    /**
+     * 구독이 끊기면 이후 추가된 사용자를 알 수 없으므로 다시 구독할 때까지 필터를 사용하지 않는다.
+     */
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        log.warn("사용자 추가 채널 구독 해제, username 필터 사용 중지");
+        usernameBloomFilter.rebuildAsync();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.javaspringboottask.user.repository;
+
+/**
+ * 사용자 id 와 username 만 읽는 조회용 projection
+ */
+public interface UserIdProjection {
+
+    Long getId();
+
+    String getUsername();
+}
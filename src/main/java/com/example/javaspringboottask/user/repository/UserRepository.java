@@ -1,11 +1,28 @@
 package com.example.javaspringboottask.user.repository;
 
 import com.example.javaspringboottask.user.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    // 일괄 처리용 조회, 엔티티 대신 id 와 username 만 읽는다
+    List<UserIdProjection> findAllByIdIn(Collection<Long> ids);
+
+    List<UserIdProjection> findAllByUsernameIn(Collection<String> usernames);
+
+    boolean existsByUsername(String username);
+
+    // username Bloom 필터 재생성용. MySQL 은 fetch size 가 Integer.MIN_VALUE 일 때 전체 결과를 메모리에 올리지 않고 한 행씩 읽는다.
+    // 트랜잭션 안에서 호출하고 Stream 을 닫아야 한다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select u.username from User u")
+    Stream<String> streamAllUsernames();
 }
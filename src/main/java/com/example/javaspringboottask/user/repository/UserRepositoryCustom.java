@@ -0,0 +1,19 @@
+package com.example.javaspringboottask.user.repository;
+
+import com.example.javaspringboottask.user.entity.User;
+
+import java.util.Optional;
+
+/**
+ * 파생 쿼리로 만들 수 없는 사용자 조회
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * username(natural id)으로 사용자 조회. JPQL 대신 natural id 로딩을 사용해 natural id 캐시와 2차 엔티티 캐시를 거친다.
+     *
+     * @param username 사용자 이름
+     * @return 사용자
+     */
+    Optional<User> findByUsername(String username);
+}
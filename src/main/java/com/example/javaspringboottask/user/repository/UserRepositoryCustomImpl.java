@@ -0,0 +1,25 @@
+package com.example.javaspringboottask.user.repository;
+
+import com.example.javaspringboottask.user.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 트랜잭션 밖(로그인)에서 호출해도 이 조회 동안만 세션을 열도록 readOnly 트랜잭션으로 실행
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        // 영속성 컨텍스트 -> natural id 캐시(username -> id) -> 2차 캐시(id -> 엔티티) -> DB 순으로 찾는다
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.javaspringboottask.user.service;
+
+import com.example.javaspringboottask.global.auth.BoundedPasswordEncoder;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 로그인에 성공한 사용자의 비밀번호 해시 cost 가 목표 cost 와 다르면(BCryptCostCalibrator.needsRehash), 로그인 응답을 기다리게 하지 않고
+ * 이 노드의 cost 로 다시 해싱해 저장한다. 낮은 해시는 올려 강도를 맞추고, 높은 해시는 낮춰 로그인 시간을 맞춘다.
+ * 목표는 모든 노드가 같은 고정 cost 이거나 허용 오차를 둔 보정 cost 이므로, 한 번 다시 해싱한 해시는 다른 노드에서 로그인해도 다시 해싱하지 않는다.
+ * 해싱은 비밀번호 해싱 스레드의 후순위 작업으로, 저장은 별도 스레드에서 처리한다.
+ * 저장 시 해시가 로그인 때 읽은 값과 같을 때만 바꾸므로 그 사이 바뀐 비밀번호를 덮어쓰지 않는다. 실패하거나 거절되면 다음 로그인에서 다시 시도한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordRehashService {
+
+    private final UserRepository userRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "password-rehash-write");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Counter upgradedCounter;
+    private Counter skippedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void init() {
+        this.upgradedCounter = this.counter("upgraded");
+        this.skippedCounter = this.counter("skipped");
+        this.failedCounter = this.counter("failed");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        writeExecutor.shutdownNow();
+    }
+
+    /**
+     * 목표와 다른 cost 의 해시면 백그라운드에서 다시 해싱해 저장
+     *
+     * @param userId      사용자 ID
+     * @param rawPassword 검증에 성공한 평문 비밀번호
+     * @param currentHash 로그인 때 읽은 해시
+     */
+    public void rehashIfNeeded(Long userId, String rawPassword, String currentHash) {
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+        passwordEncoder.encodeInBackground(rawPassword)
+                .thenAcceptAsync(newHash -> this.save(userId, currentHash, newHash), writeExecutor)
+                .exceptionally(e -> {
+                    failedCounter.increment();
+                    log.warn("비밀번호 재해싱 실패 userId : {}, 사유 : {}", userId, e.getMessage());
+                    return null;
+                });
+    }
+
+    // 엔티티를 수정해 저장하므로 2차 캐시(READ_WRITE)의 이 사용자 항목도 커밋 시 갱신된다
+    private void save(Long userId, String currentHash, String newHash) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        boolean changed = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                userRepository.findById(userId)
+                        .filter(user -> user.getPassword().equals(currentHash))
+                        .map(user -> {
+                            user.changePassword(newHash);
+                            return true;
+                        })
+                        .orElse(false)));
+        if (changed) {
+            upgradedCounter.increment();
+        } else {
+            skippedCounter.increment();
+        }
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("password.hashing.rehash")
+                .description("로그인 후 목표와 다른 cost 의 비밀번호 해시를 다시 해싱한 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
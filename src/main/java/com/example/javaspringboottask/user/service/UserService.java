@@ -1,25 +1,29 @@
 package com.example.javaspringboottask.user.service;
 
+import com.example.javaspringboottask.global.auth.BoundedPasswordEncoder;
+import com.example.javaspringboottask.global.auth.UserDetailsCache;
+import com.example.javaspringboottask.global.auth.UserDetailsImpl;
 import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
 import com.example.javaspringboottask.global.exception.ErrorCode;
 import com.example.javaspringboottask.global.util.JwtProvider;
 import com.example.javaspringboottask.refresh.service.RefreshTokenService;
+import com.example.javaspringboottask.refresh.service.RevocationEpochService;
 import com.example.javaspringboottask.user.dto.*;
 import com.example.javaspringboottask.user.entity.User;
 import com.example.javaspringboottask.user.entity.type.Role;
 import com.example.javaspringboottask.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -31,73 +35,105 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final AuthenticationManager authenticationManager;
     private final JwtProvider jwtProvider;
     private final RefreshTokenService refreshTokenService;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final RevocationEpochService revocationEpochService;
+    private final BoundedPasswordEncoder passwordEncoder; // BCrypt 를 요청 스레드가 아닌 해싱 전용 스레드에서 실행
+    private final UserDetailsCache userDetailsCache;
+    private final UsernameBloomFilter usernameBloomFilter;
+    private final PasswordRehashService passwordRehashService;
+
+    private String dummyPasswordHash; // 없는 사용자 로그인에도 BCrypt 검증 1회를 수행하기 위한 해시
+
+    @PostConstruct
+    public void init() {
+        // 실제 사용자 비밀번호와 같은 인코더(시작 시 보정한 같은 cost)로 만들어 응답 시간이 같도록 한다
+        this.dummyPasswordHash = passwordEncoder.encode("dummy-password-for-timing");
+    }
 
     /**
      * 회원가입 service
-     * 중복된 username이 존재하는지 확인합니다.
+     * 중복 확인 조회 없이 바로 저장하고, username 유니크 제약(uk_user_username) 위반을 중복으로 처리합니다.
+     * 조회 후 저장하는 방식과 달리 동시에 같은 username 으로 가입해도 하나만 성공합니다.
+     * username 필터가 있을 수 있다고 답한 경우에만 비밀번호 해싱 전에 존재 여부를 조회해, 중복 가입 요청에 BCrypt 를 쓰지 않습니다.
+     * 해싱 전용 스레드를 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션으로 감싸지 않습니다 (저장은 saveAndFlush 의 트랜잭션).
      * default role은 USER입니다.
      * @param requestDto
      * @return SignupResponseDto
      */
-    @Transactional
     public SignupResponseDto signup(SignupRequestDto requestDto) {
-        Optional<User> duplicateUser = userRepository.findByUsername(requestDto.getUsername());
-
-        if (duplicateUser.isPresent()) {
+        if (usernameBloomFilter.mightContain(requestDto.getUsername())
+                && userRepository.existsByUsername(requestDto.getUsername())) {
             throw new CustomResponseStatusException(ErrorCode.DUPLICATE_USERNAME);
         }
 
-        User user = new User(requestDto.getUsername(), requestDto.getNickname(),bCryptPasswordEncoder.encode(requestDto.getPassword()));
+        User user = new User(requestDto.getUsername(), requestDto.getNickname(),passwordEncoder.encode(requestDto.getPassword()));
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            // INSERT 를 바로 실행해 제약 위반을 이 메서드 안에서 받는다
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateUsername(e)) {
+                throw new CustomResponseStatusException(ErrorCode.DUPLICATE_USERNAME);
+            }
+            throw new CustomResponseStatusException(ErrorCode.CONSTRAINT_VIOLATION);
+        }
 
         return new SignupResponseDto(savedUser.getUsername(),savedUser.getNickname(),savedUser.getRole());
     }
 
-    @Transactional
-    public TokenResponse tokenGenerate(SigninRequestDto requestDto) {
-        Optional<User> signinUser = userRepository.findByUsername(requestDto.getUsername());
+    // 위반한 제약이 username 유니크 제약인지 확인 (MySQL 은 "user.uk_user_username" 형식으로 알려줌)
+    private boolean isDuplicateUsername(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            return violation.getConstraintName().toLowerCase().contains(User.USERNAME_UNIQUE_CONSTRAINT);
+        }
+        return false;
+    }
 
-        if(signinUser.isEmpty()) {
-            throw new CustomResponseStatusException(ErrorCode.NOT_FOUND_USER);
+    /**
+     * 로그인 service
+     * 사용자를 한 번만 조회하고, 조회한 사용자 정보로 비밀번호 검증과 두 토큰 발급을 모두 처리합니다.
+     * (AuthenticationManager 를 거치면 DaoAuthenticationProvider 가 같은 사용자를 다시 조회하므로 사용하지 않음)
+     * username 필터가 없다고 답하면 DB 를 조회하지 않습니다. 없는 사용자도 더미 해시로 BCrypt 검증을 1회 수행해
+     * 응답 시간으로 username 존재 여부를 알 수 없게 하고, 없는 사용자와 잘못된 비밀번호는 같은 오류(INVALID_CREDENTIALS)로 응답합니다.
+     * 해싱 전용 스레드를 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션으로 감싸지 않습니다 (사용자는 natural id 캐시 또는 조회 1회로 읽음).
+     * @param requestDto
+     * @return TokenResponse
+     */
+    public TokenResponse tokenGenerate(SigninRequestDto requestDto) {
+        Optional<User> found = usernameBloomFilter.mightContain(requestDto.getUsername())
+                ? userRepository.findByUsername(requestDto.getUsername())
+                : Optional.empty();
+        if (found.isEmpty()) {
+            passwordEncoder.matches(requestDto.getPassword(), dummyPasswordHash);
+            throw new CustomResponseStatusException(ErrorCode.INVALID_CREDENTIALS);
         }
-        User user = signinUser.get();
-        Authentication authentication;
-        // 이 과정에서 Provider 가 인증 처리를 진행 (사용자 정보 조회, 비밀번호 검증)
-        try {
-            authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            requestDto.getUsername(),
-                            requestDto.getPassword()
-                    )
-            );
-            // 인증 성공 처리
-        } catch (BadCredentialsException e) {
-            // 비밀번호가 틀린 경우
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"비밀번호가 올바르지 않습니다.");
-        } catch (UsernameNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"해당 사용자를 찾을 수 없습니다.");
-        } catch (AuthenticationException e) {
-            // 그 외 인증 관련 예외
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"인증에 실패했습니다.");
+        User user = found.get();
+
+        // 비밀번호 검증 (BCrypt 1회)
+        if (!passwordEncoder.matches(requestDto.getPassword(), user.getPassword())) {
+            throw new CustomResponseStatusException(ErrorCode.INVALID_CREDENTIALS);
         }
 
+        // 목표와 다른 cost 의 해시면 응답을 기다리게 하지 않고 다시 해싱해 저장 (낮으면 올리고 높으면 낮춤)
+        passwordRehashService.rehashIfNeeded(user.getId(), requestDto.getPassword(), user.getPassword());
 
-        // 인증 객체를 SecurityContext에 저장
+        // 조회한 사용자로 인증 객체를 만들어 SecurityContext에 저장
+        UserDetailsImpl principal = new UserDetailsImpl(user).withoutPassword();
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, principal.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // access, refresh 토큰 생성 후 반환
-        String accessToken = jwtProvider.generateAccessToken(authentication);
-        String refreshToken = jwtProvider.generateRefreshToken(authentication);
+        // access, refresh 토큰을 같은 사용자 정보로 한 번에 생성 후 반환
+        TokenResponse tokenResponse = jwtProvider.generateTokens(principal);
 
-        refreshTokenService.saveRefreshToken(user.getId(), refreshToken);
+        refreshTokenService.saveRefreshToken(user.getId(), tokenResponse);
 
+        // 로그인 직후 요청에서 DB 를 다시 조회하지 않도록 인증 주체 캐시에 저장 (비밀번호 제외)
+        userDetailsCache.put(principal);
 
-        return new TokenResponse(accessToken,refreshToken);
+        return tokenResponse;
     }
 
     @Transactional
@@ -115,6 +151,18 @@ public class UserService {
         }
         User grantedUser = user.get();
         grantedUser.grantAdmin();
+
+        // 이전 권한이 담긴 토큰은 모두 폐기하고 모든 노드의 인증 주체 캐시에서 지운다 (다른 노드는 2차 캐시 항목도 제거).
+        // 이 노드의 2차 캐시(READ_WRITE)는 커밋 시 갱신된다. 커밋 이후에 처리해야 재로그인과 캐시 재조회 시 바뀐 권한을 읽는다.
+        String grantedUsername = grantedUser.getUsername();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userDetailsCache.invalidate(userId, grantedUsername);
+                // 커밋 이후에는 실패를 돌려줄 수 없으므로 기록하지 못하면 보관했다가 다시 기록
+                revocationEpochService.revokeAllOrRetry(userId);
+            }
+        });
         return new GrantAdminResponseDto(grantedUser.getUsername(),grantedUser.getNickname(),grantedUser.getRole());
     }
 
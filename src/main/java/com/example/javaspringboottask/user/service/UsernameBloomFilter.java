@@ -0,0 +1,254 @@
+package com.example.javaspringboottask.user.service;
+
+import com.example.javaspringboottask.global.util.BloomFilter;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 존재하는 username 의 노드 로컬 Bloom 필터.
+ * 없다고 답한 username 은 DB 를 조회하지 않고 없는 사용자로 처리한다 (로그인 거절, 회원가입 중복 확인 생략).
+ * <p>
+ * 시작 시 user 테이블의 username 을 스트리밍으로 읽어 만들고, 이후 추가된 사용자는 저장 시점(@PostPersist)에 이 노드에 바로 넣은 뒤
+ * 커밋 후 Redis 채널로 다른 노드에 알린다. 구독이 다시 맺어지거나 reload-interval-millis 가 지나면 다시 만든다 (SQL 로 직접 넣은 사용자 반영).
+ * 다시 만드는 동안과 실패했을 때는 필터를 사용하지 않고 항상 있을 수 있다고 답한다.
+ * 사용자가 삭제되어도 필터에서는 빼지 않으므로 오탐만 늘고 있는 사용자를 없다고 답하지는 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UsernameBloomFilter {
+
+    public static final String SIGNUP_CHANNEL = "user:created"; // 사용자 추가 이벤트 채널 (메시지: username 목록 JSON 배열)
+
+    private static final int PUBLISH_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${user.username-filter.expected-insertions:1000000}")
+    private long expectedInsertions; // 예상 사용자 수, 실제 사용자 수의 2배보다 작으면 다시 만들 때 늘린다
+
+    @Value("${user.username-filter.fpp:0.01}")
+    private double fpp; // 목표 오탐률
+
+    @Value("${jwt.token-store.type:redis}")
+    private String tokenStoreType; // redis 일 때만 다른 노드에 추가 이벤트 발행
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "username-bloom-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building; // 다시 만드는 중인 필터, 그동안 추가된 username 도 함께 담는다
+    private final Map<String, Long> recentlyAdded = new ConcurrentHashMap<>(); // username -> 추가 시각, 커밋 전이라 스캔에서 빠질 수 있는 사용자
+    private volatile boolean ready; // false 면 필터를 사용하지 않고 항상 있을 수 있다고 답함
+    private final AtomicLong rebuildRequests = new AtomicLong(); // 마지막 재생성 요청 이후의 결과만 ready 로 인정
+
+    private Counter absentCounter;
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    public void init() {
+        this.current = new BloomFilter(expectedInsertions, fpp);
+
+        Gauge.builder("user.username-filter.fpp", this, filter -> filter.current.expectedFpp())
+                .description("username Bloom 필터의 예상 오탐률")
+                .register(meterRegistry);
+        Gauge.builder("user.username-filter.insertions", this, filter -> filter.current.insertions())
+                .description("username Bloom 필터에 추가된 사용자 수")
+                .register(meterRegistry);
+        this.absentCounter = Counter.builder("user.username-filter.absent")
+                .description("필터가 없다고 답해 DB 조회를 생략한 횟수")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("user.username-filter.rebuild")
+                .description("user 테이블 스트리밍으로 필터를 다시 만드는 데 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 애플리케이션 시작이 끝나면 user 테이블로 필터를 만든다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.rebuildAsync();
+    }
+
+    /**
+     * 새 사용자를 이 노드의 필터에 바로 넣고, 커밋 후 다른 노드에 알린다. 트랜잭션 밖이면 바로 알린다.
+     * 한 트랜잭션에서 추가된 사용자는 커밋 후 메시지 하나로 묶어 보낸다 (일괄 등록).
+     * 롤백되어도 필터에서 빼지 않는다 (오탐 하나가 늘 뿐).
+     *
+     * @param username 저장된 사용자 이름
+     */
+    public void add(String username) {
+        this.put(username);
+        if (!"redis".equals(tokenStoreType)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.publish(List.of(username));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<String> pending = (List<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<String> usernames = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, usernames);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UsernameBloomFilter.this);
+                    if (status == STATUS_COMMITTED) {
+                        publish(usernames);
+                    }
+                }
+            });
+            pending = usernames;
+        }
+        pending.add(username);
+    }
+
+    /**
+     * 이 노드의 필터에만 추가 (다른 노드의 추가 이벤트 수신)
+     *
+     * @param username 추가된 사용자 이름
+     */
+    public void put(String username) {
+        // 재생성 교체와 겹쳐 새 필터에서 빠지지 않도록 잠금 안에서 추가
+        synchronized (lock) {
+            current.put(username);
+            if (building != null) {
+                building.put(username);
+            }
+            recentlyAdded.put(username, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * username 이 있을 가능성이 있는지 확인. 없다고 답하면 사용 횟수를 기록한다.
+     *
+     * @param username 확인할 사용자 이름
+     * @return 확실히 없으면 false, 있거나 오탐 또는 필터 준비 중이면 true
+     */
+    public boolean mightContain(String username) {
+        if (!ready || current.mightContain(username)) {
+            return true;
+        }
+        absentCounter.increment();
+        return false;
+    }
+
+    /**
+     * 주기적으로 다시 만들어 DB 에 직접 추가된 사용자를 반영하고, 사용자 수에 맞게 크기를 늘린다.
+     */
+    @Scheduled(fixedDelayString = "${user.username-filter.reload-interval-millis:3600000}",
+            initialDelayString = "${user.username-filter.reload-interval-millis:3600000}")
+    public void scheduledRebuild() {
+        this.rebuildAsync();
+    }
+
+    /**
+     * 필터를 사용하지 않도록 표시한 뒤 별도 스레드에서 다시 만든다.
+     */
+    public void rebuildAsync() {
+        long request = rebuildRequests.incrementAndGet();
+        ready = false;
+        rebuildExecutor.execute(() -> this.rebuild(request));
+    }
+
+    /**
+     * user 테이블의 username 을 한 행씩 스트리밍으로 읽어 필터를 다시 만든다.
+     * 읽는 도중 추가된 사용자는 building 필터에도 함께 추가되고, 시작 전에 추가되었지만 아직 커밋되지 않아 스캔에서 빠진 사용자는
+     * 교체 직전에 recentlyAdded 에서 다시 넣으므로 교체 후에도 남는다.
+     */
+    void rebuild(long request) {
+        long startedAt = System.currentTimeMillis();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            BloomFilter rebuilding = new BloomFilter(Math.max(expectedInsertions, userRepository.count() * 2), fpp);
+            synchronized (lock) {
+                building = rebuilding;
+            }
+
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                    usernames.forEach(rebuilding::put);
+                }
+            });
+
+            synchronized (lock) {
+                recentlyAdded.keySet().forEach(rebuilding::put);
+                current = rebuilding;
+                building = null;
+            }
+            // 이번 스캔 시작 전에 추가된 사용자는 이제 새 필터에 있고, 다음 스캔 때는 커밋되어 있으므로 정리
+            recentlyAdded.values().removeIf(addedAt -> addedAt < startedAt);
+            // 진행 중에 새 재생성 요청이 들어왔다면 그 요청이 끝날 때까지 사용하지 않음
+            ready = request == rebuildRequests.get();
+            long elapsedNanos = sample.stop(rebuildTimer);
+            log.info("username Bloom 필터 재생성 완료 사용자 수 : {}, 소요 시간(ms) : {}",
+                    rebuilding.insertions(), elapsedNanos / 1_000_000);
+        } catch (RuntimeException e) {
+            // 실패하면 ready 를 false 로 두어 DB 로 확인하게 한다
+            synchronized (lock) {
+                building = null;
+            }
+            log.error("username Bloom 필터 재생성 실패", e);
+        }
+    }
+
+    // 메시지 하나에 최대 PUBLISH_BATCH_SIZE 명씩 JSON 배열로 보냄
+    private void publish(List<String> usernames) {
+        for (int from = 0; from < usernames.size(); from += PUBLISH_BATCH_SIZE) {
+            List<String> batch = usernames.subList(from, Math.min(from + PUBLISH_BATCH_SIZE, usernames.size()));
+            try {
+                redisTemplate.convertAndSend(SIGNUP_CHANNEL, objectMapper.writeValueAsString(batch));
+            } catch (JsonProcessingException | RuntimeException e) {
+                // 다른 노드는 다음 재생성 전까지 이 사용자들을 없다고 답할 수 있으므로 알림 실패를 남긴다
+                log.error("사용자 추가 이벤트 발행 실패 사용자 수 : {}, 첫 username : {}", batch.size(), batch.get(0), e);
+            }
+        }
+    }
+}
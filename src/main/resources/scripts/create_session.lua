@@ -0,0 +1,41 @@
+-- 로그인 세션 추가 (사용자별 최대 세션 수를 넘으면 가장 오래된 세션부터 제거)
+-- KEYS[1] : RT:{userId} 해시, field = familyId(세션 id), value = "{jti}:{발급 시각 ms}"
+-- ARGV[1] : 새 세션의 familyId
+-- ARGV[2] : 새 리프레시 토큰의 jti
+-- ARGV[3] : 새 토큰 발급 시각 (밀리초)
+-- ARGV[4] : 세션 TTL (밀리초)
+-- ARGV[5] : 사용자별 최대 세션 수
+-- return  : 제거된 세션 수
+local now = tonumber(ARGV[3])
+local ttl = tonumber(ARGV[4])
+local maxSessions = tonumber(ARGV[5])
+-- 이전 형식(문자열 키)으로 저장된 리프레시 토큰은 버리고 해시로 새로 시작
+if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then
+    redis.call('DEL', KEYS[1])
+end
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. ':' .. ARGV[3])
+
+local entries = redis.call('HGETALL', KEYS[1])
+local sessions = {}
+local evicted = 0
+for i = 1, #entries, 2 do
+    local issuedAt = tonumber(string.match(entries[i + 1], ':(%d+)$')) or 0
+    if issuedAt + ttl <= now then
+        -- 리프레시 토큰이 이미 만료된 세션은 바로 정리
+        redis.call('HDEL', KEYS[1], entries[i])
+        evicted = evicted + 1
+    else
+        sessions[#sessions + 1] = { entries[i], issuedAt }
+    end
+end
+
+if #sessions > maxSessions then
+    table.sort(sessions, function(a, b) return a[2] < b[2] end)
+    for i = 1, #sessions - maxSessions do
+        redis.call('HDEL', KEYS[1], sessions[i][1])
+        evicted = evicted + 1
+    end
+end
+
+redis.call('PEXPIRE', KEYS[1], ARGV[4])
+return evicted
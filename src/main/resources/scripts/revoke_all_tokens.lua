@@ -0,0 +1,17 @@
+-- 사용자의 모든 토큰 폐기 (폐기 시각 기록, 세션 삭제, 다른 노드에 전파를 한 번의 왕복으로 처리)
+-- KEYS[1] : RE:{userId} 폐기 시각(epoch 밀리초), 이 시각 이전에 발급된 토큰은 유효하지 않음
+-- KEYS[2] : RT:{userId} 세션 해시
+-- ARGV[1] : 폐기 시각 (밀리초)
+-- ARGV[2] : 폐기 시각 보관 기간 (밀리초, 리프레시 토큰 만료 시간)
+-- ARGV[3] : 폐기 이벤트 채널
+-- ARGV[4] : 사용자 id
+-- return  : 적용된 폐기 시각 (이미 더 늦은 시각이 있으면 그 값)
+local epoch = ARGV[1]
+local current = redis.call('GET', KEYS[1])
+if current and tonumber(current) > tonumber(epoch) then
+    epoch = current
+end
+redis.call('SET', KEYS[1], epoch, 'PX', ARGV[2])
+redis.call('DEL', KEYS[2])
+redis.call('PUBLISH', ARGV[3], ARGV[4] .. ':' .. epoch)
+return tonumber(epoch)
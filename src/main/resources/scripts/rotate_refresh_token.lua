@@ -0,0 +1,22 @@
+-- 리프레시 토큰 패밀리 교체 및 재사용 감지 (한 번의 왕복으로 원자적으로 처리)
+-- KEYS[1] : RT:{userId} 해시, field = familyId(세션 id), value = "{jti}:{발급 시각 ms}"
+-- ARGV[1] : 제출된 리프레시 토큰의 familyId
+-- ARGV[2] : 제출된 리프레시 토큰의 jti
+-- ARGV[3] : 새로 발급한 리프레시 토큰의 jti
+-- ARGV[4] : 새 토큰 발급 시각 (밀리초)
+-- ARGV[5] : 세션 TTL (밀리초)
+-- return  : 1 교체 성공, 0 알 수 없는 세션, -1 이미 사용된 토큰 재사용 (해당 세션 폐기)
+if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then
+    return 0
+end
+local stored = redis.call('HGET', KEYS[1], ARGV[1])
+if not stored then
+    return 0
+end
+if string.sub(stored, 1, #ARGV[2] + 1) == ARGV[2] .. ':' then
+    redis.call('HSET', KEYS[1], ARGV[1], ARGV[3] .. ':' .. ARGV[4])
+    redis.call('PEXPIRE', KEYS[1], ARGV[5])
+    return 1
+end
+redis.call('HDEL', KEYS[1], ARGV[1])
+return -1
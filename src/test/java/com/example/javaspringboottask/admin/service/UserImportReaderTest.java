@@ -0,0 +1,90 @@
+package com.example.javaspringboottask.admin.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 헤더 순서, BOM, 따옴표 이스케이프, 빈 줄을 처리하고 행 번호는 파일 기준
+    @Test
+    void csv_readsRowsByHeaderName() throws IOException {
+        UserImportReader reader = UserImportReader.csv(input(
+            "\uFEFFpassword,username,nickname\n"
+                + "Password123!,john_doe,\"john, \"\"the\"\" nick\"\n"
+                + "\n"
+                + "Password456!, jane_doe , jane_nick\n"));
+
+        UserImportReader.Row first = reader.next();
+        assertEquals(2, first.line());
+        assertEquals("john_doe", first.user().getUsername());
+        assertEquals("john, \"the\" nick", first.user().getNickname());
+        assertEquals("Password123!", first.user().getPassword());
+
+        UserImportReader.Row second = reader.next();
+        assertEquals(4, second.line());
+        assertEquals("jane_doe", second.user().getUsername());
+        assertNull(reader.next());
+    }
+
+    // 형식이 잘못된 행은 오류 행으로 돌려주고 다음 행부터 이어서 읽음
+    @Test
+    void csv_malformedRowIsReportedAndSkipped() throws IOException {
+        UserImportReader reader = UserImportReader.csv(input(
+            "username,nickname,password\n"
+                + "john_doe,\"unclosed,Password123!\n"
+                + "only_two,columns\n"
+                + "jane_doe,jane_nick,Password456!\n"));
+
+        UserImportReader.Row unclosed = reader.next();
+        assertNull(unclosed.user());
+        assertNotNull(unclosed.error());
+        assertNull(reader.next().user());
+        assertEquals("jane_doe", reader.next().user().getUsername());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void csv_missingColumnFailsWholeFile() {
+        assertThrows(IOException.class, () -> UserImportReader.csv(input("username,password\njohn_doe,Password123!\n")));
+        assertThrows(IOException.class, () -> UserImportReader.csv(input("")));
+    }
+
+    // 잘못된 원소는 오류 행으로 돌려주고 다음 객체부터 이어서 읽음
+    @Test
+    void json_readsObjectsAndSkipsInvalidElements() throws IOException {
+        UserImportReader reader = UserImportReader.json(input(
+            "[{\"username\":\"john_doe\",\"nickname\":\"john_nick\",\"password\":\"Password123!\",\"extra\":[1,2]},"
+                + "\"not an object\","
+                + "{\"username\":\"jane_doe\",\"nickname\":{\"nested\":true},\"password\":\"Password456!\"},"
+                + "{\"username\":\"jack_doe\",\"nickname\":\"jack_nick\",\"password\":\"Password789!\"}]"),
+            objectMapper);
+
+        UserImportReader.Row first = reader.next();
+        assertEquals(1, first.line());
+        assertEquals("john_nick", first.user().getNickname());
+        assertNotNull(reader.next().error());
+        UserImportReader.Row invalid = reader.next();
+        assertEquals(3, invalid.line());
+        assertNull(invalid.user());
+        assertEquals("jack_doe", reader.next().user().getUsername());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void json_notAnArrayFailsWholeFile() {
+        assertThrows(IOException.class, () -> UserImportReader.json(input("{\"username\":\"john_doe\"}"), objectMapper));
+    }
+
+    private static InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.javaspringboottask.admin.service;
+
+import com.example.javaspringboottask.admin.dto.UserImportRowDto;
+import com.example.javaspringboottask.global.auth.BoundedPasswordEncoder;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import com.example.javaspringboottask.user.entity.User;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import com.example.javaspringboottask.user.service.UsernameBloomFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * 일괄 등록은 묶음마다 자체 트랜잭션을 커밋하므로 @Transactional 을 붙이지 않고 직접 정리한다.
+ */
+@SpringBootTest(properties = "password.hashing.queue-capacity=64")
+class UserImportServiceTest {
+
+    private static final List<String> USERNAMES = List.of("import_alice", "import_bob", "import_carol");
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private UsernameBloomFilter usernameBloomFilter;
+
+    @AfterEach
+    void tearDown() {
+        for (String username : USERNAMES) {
+            userRepository.findByUsername(username).ifPresent(userRepository::delete);
+        }
+    }
+
+    // CSV 평문 비밀번호는 해싱하고, 기존 시스템의 BCrypt 해시는 그대로 저장
+    @Test
+    void importUsers_csv_hashesPlainPasswordsAndKeepsLegacyHashes() throws IOException {
+        String legacyHash = new BCryptPasswordEncoder(10).encode("Legacy123!");
+        String csv = "nickname,username,password\n"
+            + "alice_nick,import_alice,Password123!\n"
+            + "\"bob_nick\",import_bob,\"" + legacyHash + "\"\n";
+
+        List<JsonNode> lines = this.importUsers(csv, UserImportService.Format.CSV);
+
+        JsonNode last = lines.get(lines.size() - 1);
+        assertEquals("COMPLETED", last.get("status").asText());
+        assertEquals(2, last.get("read").asInt());
+        assertEquals(2, last.get("imported").asInt());
+        assertEquals(0, last.get("rejected").asInt());
+
+        User alice = userRepository.findByUsername("import_alice").orElseThrow();
+        assertEquals("alice_nick", alice.getNickname());
+        assertTrue(passwordEncoder.matches("Password123!", alice.getPassword()));
+        assertEquals(legacyHash, userRepository.findByUsername("import_bob").orElseThrow().getPassword());
+    }
+
+    @Test
+    void importUsers_json_importsValidObjects() throws IOException {
+        String json = "[{\"username\":\"import_alice\",\"nickname\":\"alice_nick\",\"password\":\"Password123!\"},"
+            + "{\"username\":\"import_bob\",\"nickname\":1,\"password\":\"Password123!\"},"
+            + "{\"username\":\"import_carol\",\"nickname\":\"carol_nick\",\"password\":\"Password123!\"}]";
+
+        List<JsonNode> lines = this.importUsers(json, UserImportService.Format.JSON);
+
+        JsonNode last = lines.get(lines.size() - 1);
+        assertEquals("COMPLETED", last.get("status").asText());
+        assertEquals(3, last.get("read").asInt());
+        assertEquals(2, last.get("imported").asInt());
+        assertEquals(1, last.get("rejected").asInt());
+        assertTrue(lines.get(0).get("errors").get(0).asText().startsWith("line 2: "));
+        assertTrue(userRepository.findByUsername("import_alice").isPresent());
+        assertTrue(userRepository.findByUsername("import_bob").isEmpty());
+        assertTrue(userRepository.findByUsername("import_carol").isPresent());
+    }
+
+    // 파일 안의 중복은 먼저 나온 행만 등록
+    @Test
+    void importUsers_duplicateInFile_keepsFirstRow() throws IOException {
+        String csv = "username,nickname,password\n"
+            + "import_alice,first_nick,Password123!\n"
+            + "import_alice,second_nick,Password123!\n";
+
+        List<JsonNode> lines = this.importUsers(csv, UserImportService.Format.CSV);
+
+        JsonNode last = lines.get(lines.size() - 1);
+        assertEquals(1, last.get("imported").asInt());
+        assertEquals(1, last.get("rejected").asInt());
+        assertEquals("line 3: " + ErrorCode.DUPLICATE_USERNAME.getMessage(),
+            lines.get(0).get("errors").get(0).asText());
+        assertEquals("first_nick", userRepository.findByUsername("import_alice").orElseThrow().getNickname());
+    }
+
+    // 이미 가입한 username 은 IN 조회로 걸러 건너뜀
+    @Test
+    void importUsers_existingUser_isRejectedBeforeInsert() throws IOException {
+        userRepository.saveAndFlush(new User("import_alice", "existing", passwordEncoder.encode("Password123!")));
+        String csv = "username,nickname,password\n"
+            + "import_alice,alice_nick,Password123!\n"
+            + "import_bob,bob_nick,Password123!\n";
+
+        List<JsonNode> lines = this.importUsers(csv, UserImportService.Format.CSV);
+
+        JsonNode last = lines.get(lines.size() - 1);
+        assertEquals("COMPLETED", last.get("status").asText());
+        assertEquals(1, last.get("imported").asInt());
+        assertEquals(1, last.get("rejected").asInt());
+        assertEquals("existing", userRepository.findByUsername("import_alice").orElseThrow().getNickname());
+        assertTrue(userRepository.findByUsername("import_bob").isPresent());
+    }
+
+    // 확인 이후 가입한 사용자(필터가 아직 모름)와 겹치면 묶음 저장이 유니크 제약에 걸리고, 한 명씩 다시 저장해 나머지는 등록
+    @Test
+    void importChunk_uniqueViolationAfterCheck_fallsBackToRowByRow() {
+        userRepository.saveAndFlush(new User("import_alice", "existing", passwordEncoder.encode("Password123!")));
+        doReturn(false).when(usernameBloomFilter).mightContain(anyString());
+        List<UserImportReader.Row> chunk = List.of(
+            new UserImportReader.Row(2, new UserImportRowDto(
+                "import_alice", "alice_nick", "Password123!"), null),
+            new UserImportReader.Row(3, new UserImportRowDto(
+                "import_bob", "bob_nick", "Password123!"), null));
+        List<String> errors = new ArrayList<>();
+
+        int saved = userImportService.importChunk(chunk, errors);
+
+        assertEquals(1, saved);
+        assertEquals(List.of("import_alice: " + ErrorCode.DUPLICATE_USERNAME.getMessage()), errors);
+        assertEquals("existing", userRepository.findByUsername("import_alice").orElseThrow().getNickname());
+        assertTrue(userRepository.findByUsername("import_bob").isPresent());
+    }
+
+    private List<JsonNode> importUsers(String body, UserImportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userImportService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, out);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.javaspringboottask.global.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void costOf_readsCostFromHash() {
+        assertEquals(4, BCryptCostCalibrator.costOf(new BCryptPasswordEncoder(4).encode("Password123!")));
+        assertEquals(5, BCryptCostCalibrator.costOf(new BCryptPasswordEncoder(5).encode("Password123!")));
+    }
+
+    @Test
+    void costOf_notBCrypt_returnsMinusOne() {
+        assertEquals(-1, BCryptCostCalibrator.costOf(null));
+        assertEquals(-1, BCryptCostCalibrator.costOf(""));
+        assertEquals(-1, BCryptCostCalibrator.costOf("plain-text"));
+    }
+
+    // 목표 시간 안에 끝나지 않아도 min-cost 보다 낮추지 않음
+    @Test
+    void calibrate_neverBelowMinCost() {
+        BCryptCostCalibrator calibrator = calibrator(0, 0, 4, 6);
+
+        assertEquals(4, calibrator.getCost());
+    }
+
+    // 목표 시간이 넉넉해도 max-cost 보다 높이지 않음
+    @Test
+    void calibrate_neverAboveMaxCost() {
+        BCryptCostCalibrator calibrator = calibrator(0, 60_000, 4, 6);
+
+        assertEquals(6, calibrator.getCost());
+    }
+
+    // 고정 cost 가 있으면 보정하지 않음
+    @Test
+    void fixedCost_usedAsIs() {
+        BCryptCostCalibrator calibrator = calibrator(7, 0, 4, 6);
+
+        assertEquals(7, calibrator.getCost());
+    }
+
+    // 보정한 cost 면 min-cost 보다 낮거나 목표와 허용 오차(1)보다 많이 다른 해시를 올리거나 낮춰 다시 해싱
+    @Test
+    void needsRehash_calibrated_outsideTolerance() {
+        BCryptCostCalibrator calibrator = calibrator(0, 60_000, 5, 7);
+
+        assertEquals(7, calibrator.getCost());
+        assertTrue(calibrator.needsRehash(new BCryptPasswordEncoder(4).encode("Password123!")));
+        assertTrue(calibrator.needsRehash(new BCryptPasswordEncoder(5).encode("Password123!")));
+        assertFalse(calibrator.needsRehash(new BCryptPasswordEncoder(6).encode("Password123!")));
+        assertFalse(calibrator.needsRehash(new BCryptPasswordEncoder(7).encode("Password123!")));
+        assertFalse(calibrator.needsRehash(new BCryptPasswordEncoder(8).encode("Password123!")));
+        assertTrue(calibrator.needsRehash(new BCryptPasswordEncoder(9).encode("Password123!")));
+        assertFalse(calibrator.needsRehash("plain-text"));
+    }
+
+    // 고정 cost 를 쓰면 모든 노드의 목표가 같으므로 그 값보다 낮은 해시는 올리고 높은 해시는 낮춤
+    @Test
+    void needsRehash_fixedCost_rehashesBothDirections() {
+        BCryptCostCalibrator calibrator = calibrator(5, 0, 10, 16);
+
+        assertTrue(calibrator.needsRehash(new BCryptPasswordEncoder(4).encode("Password123!")));
+        assertFalse(calibrator.needsRehash(new BCryptPasswordEncoder(5).encode("Password123!")));
+        assertTrue(calibrator.needsRehash(new BCryptPasswordEncoder(6).encode("Password123!")));
+    }
+
+    // 측정 오차로 cost 가 1 다른 두 노드를 오가며 로그인해도 서로의 해시를 다시 해싱하지 않음
+    @Test
+    void needsRehash_calibratedNodesOneApart_doNotOscillate() {
+        BCryptCostCalibrator lower = calibrator(0, 60_000, 4, 5);
+        BCryptCostCalibrator higher = calibrator(0, 60_000, 4, 6);
+
+        assertFalse(lower.needsRehash(new BCryptPasswordEncoder(higher.getCost()).encode("Password123!")));
+        assertFalse(higher.needsRehash(new BCryptPasswordEncoder(lower.getCost()).encode("Password123!")));
+    }
+
+    // 다시 해싱한 해시는 다음 로그인에서 다시 해싱하지 않음
+    @Test
+    void rehashedWithCalibratedCost_notRehashedAgain() {
+        BCryptCostCalibrator calibrator = calibrator(0, 0, 4, 6);
+
+        String rehashed = new BCryptPasswordEncoder(calibrator.getCost()).encode("Password123!");
+
+        assertFalse(calibrator.needsRehash(rehashed));
+    }
+
+    private static BCryptCostCalibrator calibrator(int fixedCost, long latencyBudgetMillis, int minCost, int maxCost) {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(calibrator, "fixedCost", fixedCost);
+        ReflectionTestUtils.setField(calibrator, "latencyBudgetMillis", latencyBudgetMillis);
+        ReflectionTestUtils.setField(calibrator, "minCost", minCost);
+        ReflectionTestUtils.setField(calibrator, "maxCost", maxCost);
+        ReflectionTestUtils.setField(calibrator, "rehashTolerance", 1);
+        calibrator.init();
+        return calibrator;
+    }
+}
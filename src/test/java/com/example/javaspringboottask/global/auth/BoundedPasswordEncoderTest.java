@@ -0,0 +1,125 @@
+package com.example.javaspringboottask.global.auth;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import com.example.javaspringboottask.global.exception.ErrorResponse;
+import com.example.javaspringboottask.global.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 해싱 스레드가 모두 바쁠 때 대기열 거절, 대기 시간 초과, 503 응답을 확인
+ */
+class BoundedPasswordEncoderTest {
+
+    private static final long MAX_WAIT_MILLIS = 100;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        // 해싱 스레드를 붙잡아 둘 수 있도록 release 가 열릴 때까지 기다리는 인코더
+        BCryptPasswordEncoder bCryptPasswordEncoder = mock(BCryptPasswordEncoder.class);
+        when(bCryptPasswordEncoder.encode(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        when(bCryptPasswordEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(bCryptPasswordEncoder, mock(BCryptCostCalibrator.class),
+                meterRegistry);
+        ReflectionTestUtils.setField(passwordEncoder, "threads", 1);
+        ReflectionTestUtils.setField(passwordEncoder, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordEncoder, "maxWaitMillis", MAX_WAIT_MILLIS);
+        passwordEncoder.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    // 대기열이 가득 차면 기다리지 않고 바로 거절
+    @Test
+    void queueFull_rejectedImmediately() throws InterruptedException {
+        this.occupyWorker();
+        CompletableFuture<String> queued = passwordEncoder.encodeInBackground("queued");
+        assertFalse(queued.isCompletedExceptionally());
+
+        long started = System.nanoTime();
+        CustomResponseStatusException e = assertThrows(CustomResponseStatusException.class,
+                () -> passwordEncoder.encode("password"));
+
+        assertEquals(ErrorCode.PASSWORD_HASHING_BUSY, e.getErrorCode());
+        assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    // 대기 시간을 넘기면 거절하고, 기다리던 작업은 대기열에서 빠짐
+    @Test
+    void waitTimeout_rejectedAndRemovedFromQueue() throws InterruptedException {
+        this.occupyWorker();
+
+        CustomResponseStatusException e = assertThrows(CustomResponseStatusException.class,
+                () -> passwordEncoder.matches("password", "hash"));
+
+        assertEquals(ErrorCode.PASSWORD_HASHING_BUSY, e.getErrorCode());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        assertEquals(0.0, meterRegistry.get("password.hashing.queue.size").gauge().value());
+
+        // 빠진 자리에 다음 작업이 들어갈 수 있음
+        assertFalse(passwordEncoder.encodeInBackground("next").isCompletedExceptionally());
+    }
+
+    // 대기열이 절반 넘게 차 있으면 후순위 해싱은 거절
+    @Test
+    void encodeInBackground_rejectedWhenQueueMoreThanHalfFull() throws InterruptedException {
+        this.occupyWorker();
+        assertFalse(passwordEncoder.encodeInBackground("queued").isCompletedExceptionally());
+
+        assertTrue(passwordEncoder.encodeInBackground("refused").isCompletedExceptionally());
+    }
+
+    // PASSWORD_HASHING_BUSY 는 503 과 Retry-After 로 응답
+    @Test
+    void hashingBusy_mapsTo503WithRetryAfter() {
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+                .handleCustomResponseStatusException(new CustomResponseStatusException(ErrorCode.PASSWORD_HASHING_BUSY));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(ErrorCode.PASSWORD_HASHING_BUSY.name(), response.getBody().getError());
+    }
+
+    // 하나뿐인 해싱 스레드를 release 가 열릴 때까지 붙잡아 둠
+    private void occupyWorker() throws InterruptedException {
+        passwordEncoder.encodeInBackground("running");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hashing.active").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "해싱 스레드가 시작되지 않음");
+            Thread.sleep(5);
+        }
+    }
+}
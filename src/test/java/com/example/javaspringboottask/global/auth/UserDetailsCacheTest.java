@@ -0,0 +1,152 @@
+package com.example.javaspringboottask.global.auth;
+
+import com.example.javaspringboottask.user.entity.User;
+import com.example.javaspringboottask.user.entity.type.Role;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserDetailsCacheTest {
+
+    private UserRepository userRepository;
+    private RedisTemplate<String, String> redisTemplate;
+    private Cache secondLevelCache;
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        redisTemplate = mock(RedisTemplate.class);
+        secondLevelCache = mock(Cache.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = newCache("redis");
+    }
+
+    @Test
+    void get_loadsOnceWithoutPassword() {
+        when(userRepository.findByUsername("john_doe"))
+            .thenReturn(Optional.of(new User("john_doe", "nickname", "$2a$10$hash", Role.USER)));
+
+        UserDetailsImpl first = cache.get("john_doe");
+        UserDetailsImpl second = cache.get("john_doe");
+
+        assertSame(first, second);
+        assertNull(first.getPassword());
+        assertEquals(Role.USER, first.getRole());
+        verify(userRepository, times(1)).findByUsername("john_doe");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    void invalidate_reloadsAndPublishes() {
+        when(userRepository.findByUsername("john_doe"))
+            .thenReturn(Optional.of(new User("john_doe", "nickname", "$2a$10$hash", Role.USER)))
+            .thenReturn(Optional.of(new User("john_doe", "nickname", "$2a$10$hash", Role.ADMIN)));
+        assertEquals(Role.USER, cache.get("john_doe").getRole());
+
+        cache.invalidate(1L, "john_doe");
+
+        assertEquals(Role.ADMIN, cache.get("john_doe").getRole());
+        verify(redisTemplate).convertAndSend(UserDetailsCache.INVALIDATION_CHANNEL, "1:john_doe");
+    }
+
+    @Test
+    void invalidationEvent_evictsPrincipalAndSecondLevelCache() {
+        when(userRepository.findByUsername("john:doe"))
+            .thenReturn(Optional.of(new User("john:doe", "nickname", "$2a$10$hash", Role.USER)));
+        cache.get("john:doe");
+
+        cache.applyInvalidationEvent("7:john:doe");
+        cache.get("john:doe");
+
+        verify(userRepository, times(2)).findByUsername("john:doe");
+        verify(secondLevelCache).evict(User.class, 7L);
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    // 2차 캐시를 인증 주체보다 먼저 지워, 그 사이의 get 이 오래된 2차 캐시 항목으로 권한을 다시 채우지 않음
+    @Test
+    void invalidationEvent_evictsSecondLevelCacheBeforePrincipal() {
+        AtomicBoolean evicted = stubSecondLevelCache();
+        doAnswer(invocation -> {
+            cache.get("john_doe"); // 지우는 도중 다른 요청
+            evicted.set(true);
+            return null;
+        }).when(secondLevelCache).evict(User.class, 7L);
+        assertEquals(Role.USER, cache.get("john_doe").getRole());
+
+        cache.applyInvalidationEvent("7:john_doe");
+
+        assertEquals(Role.ADMIN, cache.get("john_doe").getRole());
+    }
+
+    @Test
+    void clearLocally_evictsSecondLevelCacheBeforePrincipals() {
+        AtomicBoolean evicted = stubSecondLevelCache();
+        doAnswer(invocation -> {
+            cache.get("john_doe");
+            evicted.set(true);
+            return null;
+        }).when(secondLevelCache).evict(User.class);
+        assertEquals(Role.USER, cache.get("john_doe").getRole());
+
+        cache.clearLocally();
+
+        assertEquals(Role.ADMIN, cache.get("john_doe").getRole());
+    }
+
+    // 2차 캐시가 지워지기 전에는 변경 전 권한(USER), 지워진 뒤에는 DB 의 권한(ADMIN)을 읽는 리포지토리
+    private AtomicBoolean stubSecondLevelCache() {
+        AtomicBoolean evicted = new AtomicBoolean();
+        when(userRepository.findByUsername("john_doe")).thenAnswer(invocation ->
+            Optional.of(new User("john_doe", "nickname", "$2a$10$hash", evicted.get() ? Role.ADMIN : Role.USER)));
+        return evicted;
+    }
+
+    @Test
+    void get_missingUserIsNotCached() {
+        when(userRepository.findByUsername("nobody")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("nobody"));
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("nobody"));
+        verify(userRepository, times(2)).findByUsername("nobody");
+    }
+
+    @Test
+    void invalidate_inMemoryStoreDoesNotPublish() {
+        cache = newCache("memory");
+
+        cache.invalidate(1L, "john_doe");
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    private UserDetailsCache newCache(String tokenStoreType) {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        UserDetailsCache userDetailsCache = new UserDetailsCache(
+            userRepository, entityManagerFactory, redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(userDetailsCache, "maximumSize", 1000L);
+        ReflectionTestUtils.setField(userDetailsCache, "ttlMillis", 60_000L);
+        ReflectionTestUtils.setField(userDetailsCache, "tokenStoreType", tokenStoreType);
+        userDetailsCache.init();
+        return userDetailsCache;
+    }
+}
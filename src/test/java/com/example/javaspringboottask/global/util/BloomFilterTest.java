@@ -0,0 +1,57 @@
+package com.example.javaspringboottask.global.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int EXPECTED_INSERTIONS = 10000;
+    private static final double FPP = 0.01;
+
+    @Test
+    void addedValues_alwaysContained() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FPP);
+        String[] values = new String[EXPECTED_INSERTIONS];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+        assertEquals(EXPECTED_INSERTIONS, filter.insertions());
+    }
+
+    @Test
+    void falsePositiveRate_nearTarget() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FPP);
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed < FPP * 2, "observed fpp: " + observed);
+        assertTrue(filter.expectedFpp() < FPP * 1.5, "expected fpp: " + filter.expectedFpp());
+    }
+
+    @Test
+    void emptyFilter_containsNothing() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FPP);
+
+        assertFalse(filter.mightContain("not-added"));
+        assertEquals(0.0, filter.expectedFpp());
+        assertTrue(filter.memoryBytes() > 0);
+    }
+}
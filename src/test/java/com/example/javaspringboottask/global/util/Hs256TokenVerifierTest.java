@@ -0,0 +1,168 @@
+package com.example.javaspringboottask.global.util;
+
+import com.example.javaspringboottask.global.auth.UserDetailsImpl;
+import com.example.javaspringboottask.user.dto.TokenResponse;
+import com.example.javaspringboottask.user.entity.User;
+import com.example.javaspringboottask.user.entity.type.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * native 검증 엔진이 jjwt 경로와 같은 결과를 내는지 확인
+ */
+class Hs256TokenVerifierTest {
+
+    private static final String SECRET = "test-secret-key-test-secret-key-0123456789abcdef";
+    private static final String USERNAME = "john_doe123";
+
+    private JwtProvider jjwtProvider;
+    private JwtProvider nativeProvider;
+    private UserDetailsImpl principal;
+
+    @BeforeEach
+    void setUp() {
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(new ObjectMapper());
+        ReflectionTestUtils.setField(jwtKeyRing, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtKeyRing, "location", "");
+        jwtKeyRing.init();
+
+        User user = new User(USERNAME, "cool_nick", "encoded", Role.ADMIN);
+        ReflectionTestUtils.setField(user, "id", 1L);
+        principal = new UserDetailsImpl(user);
+
+        jjwtProvider = createProvider(jwtKeyRing, "jjwt");
+        nativeProvider = createProvider(jwtKeyRing, "native");
+    }
+
+    private JwtProvider createProvider(JwtKeyRing jwtKeyRing, String verifier) {
+        JwtProvider provider = new JwtProvider(jwtKeyRing);
+        ReflectionTestUtils.setField(provider, "expiryMillis", 600000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiryMillis", 604800000L);
+        ReflectionTestUtils.setField(provider, "verifier", verifier);
+        provider.init();
+        return provider;
+    }
+
+    private String issueAccessToken() {
+        return jjwtProvider.generateAccessToken(principal);
+    }
+
+    @Test
+    void issuedAccessToken_sameClaims() {
+        String token = issueAccessToken();
+
+        VerifiedToken expected = jjwtProvider.verify(token);
+        VerifiedToken actual = nativeProvider.verify(token);
+
+        assertNotNull(actual);
+        assertEquals(expected.getSubject(), actual.getSubject());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getRole(), actual.getRole());
+        assertEquals(expected.getExpiration(), actual.getExpiration());
+        assertEquals(expected.getIssuedAt(), actual.getIssuedAt());
+        assertEquals(expected.getJti(), actual.getJti());
+    }
+
+    @Test
+    void issuedRefreshToken_verified() {
+        TokenResponse tokens = jjwtProvider.generateTokens(principal);
+        String token = tokens.getRefreshToken();
+
+        VerifiedToken expected = jjwtProvider.verify(token);
+        VerifiedToken actual = nativeProvider.verify(token);
+
+        assertEquals(expected.getSubject(), actual.getSubject());
+        assertTrue(actual.isRefreshToken());
+        assertEquals(tokens.getFamilyId(), expected.getFamilyId());
+        assertEquals(tokens.getFamilyId(), actual.getFamilyId());
+        assertEquals(tokens.getRefreshTokenId(), actual.getJti());
+    }
+
+    // 발급 시각은 iatm 의 밀리초 값, iatm 이 없는 기존 토큰은 초 단위 iat
+    @Test
+    void issuedAt_millisecondPrecision() {
+        long before = System.currentTimeMillis();
+        String token = issueAccessToken();
+        long after = System.currentTimeMillis();
+
+        long issuedAt = jjwtProvider.verify(token).getIssuedAt();
+        assertTrue(issuedAt >= before && issuedAt <= after);
+        assertEquals(issuedAt, nativeProvider.verify(token).getIssuedAt());
+
+        String legacy = Jwts.builder()
+                .header().keyId(JwtKeyRing.DEFAULT_KID).and()
+                .subject(USERNAME)
+                .issuedAt(new Date(1_700_000_000_700L))
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        assertEquals(1_700_000_000_000L, jjwtProvider.verify(legacy).getIssuedAt());
+        assertEquals(1_700_000_000_000L, nativeProvider.verify(legacy).getIssuedAt());
+    }
+
+    @Test
+    void tamperedPayload_signatureException() {
+        String token = issueAccessToken();
+        String[] parts = token.split("\\.");
+        String forged = Jwts.builder().subject("someone_else").expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact().split("\\.")[1];
+        String tampered = parts[0] + "." + forged + "." + parts[2];
+
+        assertThrows(SignatureException.class, () -> jjwtProvider.verify(tampered));
+        assertThrows(SignatureException.class, () -> nativeProvider.verify(tampered));
+    }
+
+    @Test
+    void expiredToken_invalid() {
+        String token = Jwts.builder()
+                .header().keyId(JwtKeyRing.DEFAULT_KID).and()
+                .subject(USERNAME)
+                .issuedAt(new Date(System.currentTimeMillis() - 120000))
+                .expiration(new Date(System.currentTimeMillis() - 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        assertNull(jjwtProvider.verify(token));
+        assertNull(nativeProvider.verify(token));
+    }
+
+    @Test
+    void legacyTokenWithoutKid_verifiedWithDefaultKey() {
+        String token = Jwts.builder()
+                .subject(USERNAME)
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .claim("role", "USER")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        assertEquals(USERNAME, jjwtProvider.verify(token).getSubject());
+        assertEquals(USERNAME, nativeProvider.verify(token).getSubject());
+    }
+
+    @Test
+    void unknownKidOrMalformed_invalid() {
+        String unknownKid = Jwts.builder()
+                .header().keyId("unknown").and()
+                .subject(USERNAME)
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        assertNull(jjwtProvider.verify(unknownKid));
+        assertNull(nativeProvider.verify(unknownKid));
+        assertNull(jjwtProvider.verify("not-a-jwt"));
+        assertNull(nativeProvider.verify("not-a-jwt"));
+    }
+}
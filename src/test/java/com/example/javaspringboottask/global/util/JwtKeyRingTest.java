@@ -0,0 +1,206 @@
+package com.example.javaspringboottask.global.util;
+
+import com.example.javaspringboottask.admin.controller.JwtKeyAdminController;
+import com.example.javaspringboottask.admin.dto.JwtKeyResponseDto;
+import com.example.javaspringboottask.global.auth.UserDetailsImpl;
+import com.example.javaspringboottask.user.entity.User;
+import com.example.javaspringboottask.user.entity.type.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 키 링 파일로 서명 키를 교체할 때 새 kid 로 서명하고, 이전 kid 토큰은 검증 기한까지만 받는지 확인 (jjwt, native 검증 엔진 모두)
+ */
+class JwtKeyRingTest {
+
+    private static final String SECRET_1 = "key-one-secret-key-one-secret-0123456789abcdef";
+    private static final String SECRET_2 = "key-two-secret-key-two-secret-0123456789abcdef";
+    private static final long REFRESH_EXPIRY_MILLIS = 604800000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private Path keyRingFile;
+    private JwtKeyRing jwtKeyRing;
+    private UserDetailsImpl principal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        keyRingFile = tempDir.resolve("jwt-keys.json");
+        writeKeyRing("""
+            {"signingKid": "k1", "keys": [{"kid": "k1", "secret": "%s"}]}
+            """.formatted(SECRET_1));
+        jwtKeyRing = newKeyRing(keyRingFile.toString());
+
+        User user = new User("john_doe123", "cool_nick", "encoded", Role.USER);
+        ReflectionTestUtils.setField(user, "id", 1L);
+        principal = new UserDetailsImpl(user);
+    }
+
+    @Test
+    void rotation_signsWithNewKid() throws IOException {
+        JwtProvider provider = newProvider("jjwt");
+        assertEquals("k1", kidOf(provider.generateAccessToken(principal)));
+
+        writeKeyRing("""
+            {"signingKid": "k2", "keys": [{"kid": "k1", "secret": "%s"}, {"kid": "k2", "secret": "%s"}]}
+            """.formatted(SECRET_1, SECRET_2));
+        jwtKeyRing.reload();
+
+        String token = provider.generateAccessToken(principal);
+        assertEquals("k2", kidOf(token));
+        assertEquals("k2", jwtKeyRing.getSigningKey().getKid());
+        assertNotNull(provider.verify(token));
+        assertNotNull(newProvider("native").verify(token));
+    }
+
+    // 직전 서명 키는 기한을 정하지 않으면 리프레시 토큰 만료 시간만큼 검증용으로 남고, 스레드별 Mac 을 유지
+    @Test
+    void rotation_retiredSigningKeyKeepsVerifyingAndAlgorithm() throws IOException {
+        JwtSigningKey before = jwtKeyRing.getSigningKey();
+        long reloadedAt = System.currentTimeMillis();
+
+        writeKeyRing("""
+            {"signingKid": "k2", "keys": [{"kid": "k1", "secret": "%s"}, {"kid": "k2", "secret": "%s"}]}
+            """.formatted(SECRET_1, SECRET_2));
+        jwtKeyRing.reload();
+
+        JwtSigningKey retired = jwtKeyRing.getVerificationKey("k1");
+        assertTrue(retired.getNotAfter() >= reloadedAt + REFRESH_EXPIRY_MILLIS);
+        assertTrue(retired.getNotAfter() != JwtSigningKey.NO_EXPIRY);
+        assertSame(before.getSecretKey(), retired.getSecretKey());
+        assertSame(before.getSignatureAlgorithm(), retired.getSignatureAlgorithm());
+    }
+
+    // 이전 kid 로 서명된 토큰은 notAfter 까지 검증되고, 지나면 거절
+    @Test
+    void rotation_oldKidVerifiedUntilNotAfter() throws Exception {
+        for (String verifier : List.of("jjwt", "native")) {
+            setUp();
+            JwtProvider provider = newProvider(verifier);
+            String oldToken = provider.generateAccessToken(principal);
+
+            Instant notAfter = Instant.ofEpochMilli(System.currentTimeMillis() + 1000);
+            writeKeyRing("""
+                {"signingKid": "k2", "keys": [
+                  {"kid": "k1", "secret": "%s", "notAfter": "%s"},
+                  {"kid": "k2", "secret": "%s"}]}
+                """.formatted(SECRET_1, notAfter, SECRET_2));
+            jwtKeyRing.reload();
+
+            assertNotNull(provider.verify(oldToken), verifier);
+            Thread.sleep(Math.max(0, notAfter.toEpochMilli() - System.currentTimeMillis()) + 100);
+
+            assertNull(provider.verify(oldToken), verifier);
+            assertThrows(UnsupportedJwtException.class, () -> jwtKeyRing.getVerificationKey("k1"));
+            assertNotNull(provider.verify(provider.generateAccessToken(principal)), verifier);
+        }
+    }
+
+    // 키 링에 없는 kid 로 서명된 토큰은 거절
+    @Test
+    void unknownKid_rejected() throws IOException {
+        Path otherFile = tempDir.resolve("other-keys.json");
+        Files.writeString(otherFile, """
+            {"signingKid": "other", "keys": [{"kid": "other", "secret": "%s"}]}
+            """.formatted(SECRET_1), StandardCharsets.UTF_8);
+        String foreignToken = newProvider(newKeyRing(otherFile.toString()), "jjwt").generateAccessToken(principal);
+
+        assertThrows(UnsupportedJwtException.class, () -> jwtKeyRing.getVerificationKey("other"));
+        assertNull(newProvider("jjwt").verify(foreignToken));
+        assertNull(newProvider("native").verify(foreignToken));
+    }
+
+    // 주기적 확인은 파일이 바뀐 경우에만 다시 읽고, 잘못된 파일이면 기존 키를 유지
+    @Test
+    void reloadIfModified_picksUpFileChanges() throws IOException {
+        JwtSigningKey before = jwtKeyRing.getSigningKey();
+        jwtKeyRing.reloadIfModified();
+        assertSame(before, jwtKeyRing.getSigningKey());
+
+        writeKeyRing("""
+            {"signingKid": "k2", "keys": [{"kid": "k1", "secret": "%s"}, {"kid": "k2", "secret": "%s"}]}
+            """.formatted(SECRET_1, SECRET_2));
+        jwtKeyRing.reloadIfModified();
+        assertEquals("k2", jwtKeyRing.getSigningKey().getKid());
+
+        writeKeyRing("{\"signingKid\": \"k3\", \"keys\": []}");
+        jwtKeyRing.reloadIfModified();
+        assertEquals("k2", jwtKeyRing.getSigningKey().getKid());
+    }
+
+    // 관리자 재로딩은 즉시 반영하고, 잘못된 파일이면 400 으로 응답하며 기존 키를 유지
+    @Test
+    void adminReload_appliesOrRejects() throws IOException {
+        JwtKeyAdminController controller = new JwtKeyAdminController(jwtKeyRing);
+        writeKeyRing("""
+            {"signingKid": "k2", "keys": [{"kid": "k1", "secret": "%s"}, {"kid": "k2", "secret": "%s"}]}
+            """.formatted(SECRET_1, SECRET_2));
+
+        List<JwtKeyResponseDto> keys = controller.reload().getBody();
+
+        assertNotNull(keys);
+        assertEquals(List.of("k1", "k2"), keys.stream().map(JwtKeyResponseDto::getKid).toList());
+        assertFalse(keys.get(0).isSigning());
+        assertNotNull(keys.get(0).getNotAfter());
+        assertTrue(keys.get(1).isSigning());
+        assertNull(keys.get(1).getNotAfter());
+
+        writeKeyRing("not json");
+        assertThrows(ResponseStatusException.class, controller::reload);
+        assertEquals("k2", jwtKeyRing.getSigningKey().getKid());
+    }
+
+    private JwtKeyRing newKeyRing(String location) {
+        JwtKeyRing keyRing = new JwtKeyRing(objectMapper);
+        ReflectionTestUtils.setField(keyRing, "secret", SECRET_1);
+        ReflectionTestUtils.setField(keyRing, "location", location);
+        ReflectionTestUtils.setField(keyRing, "refreshExpiryMillis", REFRESH_EXPIRY_MILLIS);
+        keyRing.init();
+        return keyRing;
+    }
+
+    private JwtProvider newProvider(String verifier) {
+        return newProvider(jwtKeyRing, verifier);
+    }
+
+    private static JwtProvider newProvider(JwtKeyRing keyRing, String verifier) {
+        JwtProvider provider = new JwtProvider(keyRing);
+        ReflectionTestUtils.setField(provider, "expiryMillis", 600000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiryMillis", REFRESH_EXPIRY_MILLIS);
+        ReflectionTestUtils.setField(provider, "verifier", verifier);
+        provider.init();
+        return provider;
+    }
+
+    // 파일 수정 시각이 같은 밀리초에 겹치지 않도록 이전 값보다 늦게 맞춤
+    private void writeKeyRing(String json) throws IOException {
+        long previous = Files.exists(keyRingFile) ? Files.getLastModifiedTime(keyRingFile).toMillis() : 0;
+        Files.writeString(keyRingFile, json, StandardCharsets.UTF_8);
+        long modified = Math.max(System.currentTimeMillis(), previous + 1000);
+        Files.setLastModifiedTime(keyRingFile, FileTime.fromMillis(modified));
+    }
+
+    private String kidOf(String token) throws IOException {
+        byte[] header = Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')));
+        return objectMapper.readTree(header).get("kid").asText();
+    }
+}
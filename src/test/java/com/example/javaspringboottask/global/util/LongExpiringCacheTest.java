@@ -0,0 +1,63 @@
+package com.example.javaspringboottask.global.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongExpiringCacheTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void putAndGet_untilExpiry() {
+        LongExpiringCache cache = new LongExpiringCache(1000);
+        cache.put(42L, true, NOW + 100, NOW);
+        cache.put(-7L, false, NOW + 100, NOW);
+
+        assertEquals(LongExpiringCache.TRUE, cache.get(42L, NOW));
+        assertEquals(LongExpiringCache.FALSE, cache.get(-7L, NOW));
+        assertEquals(LongExpiringCache.ABSENT, cache.get(43L, NOW));
+        assertEquals(LongExpiringCache.ABSENT, cache.get(42L, NOW + 100));
+    }
+
+    @Test
+    void put_overwritesValue() {
+        LongExpiringCache cache = new LongExpiringCache(1000);
+        cache.put(42L, false, NOW + 100, NOW);
+        cache.put(42L, true, NOW + 200, NOW);
+
+        assertEquals(LongExpiringCache.TRUE, cache.get(42L, NOW + 150));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_falseNeverReplacesLiveTrue() {
+        LongExpiringCache cache = new LongExpiringCache(1000);
+        cache.put(42L, true, NOW + 100, NOW);
+        cache.put(42L, false, NOW + 50, NOW);
+
+        assertEquals(LongExpiringCache.TRUE, cache.get(42L, NOW + 10));
+
+        // 만료된 true 는 false 로 바꿀 수 있다
+        cache.put(42L, false, NOW + 300, NOW + 150);
+        assertEquals(LongExpiringCache.FALSE, cache.get(42L, NOW + 200));
+    }
+
+    @Test
+    void full_evictsInsteadOfGrowing() {
+        LongExpiringCache cache = new LongExpiringCache(1000);
+        for (long key = 1; key <= 10_000; key++) {
+            cache.put(key, true, NOW + 100, NOW);
+        }
+
+        assertTrue(cache.size() <= 1000);
+        assertEquals(LongExpiringCache.TRUE, cache.get(10_000L, NOW));
+    }
+
+    @Test
+    void zeroKey_rejected() {
+        LongExpiringCache cache = new LongExpiringCache(1000);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.put(0L, true, NOW + 100, NOW));
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.javaspringboottask.global.util;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 지연과 오류를 주입할 수 있는 간이 Redis 서버를 띄워 서킷 브레이커 동작을 확인
+ */
+class RedisGuardTest {
+
+    private static final long COMMAND_TIMEOUT_MILLIS = 200;
+    private static final long WAIT_IN_OPEN_STATE_MILLIS = 300;
+
+    private FakeRedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeRedisServer();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", server.port()),
+                LettuceClientConfiguration.builder()
+                        .commandTimeout(Duration.ofMillis(COMMAND_TIMEOUT_MILLIS))
+                        .clientOptions(ClientOptions.builder()
+                                .protocolVersion(ProtocolVersion.RESP2)
+                                .timeoutOptions(TimeoutOptions.enabled())
+                                .build())
+                        .build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+        server.close();
+    }
+
+    private RedisGuard createGuard(RedisGuard.DegradedPolicy policy) {
+        RedisGuard guard = new RedisGuard(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(guard, "policy", policy);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(guard, "slowCallRateThreshold", 50f);
+        ReflectionTestUtils.setField(guard, "slowCallThresholdMillis", 100L);
+        ReflectionTestUtils.setField(guard, "slidingWindowSize", 4);
+        ReflectionTestUtils.setField(guard, "minimumNumberOfCalls", 4);
+        ReflectionTestUtils.setField(guard, "waitInOpenStateMillis", WAIT_IN_OPEN_STATE_MILLIS);
+        ReflectionTestUtils.setField(guard, "permittedCallsInHalfOpen", 2);
+        ReflectionTestUtils.setField(guard, "writeQueueSize", 100);
+        guard.init();
+        return guard;
+    }
+
+    @Test
+    void latency_opensCircuitAndServesLocalMirror() {
+        RedisGuard guard = createGuard(RedisGuard.DegradedPolicy.LOCAL_MIRROR);
+        server.store.put("BL:a", "1");
+        assertTrue(guard.read(() -> redisTemplate.hasKey("BL:a"), () -> false));
+
+        // 명령 시간 제한보다 긴 지연 -> 시간 초과로 로컬 응답, 최소 호출 수를 넘기면 회로가 열림
+        server.latencyMillis = 1000;
+        for (int i = 0; i < 4; i++) {
+            assertFalse(guard.read(() -> redisTemplate.hasKey("BL:a"), () -> false));
+        }
+        assertFalse(guard.isAvailable());
+
+        // 열려 있는 동안에는 Redis 응답을 기다리지 않고 바로 로컬 응답
+        long start = System.nanoTime();
+        assertFalse(guard.read(() -> redisTemplate.hasKey("BL:a"), () -> false));
+        assertTrue(System.nanoTime() - start < COMMAND_TIMEOUT_MILLIS * 1_000_000);
+
+        // 지연이 사라지면 반열림 상태의 확인 호출이 성공해 스스로 닫힘
+        server.latencyMillis = 0;
+        assertTrue(eventually(() -> guard.read(() -> redisTemplate.hasKey("BL:a"), () -> false)
+                && guard.isAvailable()));
+    }
+
+    @Test
+    void errors_queueWritesAndReplayInOrderAfterRecovery() {
+        RedisGuard guard = createGuard(RedisGuard.DegradedPolicy.QUEUE_WRITES);
+        server.failing = true;
+
+        guard.write("first", () -> redisTemplate.opsForValue().set("RT:1", "first"));
+        for (int i = 0; i < 4; i++) {
+            guard.read(() -> redisTemplate.hasKey("BL:a"), () -> false);
+        }
+        assertFalse(guard.isAvailable());
+        guard.write("second", () -> redisTemplate.opsForValue().set("RT:1", "second"));
+        assertEquals(2, guard.getPendingWriteCount());
+        assertNull(server.store.get("RT:1"));
+
+        server.failing = false;
+        assertTrue(eventually(() -> {
+            guard.retryPendingWrites();
+            return guard.getPendingWriteCount() == 0;
+        }));
+        assertTrue(guard.isAvailable());
+        assertEquals("second", server.store.get("RT:1"));
+    }
+
+    @Test
+    void failFast_rejectsWithoutCallingRedisWhileOpen() {
+        RedisGuard guard = createGuard(RedisGuard.DegradedPolicy.FAIL_FAST);
+        server.failing = true;
+
+        for (int i = 0; i < 4; i++) {
+            CustomResponseStatusException e = assertThrows(CustomResponseStatusException.class,
+                    () -> guard.read(() -> redisTemplate.hasKey("BL:a"), () -> false));
+            assertEquals(ErrorCode.REDIS_UNAVAILABLE, e.getErrorCode());
+        }
+        assertFalse(guard.isAvailable());
+
+        int commands = server.dataCommands.get();
+        assertThrows(CustomResponseStatusException.class,
+                () -> guard.write("write", () -> redisTemplate.opsForValue().set("RT:1", "value")));
+        assertEquals(commands, server.dataCommands.get());
+        assertEquals(0, guard.getPendingWriteCount());
+    }
+
+    @Test
+    void readAsync_timeoutFallsBackToLocalMirror() {
+        RedisGuard guard = createGuard(RedisGuard.DegradedPolicy.LOCAL_MIRROR);
+        server.latencyMillis = 1000;
+
+        Boolean result = guard.readAsync(
+                () -> connectionFactory.getReactiveConnection().keyCommands()
+                        .exists(StandardCharsets.UTF_8.encode("BL:a"))
+                        .map(Boolean.TRUE::equals)
+                        .toFuture(),
+                () -> true).join();
+
+        assertTrue(result);
+    }
+
+    private static boolean eventually(Supplier<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.get()) {
+                return true;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 테스트에 필요한 명령(GET, SET, EXISTS, DEL)만 처리하는 RESP2 서버.
+     * 연결 초기화 명령(HELLO, PING, CLIENT 등)은 항상 응답하고, 데이터 명령에만 지연과 오류를 주입한다.
+     */
+    private static class FakeRedisServer {
+
+        private final ServerSocket serverSocket;
+        private final List<Socket> clients = new ArrayList<>();
+        private final Map<String, String> store = new ConcurrentHashMap<>();
+        private final AtomicInteger dataCommands = new AtomicInteger();
+
+        private volatile long latencyMillis;
+        private volatile boolean failing;
+
+        FakeRedisServer() throws IOException {
+            serverSocket = new ServerSocket(0);
+            Thread acceptor = new Thread(this::accept, "fake-redis-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        void close() {
+            try {
+                serverSocket.close();
+                synchronized (clients) {
+                    for (Socket client : clients) {
+                        client.close();
+                    }
+                }
+            } catch (IOException ignored) {
+                // 테스트 종료
+            }
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket client = serverSocket.accept();
+                    synchronized (clients) {
+                        clients.add(client);
+                    }
+                    Thread handler = new Thread(() -> this.handle(client), "fake-redis-client");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(Socket client) {
+            try (InputStream in = new BufferedInputStream(client.getInputStream());
+                 OutputStream out = client.getOutputStream()) {
+                List<String> command;
+                while ((command = readCommand(in)) != null) {
+                    out.write(this.reply(command).getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+                // 연결 종료
+            }
+        }
+
+        private String reply(List<String> command) {
+            String name = command.get(0).toUpperCase();
+            switch (name) {
+                case "HELLO":
+                    return "-ERR unknown command 'HELLO'\r\n"; // RESP2 만 지원
+                case "PING":
+                    return "+PONG\r\n";
+                case "CLIENT", "SELECT":
+                    return "+OK\r\n";
+                default:
+                    break;
+            }
+
+            dataCommands.incrementAndGet();
+            long latency = latencyMillis;
+            if (latency > 0) {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                return "-ERR injected failure\r\n";
+            }
+
+            return switch (name) {
+                case "GET" -> bulk(store.get(command.get(1)));
+                case "SET" -> {
+                    store.put(command.get(1), command.get(2));
+                    yield "+OK\r\n";
+                }
+                case "EXISTS" -> ":" + command.subList(1, command.size()).stream()
+                        .filter(store::containsKey).count() + "\r\n";
+                case "DEL" -> ":" + command.subList(1, command.size()).stream()
+                        .filter(key -> store.remove(key) != null).count() + "\r\n";
+                default -> "-ERR unknown command '" + name + "'\r\n";
+            };
+        }
+
+        private static String bulk(String value) {
+            if (value == null) {
+                return "$-1\r\n";
+            }
+            return "$" + value.getBytes(StandardCharsets.UTF_8).length + "\r\n" + value + "\r\n";
+        }
+
+        private static List<String> readCommand(InputStream in) throws IOException {
+            String header = readLine(in);
+            if (header == null) {
+                return null;
+            }
+            int count = Integer.parseInt(header.substring(1));
+            List<String> command = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = Integer.parseInt(readLine(in).substring(1));
+                byte[] bytes = in.readNBytes(length);
+                in.readNBytes(2); // CRLF
+                command.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return command;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\r') {
+                    in.read(); // LF
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+                line.write(b);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.javaspringboottask.global.util;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 로컬에서 redis-server 를 직접 띄워 CLIENT TRACKING 무효화를 확인. redis-server 가 없으면 건너뛴다.
+ */
+class RedisTrackingCacheTest {
+
+    private static Process redisServer;
+    private static int port;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisTrackingCache cache;
+    private RedisClient writerClient;
+    private StatefulRedisConnection<String, String> writer;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        try {
+            redisServer = new ProcessBuilder("redis-server", "--port", String.valueOf(port),
+                    "--save", "", "--appendonly", "no")
+                    .redirectErrorStream(true)
+                    .start();
+        } catch (IOException e) {
+            assumeTrue(false, "redis-server 가 없어 건너뜀");
+        }
+        assumeTrue(waitForPort(), "redis-server 를 시작하지 못해 건너뜀");
+    }
+
+    @AfterAll
+    static void stopRedis() throws InterruptedException {
+        if (redisServer != null) {
+            redisServer.destroy();
+            redisServer.waitFor(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost("localhost");
+        redisProperties.setPort(port);
+
+        cache = new RedisTrackingCache(null, meterRegistry, redisProperties);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maximumSize", 1000);
+        cache.init();
+
+        writerClient = RedisClient.create(RedisURI.create("localhost", port));
+        writer = writerClient.connect();
+        writer.sync().flushall();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.destroy();
+        writer.close();
+        writerClient.shutdown();
+    }
+
+    @Test
+    void get_cachedUntilInvalidated() {
+        writer.sync().set("BL:abc", "1");
+
+        assertEquals("1", cache.get("BL:abc"));
+        assertEquals("1", cache.get("BL:abc"));
+        assertEquals(1.0, hits());
+
+        writer.sync().set("BL:abc", "2");
+
+        assertTrue(eventually(() -> "2".equals(cache.get("BL:abc"))));
+        assertTrue(meterRegistry.get("redis.client.cache.invalidations").counter().count() >= 1);
+    }
+
+    @Test
+    void missingKey_cachedAsNullUntilCreated() {
+        assertNull(cache.get("BL:missing"));
+        assertNull(cache.get("BL:missing"));
+        assertEquals(1.0, hits());
+
+        writer.sync().set("BL:missing", "1");
+
+        assertTrue(eventually(() -> "1".equals(cache.get("BL:missing"))));
+    }
+
+    @Test
+    void hget_invalidatedWhenHashChanges() {
+        writer.sync().hset("RT:1", "family", "jti:1");
+
+        assertEquals("jti:1", cache.hget("RT:1", "family"));
+        assertNull(cache.hget("RT:1", "other"));
+
+        writer.sync().hdel("RT:1", "family");
+
+        assertTrue(eventually(() -> cache.hget("RT:1", "family") == null));
+    }
+
+    private double hits() {
+        return meterRegistry.get("redis.client.cache.requests").tag("result", "hit").counter().count();
+    }
+
+    private static boolean eventually(Supplier<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.get()) {
+                return true;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean waitForPort() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            try (Socket ignored = new Socket("localhost", port)) {
+                return true;
+            } catch (IOException e) {
+                Thread.sleep(50);
+            }
+        }
+        return false;
+    }
+}
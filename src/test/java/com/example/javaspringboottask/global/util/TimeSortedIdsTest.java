@@ -0,0 +1,55 @@
+package com.example.javaspringboottask.global.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSortedIdsTest {
+
+    private static final long NOW = 1760000000000L;
+
+    @Test
+    void ids_increaseAndCarryTimestampAndNode() {
+        TimeSortedIds ids = new TimeSortedIds(7);
+        long first = ids.nextId(NOW);
+        long second = ids.nextId(NOW);
+
+        assertTrue(second > first);
+        assertEquals(NOW, TimeSortedIds.timestampOf(first));
+        assertEquals(7, TimeSortedIds.nodeIdOf(first));
+        assertTrue(first > 0);
+    }
+
+    @Test
+    void sequenceOverflow_borrowsNextMillisecond() {
+        TimeSortedIds ids = new TimeSortedIds(1);
+        Set<Long> issued = new HashSet<>();
+        long last = 0;
+        for (int i = 0; i < 5000; i++) {
+            long id = ids.nextId(NOW);
+            assertTrue(id > last);
+            assertTrue(issued.add(id));
+            last = id;
+        }
+        assertEquals(NOW + 1, TimeSortedIds.timestampOf(last));
+    }
+
+    @Test
+    void clockMovingBackwards_keepsIncreasing() {
+        TimeSortedIds ids = new TimeSortedIds(1);
+        long before = ids.nextId(NOW);
+        long after = ids.nextId(NOW - 1000);
+
+        assertTrue(after > before);
+        assertEquals(NOW, TimeSortedIds.timestampOf(after));
+    }
+
+    @Test
+    void differentNodes_neverCollide() {
+        assertNotEquals(new TimeSortedIds(1).nextId(NOW), new TimeSortedIds(2).nextId(NOW));
+        assertThrows(IllegalArgumentException.class, () -> new TimeSortedIds(TimeSortedIds.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.javaspringboottask.refresh.service;
+
+import com.example.javaspringboottask.refresh.store.TokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 재생성과 세대 교체 중에 추가된 블랙리스트 토큰이 필터에서 사라지지 않는지 확인
+ */
+class BlacklistBloomFilterTest {
+
+    private TokenStore tokenStore;
+    private BlacklistBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenStore = mock(TokenStore.class);
+        filter = new BlacklistBloomFilter(tokenStore, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(filter, "fpp", 0.0001);
+        filter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    // 준비 전에는 모든 토큰을 있을 수 있다고 답함
+    @Test
+    void notReady_answersTrue() {
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContain(1L));
+    }
+
+    // 저장소의 토큰으로 다시 만들고, 없는 토큰은 없다고 답함
+    @Test
+    void rebuild_loadsStore() throws InterruptedException {
+        doAnswer(invocation -> {
+            LongConsumer action = invocation.getArgument(0);
+            action.accept(1L);
+            action.accept(2L);
+            return null;
+        }).when(tokenStore).forEachBlacklisted(any());
+
+        rebuildAndAwait();
+
+        assertTrue(filter.mightContain(1L));
+        assertTrue(filter.mightContain(2L));
+        assertFalse(filter.mightContain(3L));
+    }
+
+    // SCAN 이 이미 지나간 위치에 다른 요청이 토큰을 추가
+    @Test
+    void putDuringScan_survivesSwap() throws InterruptedException {
+        doAnswer(invocation -> {
+            LongConsumer action = invocation.getArgument(0);
+            action.accept(1L);
+            filter.put(99L);
+            return null;
+        }).when(tokenStore).forEachBlacklisted(any());
+
+        rebuildAndAwait();
+
+        assertTrue(filter.mightContain(99L));
+    }
+
+    // 재생성 요청 전에 추가됐지만 저장소 쓰기가 아직 반영되지 않은 토큰
+    @Test
+    void putBeforeRequest_notInStore_survivesSwap() throws InterruptedException {
+        filter.put(42L);
+
+        rebuildAndAwait();
+
+        assertTrue(filter.mightContain(42L));
+    }
+
+    // 재생성 요청 직후, SCAN 시작 전에 추가된 토큰
+    @Test
+    void putBeforeScanStarts_survivesSwap() throws InterruptedException {
+        CountDownLatch scanStarted = new CountDownLatch(1);
+        CountDownLatch putDone = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            scanStarted.countDown();
+            assertTrue(putDone.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(tokenStore).forEachBlacklisted(any());
+
+        filter.rebuildAsync();
+        assertTrue(scanStarted.await(5, TimeUnit.SECONDS));
+        filter.put(7L);
+        putDone.countDown();
+        awaitReady();
+
+        // 교체 후 한 번 더 세대를 교체해도 새 필터에 들어있으므로 남아있음
+        filter.rollover();
+        assertTrue(filter.mightContain(7L));
+    }
+
+    // 추가된 토큰은 한 번의 세대 교체 후에도 남고, 두 번 교체하면 사라짐
+    @Test
+    void rollover_keepsPreviousGeneration() throws InterruptedException {
+        rebuildAndAwait();
+        filter.put(5L);
+
+        filter.rollover();
+        assertTrue(filter.mightContain(5L));
+
+        filter.rollover();
+        assertFalse(filter.mightContain(5L));
+    }
+
+    // 재생성에 실패하면 필터를 사용하지 않음
+    @Test
+    void rebuildFailure_staysNotReady() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            failed.countDown();
+            throw new IllegalStateException("redis down");
+        }).when(tokenStore).forEachBlacklisted(any());
+
+        filter.rebuildAsync();
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContain(3L));
+    }
+
+    // 재생성에 실패해도 준비되지 않은 동안의 추가는 로컬 복제본으로 확인할 수 있고, 다시 시도해 준비됨
+    @Test
+    void rebuildFailure_retriesWithBackoff() throws InterruptedException {
+        doThrow(new IllegalStateException("redis down"))
+            .doAnswer(invocation -> {
+                LongConsumer action = invocation.getArgument(0);
+                action.accept(1L);
+                return null;
+            })
+            .when(tokenStore).forEachBlacklisted(any());
+
+        filter.rebuildAsync();
+        filter.put(8L);
+        assertTrue(filter.mightContainLocally(8L));
+        assertFalse(filter.mightContainLocally(9L));
+        awaitReady();
+
+        assertTrue(filter.mightContain(1L));
+        assertTrue(filter.mightContain(8L));
+        verify(tokenStore, times(2)).forEachBlacklisted(any());
+    }
+
+    private void rebuildAndAwait() throws InterruptedException {
+        filter.rebuildAsync();
+        awaitReady();
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!filter.isReady()) {
+            assertTrue(System.nanoTime() < deadline, "재생성이 끝나지 않음");
+            Thread.sleep(10);
+        }
+    }
+}
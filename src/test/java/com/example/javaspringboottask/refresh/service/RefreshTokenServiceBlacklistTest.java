@@ -0,0 +1,113 @@
+package com.example.javaspringboottask.refresh.service;
+
+import com.example.javaspringboottask.global.util.Base62;
+import com.example.javaspringboottask.global.util.JwtProvider;
+import com.example.javaspringboottask.global.util.RedisGuard;
+import com.example.javaspringboottask.global.util.VerifiedToken;
+import com.example.javaspringboottask.refresh.store.TokenStore;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * 저장소 조회와 다른 노드의 블랙리스트 등록 이벤트가 겹칠 때 로컬 캐시가 등록 결과를 잃지 않는지,
+ * Redis 장애 중에는 로컬 복제본으로 판단하는지 확인
+ */
+class RefreshTokenServiceBlacklistTest {
+
+    private static final long TOKEN_ID = 123_456_789L;
+
+    private TokenStore tokenStore;
+    private RefreshTokenService refreshTokenService;
+    private VerifiedToken token;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        tokenStore = mock(TokenStore.class);
+        BlacklistBloomFilter bloomFilter = mock(BlacklistBloomFilter.class);
+        when(bloomFilter.mightContain(anyLong())).thenReturn(true);
+        RedisGuard redisGuard = mock(RedisGuard.class);
+        when(redisGuard.read(any(), any())).thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+        when(redisGuard.readAsync(any(), any()))
+            .thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+
+        refreshTokenService = new RefreshTokenService(tokenStore, mock(UserRepository.class), mock(JwtProvider.class),
+            bloomFilter, mock(RevocationEpochService.class), redisGuard);
+        ReflectionTestUtils.setField(refreshTokenService, "blacklistCacheTtlMillis", 600000L);
+        ReflectionTestUtils.setField(refreshTokenService, "blacklistCacheSize", 1000);
+        refreshTokenService.init();
+
+        long now = System.currentTimeMillis();
+        token = new VerifiedToken("token", "john_doe", 1L, "USER", now + 600000, now,
+            Base62.encode(TOKEN_ID), null, null);
+    }
+
+    // 저장소가 false 를 읽은 뒤, 캐시에 채우기 전에 등록 이벤트가 도착
+    @Test
+    void eventDuringLookup_staleFalseDoesNotOverwrite() {
+        when(tokenStore.isBlacklisted(TOKEN_ID)).thenAnswer(invocation -> {
+            refreshTokenService.applyBlacklistEvent(Base62.encode(TOKEN_ID) + ":" + token.getExpiration());
+            return false;
+        });
+
+        assertFalse(refreshTokenService.isTokenBlacklisted(token));
+        assertTrue(refreshTokenService.isTokenBlacklisted(token));
+        verify(tokenStore, times(1)).isBlacklisted(TOKEN_ID);
+    }
+
+    @Test
+    void eventDuringAsyncLookup_staleFalseDoesNotOverwrite() {
+        when(tokenStore.isBlacklistedAsync(TOKEN_ID)).thenAnswer(invocation -> {
+            refreshTokenService.applyBlacklistEvent(Base62.encode(TOKEN_ID) + ":" + token.getExpiration());
+            return CompletableFuture.completedFuture(false);
+        });
+
+        assertFalse(refreshTokenService.isTokenBlacklistedAsync(token).join());
+        assertTrue(refreshTokenService.isTokenBlacklistedAsync(token).join());
+        verify(tokenStore, times(1)).isBlacklistedAsync(TOKEN_ID);
+    }
+
+    // 서킷이 열려 있고 재생성도 실패해 필터가 준비되지 않았어도, 이 노드가 받은 블랙리스트 등록은 거절
+    @Test
+    @SuppressWarnings("unchecked")
+    void circuitOpenAndFilterNotReady_rejectsLocallyKnownTokens() {
+        doThrow(new IllegalStateException("redis down")).when(tokenStore).forEachBlacklisted(any());
+        BlacklistBloomFilter bloomFilter = new BlacklistBloomFilter(tokenStore, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(bloomFilter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(bloomFilter, "fpp", 0.0001);
+        bloomFilter.init();
+        RedisGuard redisGuard = mock(RedisGuard.class);
+        when(redisGuard.read(any(), any())).thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(1)).get());
+        refreshTokenService = new RefreshTokenService(tokenStore, mock(UserRepository.class), mock(JwtProvider.class),
+            bloomFilter, mock(RevocationEpochService.class), redisGuard);
+        ReflectionTestUtils.setField(refreshTokenService, "blacklistCacheTtlMillis", 600000L);
+        ReflectionTestUtils.setField(refreshTokenService, "blacklistCacheSize", 1000);
+        refreshTokenService.init();
+        try {
+            refreshTokenService.applyBlacklistEvent(Base62.encode(TOKEN_ID) + ":" + token.getExpiration());
+            // 구독이 끊겨 로컬 캐시를 비우고 재생성을 요청했지만 Redis 장애로 실패
+            refreshTokenService.resetBlacklistCache();
+            assertFalse(bloomFilter.isReady());
+
+            long now = System.currentTimeMillis();
+            VerifiedToken other = new VerifiedToken("other", "john_doe", 1L, "USER", now + 600000, now,
+                Base62.encode(TOKEN_ID + 1), null, null);
+            assertTrue(refreshTokenService.isTokenBlacklisted(token));
+            assertFalse(refreshTokenService.isTokenBlacklisted(other));
+            verify(tokenStore, never()).isBlacklisted(anyLong());
+        } finally {
+            bloomFilter.destroy();
+        }
+    }
+}
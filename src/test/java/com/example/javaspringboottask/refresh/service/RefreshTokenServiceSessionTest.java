@@ -0,0 +1,64 @@
+package com.example.javaspringboottask.refresh.service;
+
+import com.example.javaspringboottask.global.util.JwtProvider;
+import com.example.javaspringboottask.global.util.RedisGuard;
+import com.example.javaspringboottask.global.util.VerifiedToken;
+import com.example.javaspringboottask.refresh.store.TokenStore;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 재발급에 실패한 리프레시 토큰은 그 세션(패밀리)만 지우고 다른 기기 세션은 유지하는지 확인
+ */
+class RefreshTokenServiceSessionTest {
+
+    private TokenStore tokenStore;
+    private UserRepository userRepository;
+    private JwtProvider jwtProvider;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenStore = mock(TokenStore.class);
+        userRepository = mock(UserRepository.class);
+        jwtProvider = mock(JwtProvider.class);
+        RedisGuard redisGuard = mock(RedisGuard.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return null;
+        }).when(redisGuard).write(anyString(), any());
+
+        refreshTokenService = new RefreshTokenService(tokenStore, userRepository, jwtProvider,
+            mock(BlacklistBloomFilter.class), mock(RevocationEpochService.class), redisGuard);
+    }
+
+    @Test
+    void deleteRefreshToken_deletesOnlyPresentedFamily() {
+        long now = System.currentTimeMillis();
+        when(jwtProvider.verify("refresh-token")).thenReturn(new VerifiedToken("refresh-token", "john_doe", 1L,
+            "USER", now + 600000, now, "jti-1", JwtProvider.REFRESH_TOKEN_TYPE, "family-a"));
+
+        refreshTokenService.deleteRefreshToken("refresh-token");
+
+        verify(tokenStore).deleteSession(1L, "family-a");
+        verify(tokenStore, never()).deleteSessions(anyLong());
+        verifyNoInteractions(userRepository);
+    }
+
+    // 서명을 검증할 수 없거나 만료된 토큰, 액세스 토큰은 어느 세션인지 믿을 수 없으므로 지우지 않음
+    @Test
+    void deleteRefreshToken_unverifiedOrAccessToken_deletesNothing() {
+        long now = System.currentTimeMillis();
+        when(jwtProvider.verify("access-token")).thenReturn(new VerifiedToken("access-token", "john_doe", 1L,
+            "USER", now + 600000, now, "jti-1", null, null));
+
+        refreshTokenService.deleteRefreshToken("expired-token");
+        refreshTokenService.deleteRefreshToken("access-token");
+
+        verifyNoInteractions(tokenStore, userRepository);
+    }
+}
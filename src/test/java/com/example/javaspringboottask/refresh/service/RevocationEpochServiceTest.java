@@ -0,0 +1,185 @@
+package com.example.javaspringboottask.refresh.service;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import com.example.javaspringboottask.global.util.JwtProvider;
+import com.example.javaspringboottask.global.util.RedisGuard;
+import com.example.javaspringboottask.global.util.VerifiedToken;
+import com.example.javaspringboottask.refresh.store.TokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 폐기 시각과 토큰 발급 시각 비교, RedisGuard 를 거친 기록과 실패 시 재시도를 확인
+ */
+class RevocationEpochServiceTest {
+
+    private static final long USER_ID = 1L;
+    private static final long REFRESH_EXPIRY_MILLIS = 1_209_600_000L;
+
+    private TokenStore tokenStore;
+    private RedisGuard redisGuard;
+    private SimpleMeterRegistry meterRegistry;
+    private RevocationEpochService revocationEpochService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        tokenStore = mock(TokenStore.class);
+        when(tokenStore.revokeAll(anyLong(), anyLong(), anyLong()))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+        JwtProvider jwtProvider = mock(JwtProvider.class);
+        when(jwtProvider.getRefreshExpiryMillis()).thenReturn(REFRESH_EXPIRY_MILLIS);
+
+        redisGuard = mock(RedisGuard.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return null;
+        }).when(redisGuard).write(anyString(), any());
+        when(redisGuard.execute(any())).thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+
+        meterRegistry = new SimpleMeterRegistry();
+        revocationEpochService = new RevocationEpochService(tokenStore, jwtProvider, redisGuard, meterRegistry);
+        revocationEpochService.init();
+    }
+
+    // 폐기 시각과 같거나 이전에 발급된 토큰은 폐기, 이후에 발급된 토큰은 유효
+    @Test
+    void isRevoked_comparesIssuedAtWithEpoch() {
+        long epoch = 1_700_000_000_000L;
+        revocationEpochService.applyRevocationEvent(USER_ID + ":" + epoch);
+
+        assertTrue(revocationEpochService.isRevoked(token(USER_ID, epoch - 1000)));
+        assertTrue(revocationEpochService.isRevoked(token(USER_ID, epoch)));
+        assertFalse(revocationEpochService.isRevoked(token(USER_ID, epoch + 1000)));
+        assertFalse(revocationEpochService.isRevoked(token(2L, epoch - 1000)));
+    }
+
+    // 발급 시각을 밀리초로 비교하므로 폐기와 같은 초라도 폐기 이후에 발급된 토큰은 유효
+    @Test
+    void isRevoked_sameSecondAfterEpoch_valid() {
+        long epoch = 1_700_000_000_500L;
+        revocationEpochService.applyRevocationEvent(USER_ID + ":" + epoch);
+
+        assertTrue(revocationEpochService.isRevoked(token(USER_ID, epoch - 400)));
+        assertFalse(revocationEpochService.isRevoked(token(USER_ID, epoch + 1)));
+    }
+
+    // 폐기 직후 이 노드에서는 이전에 발급된 토큰을 바로 거절
+    @Test
+    void revokeAll_writesThroughRedisGuard() {
+        long issuedAt = System.currentTimeMillis() / 1000 * 1000;
+
+        revocationEpochService.revokeAll(USER_ID);
+
+        verify(redisGuard).write(anyString(), any());
+        verify(tokenStore).revokeAll(eq(USER_ID), anyLong(), eq(REFRESH_EXPIRY_MILLIS));
+        assertTrue(revocationEpochService.isRevoked(token(USER_ID, issuedAt)));
+    }
+
+    // 일괄 폐기도 RedisGuard 를 거치고 실패를 그대로 돌려줌
+    @Test
+    void revokeAllBulk_failsWhenRedisUnavailable() {
+        doThrow(new CustomResponseStatusException(ErrorCode.REDIS_UNAVAILABLE)).when(redisGuard).execute(any());
+
+        assertThrows(CustomResponseStatusException.class, () -> revocationEpochService.revokeAll(List.of(1L, 2L)));
+        verify(tokenStore, never()).revokeAll(anyList(), anyLong(), anyLong());
+    }
+
+    @Test
+    void revokeAllBulk_appliesEpochs() {
+        when(tokenStore.revokeAll(anyList(), anyLong(), anyLong())).thenReturn(Map.of(1L, 1000L, 2L, 1000L));
+
+        assertEquals(2, revocationEpochService.revokeAll(List.of(1L, 2L)));
+        assertTrue(revocationEpochService.isRevoked(token(2L, 1000L)));
+    }
+
+    // 기록에 실패하면 보관하고 지표로 알린 뒤, 같은 폐기 시각으로 다시 기록
+    @Test
+    void revokeAllOrRetry_retriesWithOriginalEpoch() {
+        doThrow(new CustomResponseStatusException(ErrorCode.REDIS_UNAVAILABLE))
+            .when(redisGuard).write(anyString(), any());
+        long before = System.currentTimeMillis();
+
+        assertDoesNotThrow(() -> revocationEpochService.revokeAllOrRetry(USER_ID));
+        long after = System.currentTimeMillis();
+
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.pending").gauge().value());
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.failed").counter().count());
+        // 이 노드의 복제본에는 이미 반영
+        assertTrue(revocationEpochService.isRevoked(token(USER_ID, before / 1000 * 1000)));
+
+        // 실패가 이어지면 계속 보관
+        revocationEpochService.retryPendingRevocations();
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.pending").gauge().value());
+
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return null;
+        }).when(redisGuard).write(anyString(), any());
+        revocationEpochService.retryPendingRevocations();
+
+        assertEquals(0.0, meterRegistry.get("jwt.revocation.pending").gauge().value());
+        verify(tokenStore).revokeAll(eq(USER_ID), longThat(epoch -> epoch >= before && epoch <= after),
+            eq(REFRESH_EXPIRY_MILLIS));
+    }
+
+    // 구독이 끊긴 동안 발행된 폐기는 다시 구독한 뒤 저장소에서 다시 읽어 반영하고, 실패하면 다음 주기에 다시 읽음
+    @Test
+    void subscriptionLost_reloadsUntilResubscribedAndLoaded() {
+        long epoch = 1_700_000_000_000L;
+        AtomicBoolean redisDown = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (redisDown.get()) {
+                throw new IllegalStateException("redis down");
+            }
+            ((TokenStore.EpochConsumer) invocation.getArgument(0)).accept(USER_ID, epoch);
+            return null;
+        }).when(tokenStore).forEachRevocationEpoch(any());
+
+        revocationEpochService.subscriptionLost();
+        revocationEpochService.reloadIfPending();
+
+        assertTrue(revocationEpochService.isReloadPending());
+        assertFalse(revocationEpochService.isRevoked(token(USER_ID, epoch - 1000)));
+
+        redisDown.set(false);
+        // 구독이 끊겨 있는 동안은 읽어도 이후 이벤트를 놓칠 수 있으므로 계속 다시 읽음
+        revocationEpochService.reloadIfPending();
+        assertTrue(revocationEpochService.isRevoked(token(USER_ID, epoch - 1000)));
+        assertTrue(revocationEpochService.isReloadPending());
+
+        revocationEpochService.subscriptionRestored();
+        revocationEpochService.reloadIfPending();
+
+        assertFalse(revocationEpochService.isReloadPending());
+    }
+
+    // 다시 읽는 도중 구독이 다시 끊기면 다시 읽기를 끝낸 것으로 보지 않음
+    @Test
+    void subscriptionLostDuringReload_staysPending() {
+        doAnswer(invocation -> {
+            revocationEpochService.subscriptionLost();
+            return null;
+        }).when(tokenStore).forEachRevocationEpoch(any());
+
+        revocationEpochService.reload();
+
+        assertTrue(revocationEpochService.isReloadPending());
+    }
+
+    private VerifiedToken token(Long userId, long issuedAt) {
+        return new VerifiedToken("token", "john_doe", userId, "USER", issuedAt + 600000, issuedAt,
+            null, null, null);
+    }
+}
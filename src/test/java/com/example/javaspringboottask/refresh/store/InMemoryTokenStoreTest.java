@@ -0,0 +1,87 @@
+package com.example.javaspringboottask.refresh.store;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTokenStoreTest extends TokenStoreConformanceTest {
+
+    // 만료 스레드가 테스트 중에 돌지 않도록 길게 두고 expire 를 직접 호출한다
+    private static final long TICK_MILLIS = 60_000;
+
+    private InMemoryTokenStore memoryStore;
+
+    @Override
+    protected TokenStore createStore() {
+        return newStore(1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        memoryStore.destroy();
+    }
+
+    @Test
+    void expire_removesEntriesWithoutLookup() {
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= 100; id++) {
+            memoryStore.addToBlacklist(id, now + 500);
+            memoryStore.createSession(id, "family", "jti", now, 500, 5);
+            memoryStore.revokeAll(id + 1000, now, 500);
+        }
+        memoryStore.addToBlacklist(999L, now + 600_000);
+        assertArrayEquals(new long[]{100, 101, 100}, memoryStore.sizes());
+
+        memoryStore.expire(now + 2 * TICK_MILLIS);
+
+        assertArrayEquals(new long[]{0, 1, 0}, memoryStore.sizes());
+        assertTrue(memoryStore.isBlacklisted(999L));
+    }
+
+    @Test
+    void full_rejectsInsteadOfEvicting() {
+        memoryStore.destroy();
+        newStore(256);
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= 256; id++) {
+            memoryStore.createSession(id, "family", "jti", now, 60_000, 5);
+        }
+        CustomResponseStatusException sessionsFull = assertThrows(CustomResponseStatusException.class,
+            () -> memoryStore.createSession(257L, "family", "jti", now, 60_000, 5));
+        assertEquals(ErrorCode.TOKEN_STORE_FULL, sessionsFull.getErrorCode());
+        // 이미 있는 사용자의 세션은 계속 추가할 수 있다
+        memoryStore.createSession(1L, "family-2", "jti", now, 60_000, 5);
+        assertEquals(2, memoryStore.getSessions(1L).size());
+
+        // 블랙리스트는 세그먼트별로 제한되므로 최대 항목 수 이전에 거절될 수 있지만, 넘지는 않는다
+        long added = 0;
+        CustomResponseStatusException blacklistFull = null;
+        for (long id = 1; id <= 300 && blacklistFull == null; id++) {
+            try {
+                memoryStore.addToBlacklist(id, now + 60_000);
+                added++;
+            } catch (CustomResponseStatusException e) {
+                blacklistFull = e;
+            }
+        }
+        assertNotNull(blacklistFull);
+        assertEquals(ErrorCode.TOKEN_STORE_FULL, blacklistFull.getErrorCode());
+        assertTrue(added <= 256);
+        for (long id = 1; id <= added; id++) {
+            assertTrue(memoryStore.isBlacklisted(id));
+        }
+    }
+
+    private InMemoryTokenStore newStore(int maximumSize) {
+        memoryStore = new InMemoryTokenStore();
+        ReflectionTestUtils.setField(memoryStore, "maximumSize", maximumSize);
+        ReflectionTestUtils.setField(memoryStore, "tickMillis", TICK_MILLIS);
+        ReflectionTestUtils.setField(memoryStore, "wheelSize", 64);
+        memoryStore.init();
+        return memoryStore;
+    }
+}
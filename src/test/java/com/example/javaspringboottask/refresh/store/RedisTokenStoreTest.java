@@ -0,0 +1,152 @@
+package com.example.javaspringboottask.refresh.store;
+
+import com.example.javaspringboottask.global.util.RedisTrackingCache;
+import io.lettuce.core.cluster.SlotHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 로컬에서 redis-server 를 직접 띄워 RedisTokenStore 와 Lua 스크립트를 확인. redis-server 가 없으면 건너뛴다.
+ */
+class RedisTokenStoreTest extends TokenStoreConformanceTest {
+
+    private static Process redisServer;
+    private static int port;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, String> redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        try {
+            redisServer = new ProcessBuilder("redis-server", "--port", String.valueOf(port),
+                    "--save", "", "--appendonly", "no")
+                    .redirectErrorStream(true)
+                    .start();
+        } catch (IOException e) {
+            assumeTrue(false, "redis-server 가 없어 건너뜀");
+        }
+        assumeTrue(waitForPort(), "redis-server 를 시작하지 못해 건너뜀");
+    }
+
+    @AfterAll
+    static void stopRedis() throws InterruptedException {
+        if (redisServer != null) {
+            redisServer.destroy();
+            redisServer.waitFor(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    protected TokenStore createStore() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost("localhost");
+        redisProperties.setPort(port);
+        // 클라이언트 캐시는 사용하지 않음 (enabled 기본값 false)
+        RedisTrackingCache trackingCache = new RedisTrackingCache(redisTemplate, new SimpleMeterRegistry(), redisProperties);
+
+        return new RedisTokenStore(redisTemplate, new ReactiveStringRedisTemplate(connectionFactory), trackingCache);
+    }
+
+    // 해시 이전 형식(RT:{userId} 문자열)의 키는 알 수 없는 세션으로 보고 건드리지 않음
+    @Test
+    void rotateSession_legacyStringKey_returnsUnknown() {
+        redisTemplate.opsForValue().set("RT:3", "legacy-refresh-token");
+
+        Long result = redisTemplate.execute(
+            RedisScript.of(new ClassPathResource("scripts/rotate_refresh_token.lua"), Long.class),
+            List.of("RT:3"), "family-a", "legacy-refresh-token", "jti-2", "1", "60000");
+
+        assertEquals(0L, result);
+        assertEquals(TokenStore.RotationResult.UNKNOWN_SESSION,
+            store.rotateSession(3L, "family-a", "legacy-refresh-token", "jti-2", System.currentTimeMillis(), 60_000));
+        assertEquals("legacy-refresh-token", redisTemplate.opsForValue().get("RT:3"));
+    }
+
+    // 폐기 스크립트가 함께 쓰는 RE, RT 키는 클러스터에서 같은 슬롯이어야 CROSSSLOT 없이 실행된다
+    @Test
+    void revokeAll_keysShareClusterSlot() {
+        for (long userId : new long[]{1L, 42L, 123_456_789L}) {
+            assertEquals(SlotHash.getSlot(RedisTokenStore.sessionKey(userId)),
+                SlotHash.getSlot(RedisTokenStore.epochKey(userId)));
+        }
+
+        store.createSession(5L, "family-a", "jti-1", System.currentTimeMillis(), 60_000, 5);
+        store.revokeAll(5L, 1000L, 60_000);
+
+        assertEquals("1000", redisTemplate.opsForValue().get("RE:{5}"));
+        assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey("RT:{5}")));
+    }
+
+    // 해시 태그를 쓰기 전의 폐기 시각 키(RE:userId)도 보관 기간 동안 계속 읽음
+    @Test
+    void forEachRevocationEpoch_readsLegacyKeys() {
+        redisTemplate.opsForValue().set("RE:7", "2000");
+        store.revokeAll(8L, 3000L, 60_000);
+
+        Map<Long, Long> epochs = new HashMap<>();
+        store.forEachRevocationEpoch(epochs::put);
+
+        assertEquals(Map.of(7L, 2000L, 8L, 3000L), epochs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static boolean waitForPort() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            try (Socket ignored = new Socket("localhost", port)) {
+                return true;
+            } catch (IOException e) {
+                Thread.sleep(50);
+            }
+        }
+        return false;
+    }
+}
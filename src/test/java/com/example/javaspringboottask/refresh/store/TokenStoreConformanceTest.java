@@ -0,0 +1,191 @@
+package com.example.javaspringboottask.refresh.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 모든 TokenStore 구현이 지켜야 하는 동작. 구현별 테스트가 상속해 createStore 만 제공한다.
+ */
+abstract class TokenStoreConformanceTest {
+
+    private static final long TTL = 60_000;
+    private static final long SHORT_TTL = 300;
+
+    protected TokenStore store;
+
+    protected abstract TokenStore createStore();
+
+    @BeforeEach
+    void setUpStore() {
+        store = createStore();
+    }
+
+    @Test
+    void createSession_listsSessionsAndRotates() {
+        long now = System.currentTimeMillis();
+        store.createSession(1L, "family-a", "jti-1", now, TTL, 5);
+        store.createSession(1L, "family-b", "jti-2", now + 1, TTL, 5);
+
+        assertEquals(Map.of("family-a", now, "family-b", now + 1), store.getSessions(1L));
+
+        assertEquals(TokenStore.RotationResult.ROTATED,
+            store.rotateSession(1L, "family-a", "jti-1", "jti-3", now + 2, TTL));
+        assertEquals(now + 2, store.getSessions(1L).get("family-a"));
+        assertEquals(TokenStore.RotationResult.ROTATED,
+            store.rotateSession(1L, "family-a", "jti-3", "jti-4", now + 3, TTL));
+    }
+
+    @Test
+    void rotateSession_reuseDeletesSession() {
+        long now = System.currentTimeMillis();
+        store.createSession(1L, "family-a", "jti-1", now, TTL, 5);
+        store.createSession(1L, "family-b", "jti-2", now, TTL, 5);
+        store.rotateSession(1L, "family-a", "jti-1", "jti-3", now, TTL);
+
+        assertEquals(TokenStore.RotationResult.REUSE_DETECTED,
+            store.rotateSession(1L, "family-a", "jti-1", "jti-5", now, TTL));
+        assertEquals(Set.of("family-b"), store.getSessions(1L).keySet());
+        assertEquals(TokenStore.RotationResult.UNKNOWN_SESSION,
+            store.rotateSession(1L, "family-a", "jti-3", "jti-6", now, TTL));
+    }
+
+    // 재사용 감지: 현재 jti 는 교체되고, 이미 교체된 jti 를 다시 제출하면 그 패밀리만 폐기되어 이후 교체는 모두 알 수 없는 세션
+    @Test
+    void rotateSession_replayedJtiRevokesFamily() {
+        long now = System.currentTimeMillis();
+        store.createSession(1L, "family-a", "jti-1", now, TTL, 5);
+        store.createSession(1L, "family-b", "jti-9", now, TTL, 5);
+
+        assertEquals(TokenStore.RotationResult.ROTATED,
+            store.rotateSession(1L, "family-a", "jti-1", "jti-2", now + 1, TTL));
+        assertEquals(TokenStore.RotationResult.ROTATED,
+            store.rotateSession(1L, "family-a", "jti-2", "jti-3", now + 2, TTL));
+
+        assertEquals(TokenStore.RotationResult.REUSE_DETECTED,
+            store.rotateSession(1L, "family-a", "jti-1", "jti-4", now + 3, TTL));
+        assertFalse(store.getSessions(1L).containsKey("family-a"));
+
+        // 공격자가 받은 새 토큰(jti-4)도, 정상 사용자의 현재 토큰(jti-3)도 더는 교체되지 않음
+        assertEquals(TokenStore.RotationResult.UNKNOWN_SESSION,
+            store.rotateSession(1L, "family-a", "jti-4", "jti-5", now + 4, TTL));
+        assertEquals(TokenStore.RotationResult.UNKNOWN_SESSION,
+            store.rotateSession(1L, "family-a", "jti-3", "jti-6", now + 5, TTL));
+        assertEquals(TokenStore.RotationResult.UNKNOWN_SESSION,
+            store.rotateSession(1L, "family-a", "jti-1", "jti-7", now + 6, TTL));
+
+        // 다른 패밀리는 그대로
+        assertEquals(TokenStore.RotationResult.ROTATED,
+            store.rotateSession(1L, "family-b", "jti-9", "jti-10", now + 7, TTL));
+    }
+
+    // 저장된 jti 의 앞부분만 같은 jti 는 현재 토큰이 아님
+    @Test
+    void rotateSession_jtiPrefixIsReuse() {
+        long now = System.currentTimeMillis();
+        store.createSession(1L, "family-a", "jti-10", now, TTL, 5);
+
+        assertEquals(TokenStore.RotationResult.REUSE_DETECTED,
+            store.rotateSession(1L, "family-a", "jti-1", "jti-2", now, TTL));
+        assertTrue(store.getSessions(1L).isEmpty());
+    }
+
+    @Test
+    void rotateSession_unknownSession() {
+        assertEquals(TokenStore.RotationResult.UNKNOWN_SESSION,
+            store.rotateSession(2L, "family-a", "jti-1", "jti-2", System.currentTimeMillis(), TTL));
+        assertTrue(store.getSessions(2L).isEmpty());
+    }
+
+    @Test
+    void createSession_evictsOldestBeyondMaximum() {
+        long now = System.currentTimeMillis();
+        store.createSession(1L, "family-a", "jti-1", now, TTL, 2);
+        store.createSession(1L, "family-b", "jti-2", now + 1, TTL, 2);
+
+        assertEquals(1L, store.createSession(1L, "family-c", "jti-3", now + 2, TTL, 2));
+        assertEquals(Set.of("family-b", "family-c"), store.getSessions(1L).keySet());
+    }
+
+    @Test
+    void deleteSession_andDeleteSessions() {
+        long now = System.currentTimeMillis();
+        store.createSession(1L, "family-a", "jti-1", now, TTL, 5);
+        store.createSession(1L, "family-b", "jti-2", now, TTL, 5);
+
+        assertTrue(store.deleteSession(1L, "family-a"));
+        assertFalse(store.deleteSession(1L, "family-a"));
+        assertEquals(Set.of("family-b"), store.getSessions(1L).keySet());
+
+        assertTrue(store.deleteSessions(1L));
+        assertFalse(store.deleteSessions(1L));
+        assertTrue(store.getSessions(1L).isEmpty());
+    }
+
+    @Test
+    void session_expiresAfterTtl() throws InterruptedException {
+        store.createSession(1L, "family-a", "jti-1", System.currentTimeMillis(), SHORT_TTL, 5);
+        assertFalse(store.getSessions(1L).isEmpty());
+
+        Thread.sleep(SHORT_TTL + 200);
+
+        assertTrue(store.getSessions(1L).isEmpty());
+        assertEquals(TokenStore.RotationResult.UNKNOWN_SESSION,
+            store.rotateSession(1L, "family-a", "jti-1", "jti-2", System.currentTimeMillis(), SHORT_TTL));
+    }
+
+    @Test
+    void blacklist_addCheckAndIterate() throws Exception {
+        long expiresAt = System.currentTimeMillis() + TTL;
+        store.addToBlacklist(101L, expiresAt);
+        store.addToBlacklist(102L, expiresAt);
+
+        assertTrue(store.isBlacklisted(101L));
+        assertFalse(store.isBlacklisted(103L));
+        assertTrue(store.isBlacklistedAsync(102L).get());
+        assertFalse(store.isBlacklistedAsync(103L).get());
+
+        Set<Long> ids = new HashSet<>();
+        store.forEachBlacklisted(ids::add);
+        assertEquals(Set.of(101L, 102L), ids);
+    }
+
+    @Test
+    void blacklist_expiresAndIgnoresExpiredTokens() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        store.addToBlacklist(201L, now - 1);
+        assertFalse(store.isBlacklisted(201L));
+
+        store.addToBlacklist(202L, now + SHORT_TTL);
+        assertTrue(store.isBlacklisted(202L));
+
+        Thread.sleep(SHORT_TTL + 200);
+
+        assertFalse(store.isBlacklisted(202L));
+        Set<Long> ids = new HashSet<>();
+        store.forEachBlacklisted(ids::add);
+        assertTrue(ids.isEmpty());
+    }
+
+    @Test
+    void revokeAll_keepsLatestEpochAndClearsSessions() {
+        long now = System.currentTimeMillis();
+        store.createSession(1L, "family-a", "jti-1", now, TTL, 5);
+
+        assertEquals(now, store.revokeAll(1L, now, TTL));
+        assertTrue(store.getSessions(1L).isEmpty());
+        assertEquals(now, store.revokeAll(1L, now - 1000, TTL));
+        assertEquals(now + 1000, store.revokeAll(1L, now + 1000, TTL));
+        store.revokeAll(2L, now, TTL);
+
+        Map<Long, Long> epochs = new HashMap<>();
+        store.forEachRevocationEpoch(epochs::put);
+        assertEquals(Map.of(1L, now + 1000, 2L, now), epochs);
+    }
+}
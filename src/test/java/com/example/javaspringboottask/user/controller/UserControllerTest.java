@@ -115,7 +115,21 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.message").value("비밀번호가 올바르지 않습니다."));
+                .andExpect(jsonPath("$.message").value(ErrorCode.INVALID_CREDENTIALS.getMessage()));
+    }
+
+    // 로그인 실패 - 없는 사용자 (잘못된 비밀번호와 같은 응답)
+    @Test
+    @Transactional
+    void login_unknownUser() throws Exception {
+        SigninRequestDto request = new SigninRequestDto("unknown@example2.com", "Password123!");
+
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(ErrorCode.INVALID_CREDENTIALS.getMessage()));
     }
 
     // 관리자 권한 부여 - 성공
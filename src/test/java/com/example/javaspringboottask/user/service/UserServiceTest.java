@@ -0,0 +1,82 @@
+package com.example.javaspringboottask.user.service;
+
+import com.example.javaspringboottask.global.exception.CustomResponseStatusException;
+import com.example.javaspringboottask.global.exception.ErrorCode;
+import com.example.javaspringboottask.user.dto.SignupRequestDto;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 동시 회원가입은 각자 트랜잭션을 커밋해야 제약 위반이 드러나므로 @Transactional 을 붙이지 않고 직접 정리한다.
+ * 동시 요청이 해싱 대기열 초과(PASSWORD_HASHING_BUSY)로 거절되지 않도록 대기열을 늘린다.
+ */
+@SpringBootTest(properties = "password.hashing.queue-capacity=64")
+class UserServiceTest {
+
+    private static final String USERNAME = "race@example.com";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername(USERNAME).ifPresent(userRepository::delete);
+    }
+
+    // 같은 username 으로 동시에 가입하면 하나만 성공하고 나머지는 중복 오류
+    @Test
+    void signup_concurrentSameUsername_onlyOneSucceeds() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ErrorCode>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                SignupRequestDto request = new SignupRequestDto(USERNAME, "Password123!", "nickname" + i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.signup(request);
+                        return null;
+                    } catch (CustomResponseStatusException e) {
+                        return e.getErrorCode();
+                    }
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            int duplicated = 0;
+            for (Future<ErrorCode> result : results) {
+                ErrorCode errorCode = result.get(30, TimeUnit.SECONDS);
+                if (errorCode == null) {
+                    succeeded++;
+                } else if (errorCode == ErrorCode.DUPLICATE_USERNAME) {
+                    duplicated++;
+                }
+            }
+
+            assertEquals(1, succeeded);
+            assertEquals(threads - 1, duplicated);
+            assertEquals(1, userRepository.findAllByUsernameIn(List.of(USERNAME)).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.javaspringboottask.user.service;
+
+import com.example.javaspringboottask.user.listener.UserSignupListener;
+import com.example.javaspringboottask.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * username 필터의 시작 시 로딩, 없는 사용자 거절, 다른 노드의 가입 반영을 확인
+ */
+class UsernameBloomFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UserRepository userRepository;
+    private RedisTemplate<String, String> redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private UsernameBloomFilter nodeA;
+    private UsernameBloomFilter nodeB;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.count()).thenReturn(2L);
+        when(userRepository.streamAllUsernames()).thenAnswer(invocation -> Stream.of("alice", "bob"));
+        redisTemplate = mock(RedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        nodeA = this.createFilter(meterRegistry);
+        nodeB = this.createFilter(new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.destroy();
+        nodeB.destroy();
+    }
+
+    // 만들기 전에는 모든 username 을 있을 수 있다고 답함
+    @Test
+    void beforeWarmUp_answersTrue() {
+        assertTrue(nodeA.mightContain("unknown"));
+    }
+
+    // 시작 시 user 테이블의 username 으로 채움
+    @Test
+    void warmUp_loadsExistingUsernames() throws InterruptedException {
+        this.rebuildAndAwait(nodeA);
+
+        assertTrue(nodeA.mightContain("alice"));
+        assertTrue(nodeA.mightContain("bob"));
+    }
+
+    // 없는 username 은 없다고 답하고 횟수를 기록
+    @Test
+    void absentUsername_rejected() throws InterruptedException {
+        this.rebuildAndAwait(nodeA);
+
+        assertFalse(nodeA.mightContain("unknown"));
+        assertEquals(1.0, meterRegistry.get("user.username-filter.absent").counter().count());
+    }
+
+    // 한 노드에서 가입한 사용자가 이벤트로 다른 노드의 필터에 반영됨
+    @Test
+    void signupOnOneNode_visibleOnOtherNode() throws Exception {
+        this.rebuildAndAwait(nodeA);
+        this.rebuildAndAwait(nodeB);
+        UserSignupListener listenerB = new UserSignupListener(nodeB, mock(RedisMessageListenerContainer.class),
+                objectMapper);
+
+        nodeA.add("carol");
+
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(UsernameBloomFilter.SIGNUP_CHANNEL), published.capture());
+        assertTrue(nodeA.mightContain("carol"));
+        assertFalse(nodeB.mightContain("carol"));
+
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn(published.getValue().getBytes(StandardCharsets.UTF_8));
+        listenerB.onMessage(message, null);
+
+        assertTrue(nodeB.mightContain("carol"));
+    }
+
+    // 재생성 중 추가된 사용자는 스캔에 없어도 교체 후에 남음
+    @Test
+    void addDuringRebuild_survivesSwap() throws InterruptedException {
+        when(userRepository.streamAllUsernames()).thenAnswer(invocation -> {
+            nodeA.put("dave");
+            return Stream.of("alice");
+        });
+
+        this.rebuildAndAwait(nodeA);
+
+        assertTrue(nodeA.mightContain("dave"));
+    }
+
+    // 이벤트를 읽을 수 없으면 놓친 사용자가 없도록 다시 만듦
+    @Test
+    void malformedEvent_triggersRebuild() throws InterruptedException {
+        this.rebuildAndAwait(nodeB);
+        UserSignupListener listenerB = new UserSignupListener(nodeB, mock(RedisMessageListenerContainer.class),
+                objectMapper);
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn("not-json".getBytes(StandardCharsets.UTF_8));
+
+        listenerB.onMessage(message, null);
+        this.awaitReady(nodeB);
+
+        verify(userRepository, times(2)).streamAllUsernames();
+    }
+
+    private UsernameBloomFilter createFilter(SimpleMeterRegistry registry) {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, transactionManager, redisTemplate,
+                registry, objectMapper);
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(filter, "fpp", 0.0001);
+        ReflectionTestUtils.setField(filter, "tokenStoreType", "redis");
+        filter.init();
+        return filter;
+    }
+
+    private void rebuildAndAwait(UsernameBloomFilter filter) throws InterruptedException {
+        filter.rebuildAsync();
+        this.awaitReady(filter);
+    }
+
+    // mightContain 으로 확인하면 absent 횟수가 늘어나므로 ready 를 직접 확인
+    private void awaitReady(UsernameBloomFilter filter) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Boolean.TRUE.equals(ReflectionTestUtils.getField(filter, "ready"))) {
+            assertTrue(System.nanoTime() < deadline, "재생성이 끝나지 않음");
+            Thread.sleep(10);
+        }
+    }
+}